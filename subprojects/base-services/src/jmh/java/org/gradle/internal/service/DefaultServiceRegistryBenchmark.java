@@ -0,0 +1,116 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.Serializable;
+
+/**
+ * Creates registries shaped like the project scoped registries of a large build, which are created once per project
+ * on top of a shared parent, and looks up services from them.
+ */
+@Fork(2)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@State(Scope.Benchmark)
+public class DefaultServiceRegistryBenchmark {
+    private DefaultServiceRegistry parent;
+    private DefaultServiceRegistry child;
+
+    @Setup(Level.Iteration)
+    public void createRegistries() {
+        parent = new DefaultServiceRegistry("parent");
+        parent.addProvider(new ParentServices());
+        child = createChild();
+    }
+
+    private DefaultServiceRegistry createChild() {
+        DefaultServiceRegistry registry = new DefaultServiceRegistry("child", parent);
+        registry.addProvider(new ChildServices());
+        return registry;
+    }
+
+    @Benchmark
+    public void createChildRegistry(Blackhole bh) {
+        DefaultServiceRegistry registry = createChild();
+        bh.consume(registry.get(DependentChildService.class));
+    }
+
+    @Benchmark
+    public void lookupOwnService(Blackhole bh) {
+        bh.consume(child.get(DependentChildService.class));
+    }
+
+    @Benchmark
+    public void lookupParentService(Blackhole bh) {
+        bh.consume(child.get(ParentService.class));
+        bh.consume(child.get(Serializable.class));
+    }
+
+    @Benchmark
+    public void lookupMissingService(Blackhole bh) {
+        bh.consume(child.find(Iterable.class));
+    }
+
+    private static class ParentServices {
+        ParentService createParentService() {
+            return new ParentService();
+        }
+
+        Serializable createSerializable() {
+            return "parent";
+        }
+    }
+
+    private static class ChildServices {
+        ChildService createChildService(ParentService parentService) {
+            return new ChildService();
+        }
+
+        DependentChildService createDependentChildService(ChildService childService, Serializable serializable) {
+            return new DependentChildService();
+        }
+
+        StringBuilder createBuilder(DependentChildService dependentChildService) {
+            return new StringBuilder();
+        }
+    }
+
+    private interface BenchmarkService {
+    }
+
+    private static class ParentService implements BenchmarkService {
+    }
+
+    private static class ChildService implements BenchmarkService, Runnable {
+        @Override
+        public void run() {
+        }
+    }
+
+    private static class DependentChildService extends ChildService {
+    }
+}
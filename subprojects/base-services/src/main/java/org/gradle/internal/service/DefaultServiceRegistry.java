@@ -33,13 +33,15 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Formatter;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -73,12 +75,16 @@ public class DefaultServiceRegistry implements ServiceRegistry, Closeable {
     private final static ServiceRegistry[] NO_PARENTS = new ServiceRegistry[0];
     private final static Service[] NO_DEPENDENTS = new Service[0];
     private final static Object[] NO_PARAMS = new Object[0];
+    private final static ConcurrentMap<Class<?>, Class<?>[]> SERVICE_TYPES_CACHE = new ConcurrentHashMap<Class<?>, Class<?>[]>();
 
     private final OwnServices ownServices;
     private final ServiceProvider allServices;
     private final ServiceProvider parentServices;
     private final String displayName;
     private final ServiceProvider thisAsServiceProvider;
+    // Only present when every parent is a DefaultServiceRegistry, as only then are lookup results stable once this registry is no longer mutable
+    private final ConcurrentMap<Type, Service> servicesByType;
+    private final Set<Type> missingServiceTypes;
 
     private AtomicReference<State> state = new AtomicReference<State>(State.INIT);
 
@@ -105,10 +111,26 @@ public class DefaultServiceRegistry implements ServiceRegistry, Closeable {
             parentServices = setupParentServices(parents);
             allServices = new CompositeServiceProvider(ownServices, parentServices);
         }
+        if (allParentsAreDefaultRegistries(parents)) {
+            this.servicesByType = new ConcurrentHashMap<Type, Service>();
+            this.missingServiceTypes = Collections.newSetFromMap(new ConcurrentHashMap<Type, Boolean>());
+        } else {
+            this.servicesByType = null;
+            this.missingServiceTypes = null;
+        }
 
         findProviderMethods(this);
     }
 
+    private static boolean allParentsAreDefaultRegistries(ServiceRegistry[] parents) {
+        for (ServiceRegistry parent : parents) {
+            if (!(parent instanceof DefaultServiceRegistry)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private static ServiceProvider setupParentServices(ServiceRegistry[] parents) {
         ServiceProvider parentServices;
         if (parents.length == 1) {
@@ -263,9 +285,7 @@ public class DefaultServiceRegistry implements ServiceRegistry, Closeable {
     }
 
     private void noLongerMutable() {
-        if (state.compareAndSet(State.INIT, State.STARTED)) {
-            ownServices.noLongerMutable();
-        }
+        state.compareAndSet(State.INIT, State.STARTED);
     }
 
     public boolean isClosed() {
@@ -294,7 +314,20 @@ public class DefaultServiceRegistry implements ServiceRegistry, Closeable {
 
     private Service getService(Type serviceType) {
         serviceRequested();
-        return find(serviceType, allServices);
+        if (servicesByType == null) {
+            return find(serviceType, allServices);
+        }
+        Service service = servicesByType.get(serviceType);
+        if (service != null || missingServiceTypes.contains(serviceType)) {
+            return service;
+        }
+        service = find(serviceType, allServices);
+        if (service == null) {
+            missingServiceTypes.add(serviceType);
+        } else {
+            servicesByType.putIfAbsent(serviceType, service);
+        }
+        return service;
     }
 
     @Override
@@ -390,7 +423,6 @@ public class DefaultServiceRegistry implements ServiceRegistry, Closeable {
     private class OwnServices implements ServiceProvider {
         private final Map<Class<?>, List<ServiceProvider>> providersByType = new HashMap<Class<?>, List<ServiceProvider>>(16, 0.5f);
         private final CompositeStoppable stoppable = CompositeStoppable.stoppable();
-        private ProviderAnalyser analyser = new ProviderAnalyser();
 
         @Override
         public Service getFactory(Class<?> type) {
@@ -492,35 +524,7 @@ public class DefaultServiceRegistry implements ServiceRegistry, Closeable {
                 throw new UnsupportedOperationException("Unsupported service provider type: " + serviceProvider);
             }
             stoppable.add(serviceProvider);
-            analyser.addProviderForClassHierarchy(((SingletonService) serviceProvider).serviceClass, serviceProvider);
-        }
-
-        public void noLongerMutable() {
-            analyser = null;
-        }
-
-        private class ProviderAnalyser {
-            private Set<Class<?>> seen = new HashSet<Class<?>>(4, 0.5f);
-
-            public void addProviderForClassHierarchy(Class<?> serviceType, ServiceProvider serviceProvider) {
-                analyseType(serviceType, serviceProvider);
-                seen.clear();
-            }
-
-            private void analyseType(Class<?> type, ServiceProvider serviceProvider) {
-                if (type == null || type == Object.class) {
-                    return;
-                }
-                if (seen.add(type)) {
-                    putServiceType(type, serviceProvider);
-                    analyseType(type.getSuperclass(), serviceProvider);
-                    for (Class<?> iface : type.getInterfaces()) {
-                        analyseType(iface, serviceProvider);
-                    }
-                }
-            }
-
-            private void putServiceType(Class<?> type, ServiceProvider serviceProvider) {
+            for (Class<?> type : serviceTypesOf(((SingletonService) serviceProvider).serviceClass)) {
                 List<ServiceProvider> serviceProviders = providersByType.get(type);
                 if (serviceProviders == null) {
                     serviceProviders = new ArrayList<ServiceProvider>(2);
@@ -531,6 +535,33 @@ public class DefaultServiceRegistry implements ServiceRegistry, Closeable {
         }
     }
 
+    /**
+     * Returns the class and all of its super types, excluding {@link Object}. The result is cached per class, as the same
+     * service types are registered again for every project and build scoped registry.
+     */
+    private static Class<?>[] serviceTypesOf(Class<?> serviceClass) {
+        Class<?>[] serviceTypes = SERVICE_TYPES_CACHE.get(serviceClass);
+        if (serviceTypes == null) {
+            Set<Class<?>> seen = new LinkedHashSet<Class<?>>();
+            collectServiceTypes(serviceClass, seen);
+            serviceTypes = seen.toArray(new Class<?>[0]);
+            SERVICE_TYPES_CACHE.putIfAbsent(serviceClass, serviceTypes);
+        }
+        return serviceTypes;
+    }
+
+    private static void collectServiceTypes(Class<?> type, Set<Class<?>> seen) {
+        if (type == null || type == Object.class) {
+            return;
+        }
+        if (seen.add(type)) {
+            collectServiceTypes(type.getSuperclass(), seen);
+            for (Class<?> iface : type.getInterfaces()) {
+                collectServiceTypes(iface, seen);
+            }
+        }
+    }
+
     private static Class<?> unwrap(Type type) {
         if (type instanceof Class) {
             return (Class) type;
@@ -1248,6 +1248,52 @@ class DefaultServiceRegistryTest extends Specification {
         1 * service3.close()
     }
 
+    def "repeated lookups through parent registries return the same service"() {
+        def parent = new DefaultServiceRegistry()
+        def child = new DefaultServiceRegistry(parent)
+
+        given:
+        parent.add(BigDecimal, BigDecimal.TEN)
+        child.add(String, "child")
+
+        expect:
+        child.get(BigDecimal).is(child.get(BigDecimal))
+        child.get(Number) == BigDecimal.TEN
+        child.find(StringBuilder) == null
+        child.find(StringBuilder) == null
+        child.get(CharSequence) == "child"
+    }
+
+    def "does not reuse lookups through parents that are not default registries"() {
+        def parent = Mock(ServiceRegistry)
+        def registry = new DefaultServiceRegistry(parent)
+
+        when:
+        def first = registry.get(BigDecimal)
+        def second = registry.get(BigDecimal)
+
+        then:
+        first == BigDecimal.ONE
+        second == BigDecimal.TEN
+
+        and:
+        2 * parent.get(BigDecimal) >>> [BigDecimal.ONE, BigDecimal.TEN]
+    }
+
+    def "cannot lookup previously found service after close"() {
+        given:
+        registry.add(String, "foo")
+        registry.get(String)
+        registry.close()
+
+        when:
+        registry.get(String)
+
+        then:
+        def e = thrown(IllegalStateException)
+        e.message.contains("closed")
+    }
+
     def "cannot add provider after getting a service via class"() {
         when:
         registry.get(Integer)
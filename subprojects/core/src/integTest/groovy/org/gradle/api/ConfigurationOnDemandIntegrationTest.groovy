@@ -283,6 +283,28 @@ project(':api') {
         fixture.assertProjectsConfigured(":", ":impl", ":api")
     }
 
+    def "configures declared project dependencies up front and reports projects configured late"() {
+        settingsFile << "include 'a', 'b', 'c', 'other'"
+        file("a/build.gradle") << """
+            apply plugin: 'java'
+            configurations { conf }
+            dependencies {
+                compile project(':b')
+                conf project(':other')
+            }
+            task foo(dependsOn: ':c:foo')
+        """
+        file("c/build.gradle") << "task foo"
+
+        when:
+        run(":a:foo", "--info")
+
+        then:
+        fixture.assertProjectsConfigured(":", ":a", ":b", ":c")
+        outputContains("Configuration on demand: project ':c' was not configured up front and is configured now because a task was requested by path.")
+        outputDoesNotContain("project ':b' was not configured up front")
+    }
+
     def "respects external task dependencies"() {
         settingsFile << "include 'api', 'impl', 'other'"
         file("build.gradle") << "allprojects { task foo }"
@@ -514,4 +536,67 @@ allprojects {
         result.assertTasksExecuted(":a:one")
         fixture.assertProjectsConfigured(":", ":b", ":b:child", ":a")
     }
+
+    def "reuses the tasks selected by name when the build has not changed"() {
+        settingsFile << "include 'api', 'impl', 'util'"
+        file("gradle.properties") << "\norg.gradle.unsafe.task-selection-cache=true"
+        file("api/build.gradle") << "task foo"
+        file("impl/build.gradle") << "task foo"
+        file("util/build.gradle") << "task bar"
+
+        when:
+        run("foo")
+
+        then:
+        fixture.assertProjectsConfigured(":", ":api", ":impl", ":util")
+
+        when:
+        run("foo")
+
+        then:
+        fixture.assertProjectsConfigured(":", ":api", ":impl")
+        result.assertTasksExecuted(":api:foo", ":impl:foo")
+
+        when:
+        file("util/build.gradle") << "\ntask foo"
+        run("foo")
+
+        then:
+        fixture.assertProjectsConfigured(":", ":api", ":impl", ":util")
+        result.assertTasksExecuted(":api:foo", ":impl:foo", ":util:foo")
+    }
+
+    def "reuses the tasks selected by name unless an environment variable read by the build has changed"() {
+        settingsFile << "include 'api', 'util'"
+        file("gradle.properties") << "\norg.gradle.unsafe.task-selection-cache=true"
+        file("api/build.gradle") << "task foo"
+        file("util/build.gradle") << """
+            if (System.getenv('UTIL_FOO') == 'true') {
+                task foo
+            }
+        """
+
+        when:
+        executer.withEnvironmentVars(UNRELATED: "1")
+        run("foo")
+
+        then:
+        fixture.assertProjectsConfigured(":", ":api", ":util")
+
+        when:
+        executer.withEnvironmentVars(UNRELATED: "2")
+        run("foo")
+
+        then:
+        fixture.assertProjectsConfigured(":", ":api")
+        result.assertTasksExecuted(":api:foo")
+
+        when:
+        executer.withEnvironmentVars(UNRELATED: "2", UTIL_FOO: "true")
+        run("foo")
+
+        then:
+        fixture.assertProjectsConfigured(":", ":api", ":util")
+        result.assertTasksExecuted(":api:foo", ":util:foo")
+    }
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api
+
+import org.gradle.integtests.fixtures.AbstractIntegrationSpec
+import org.gradle.integtests.fixtures.executer.ProjectLifecycleFixture
+import org.junit.Rule
+
+class ParallelProjectConfigurationIntegrationTest extends AbstractIntegrationSpec {
+
+    @Rule ProjectLifecycleFixture fixture = new ProjectLifecycleFixture(executer, temporaryFolder)
+
+    def setup() {
+        file("gradle.properties") << "org.gradle.unsafe.parallel-configuration=true"
+        executer.withArgument("--parallel")
+    }
+
+    def "configures decoupled projects"() {
+        settingsFile << "include 'a', 'b', 'c', 'c:d'"
+        buildFile << """
+            allprojects {
+                task foo
+            }
+        """
+        ["a", "b", "c", "c/d"].each {
+            file("$it/build.gradle") << """
+                foo.doLast { println "configured \${project.path}" }
+            """
+        }
+
+        when:
+        run("foo")
+
+        then:
+        fixture.configuredProjects.sort() == [":", ":a", ":b", ":c", ":c:d"]
+        outputContains("configured :a")
+        outputContains("configured :b")
+        outputContains("configured :c")
+        outputContains("configured :c:d")
+    }
+
+    def "serializes cross-project configuration and evaluation dependencies"() {
+        settingsFile << "include 'a', 'b', 'c'"
+        file("a/build.gradle") << """
+            ext.message = "from a"
+            project(":c") {
+                ext.configuredByA = true
+            }
+        """
+        file("b/build.gradle") << """
+            evaluationDependsOn(":a")
+            task foo {
+                doLast { println "b sees \${project(':a').message}" }
+            }
+        """
+        file("c/build.gradle") << """
+            task foo {
+                doLast { println "c configured by a: \${configuredByA}" }
+            }
+        """
+
+        when:
+        run("foo")
+
+        then:
+        outputContains("b sees from a")
+        outputContains("c configured by a: true")
+    }
+
+    def "warns when a project is mutated without holding its lock"() {
+        // ':b:c' is configured after all projects at the depth of ':a'
+        settingsFile << "include 'a', 'b', 'b:c'"
+        file("a/build.gradle") << """
+            project(":b:c").ext.mutatedByA = true
+        """
+
+        when:
+        run("help")
+
+        then:
+        outputContains("project ':b:c' was accessed while configuring project ':a' concurrently, without holding its lock.")
+    }
+
+    def "does not warn when a project is configured through the cross-project configurator"() {
+        settingsFile << "include 'a', 'b', 'b:c'"
+        file("a/build.gradle") << """
+            project(":b:c") {
+                ext.configuredByA = true
+            }
+        """
+
+        when:
+        run("help")
+
+        then:
+        outputDoesNotContain("without holding its lock")
+    }
+}
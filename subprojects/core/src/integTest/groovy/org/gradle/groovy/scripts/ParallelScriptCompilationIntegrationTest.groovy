@@ -0,0 +1,87 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.groovy.scripts
+
+import org.gradle.integtests.fixtures.AbstractIntegrationSpec
+import org.gradle.integtests.fixtures.BuildOperationsFixture
+import org.gradle.internal.scripts.CompileScriptBuildOperationType
+
+class ParallelScriptCompilationIntegrationTest extends AbstractIntegrationSpec {
+
+    def operations = new BuildOperationsFixture(executer, temporaryFolder)
+
+    def setup() {
+        executer.requireOwnGradleUserHomeDir()
+        file("gradle.properties") << "org.gradle.unsafe.parallel-script-compilation=true"
+    }
+
+    def "compiles build scripts of projects using the root project classpath before configuring them"() {
+        settingsFile << """
+            rootProject.name = 'root'
+            include 'a', 'b', 'b:c'
+        """
+        buildFile << """
+            allprojects {
+                task foo
+            }
+        """
+        file("a/build.gradle") << """
+            foo.doLast { println "configured \${project.path}" }
+        """
+        file("b/build.gradle") << """
+            buildscript {
+                repositories { }
+            }
+            foo.doLast { println "configured \${project.path}" }
+        """
+        file("b/c/build.gradle") << """
+            foo.doLast { println "configured \${project.path}" }
+        """
+
+        when:
+        run("foo")
+
+        then:
+        outputContains("configured :a")
+        outputContains("configured :b")
+        outputContains("configured :b:c")
+
+        and:
+        compiledAhead("Compile build script of root project 'root'")
+        compiledAhead("Compile build script of project ':a'")
+        operations.none("Compile build script of project ':b'")
+        operations.none("Compile build script of project ':b:c'")
+    }
+
+    def "reports build script compilation failure when project is configured"() {
+        settingsFile << "include 'a'"
+        file("a/build.gradle") << """
+            task foo {
+        """
+
+        when:
+        fails("help")
+
+        then:
+        failure.assertHasDescription("Could not compile build file '${file("a/build.gradle")}'.")
+    }
+
+    private void compiledAhead(String displayName) {
+        def compile = operations.only(displayName)
+        assert operations.search(compile, CompileScriptBuildOperationType).size() == 1
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal;
+
+import org.gradle.api.Action;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+
+/**
+ * Looks up and instantiates already generated decorated classes from several threads, as happens when configuring projects in parallel.
+ */
+@Fork(2)
+@Threads(4)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@State(Scope.Benchmark)
+public class ClassGeneratorBenchmark {
+    private static final Class<?>[] TYPES = new Class<?>[]{Bean.class, OtherBean.class, ActionBean.class};
+    private static final int ARR_LEN = 1024;
+
+    private final AbstractClassGenerator generator = new AsmBackedClassGenerator();
+    private final Random random = new Random(42);
+    private Class<?>[] randomTypes;
+
+    @State(Scope.Thread)
+    public static class Index {
+        int i;
+    }
+
+    @Setup(Level.Iteration)
+    public void generateClasses() {
+        randomTypes = new Class<?>[ARR_LEN];
+        for (int i = 0; i < randomTypes.length; i++) {
+            randomTypes[i] = TYPES[random.nextInt(TYPES.length)];
+        }
+        for (Class<?> type : TYPES) {
+            generator.generate(type);
+        }
+    }
+
+    @Benchmark
+    public void generate(Index index, Blackhole bh) {
+        bh.consume(generator.generate(randomTypes[++index.i % ARR_LEN]));
+    }
+
+    @Benchmark
+    public void newInstance(Index index, Blackhole bh) {
+        bh.consume(generator.newInstance(randomTypes[++index.i % ARR_LEN]));
+    }
+
+    public static class Bean {
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    public static class OtherBean extends Bean {
+        private int count;
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+    }
+
+    public static class ActionBean {
+        private final StringBuilder log = new StringBuilder();
+
+        public void log(Action<? super StringBuilder> action) {
+            action.execute(log);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.metaobject;
+
+import org.gradle.api.internal.AsmBackedClassGenerator;
+import org.gradle.api.internal.DynamicObjectAware;
+import org.gradle.api.plugins.ExtensionAware;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Accesses the properties and methods of a decorated object the way a build script does: reading and writing declared
+ * properties, reading extra properties, probing for properties that are not defined, as done for the delegate of a
+ * configuration closure, and calling methods.
+ */
+@Fork(2)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@State(Scope.Benchmark)
+public class BeanDynamicObjectBenchmark {
+    private DynamicObject dynamicObject;
+
+    @Setup(Level.Trial)
+    public void createObject() {
+        DslBean bean = new AsmBackedClassGenerator().newInstance(DslBean.class);
+        ((ExtensionAware) bean).getExtensions().getExtraProperties().set("extraProp", "extra");
+        dynamicObject = ((DynamicObjectAware) bean).getAsDynamicObject();
+    }
+
+    @Benchmark
+    public void getProperty(Blackhole bh) {
+        bh.consume(dynamicObject.tryGetProperty("description"));
+    }
+
+    @Benchmark
+    public void setProperty(Blackhole bh) {
+        bh.consume(dynamicObject.trySetProperty("description", "value"));
+    }
+
+    @Benchmark
+    public void getExtraProperty(Blackhole bh) {
+        bh.consume(dynamicObject.tryGetProperty("extraProp"));
+    }
+
+    @Benchmark
+    public void getMissingProperty(Blackhole bh) {
+        bh.consume(dynamicObject.tryGetProperty("unknownProp"));
+    }
+
+    @Benchmark
+    public void invokeMethod(Blackhole bh) {
+        bh.consume(dynamicObject.tryInvokeMethod("dependsOn", "other"));
+    }
+
+    @Benchmark
+    public void invokeMissingMethod(Blackhole bh) {
+        bh.consume(dynamicObject.tryInvokeMethod("unknownMethod", "other"));
+    }
+
+    public static class DslBean {
+        private String description;
+        private Object dependency;
+
+        public String getDescription() {
+            return description;
+        }
+
+        public void setDescription(String description) {
+            this.description = description;
+        }
+
+        public void dependsOn(Object dependency) {
+            this.dependency = dependency;
+        }
+
+        public Object getDependency() {
+            return dependency;
+        }
+    }
+}
@@ -50,6 +50,8 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -68,6 +70,14 @@ import java.util.concurrent.locks.ReentrantLock;
 public abstract class AbstractClassGenerator implements ClassGenerator {
     private static final Map<Class<?>, Map<Class<?>, Class<?>>> GENERATED_CLASSES = new HashMap<Class<?>, Map<Class<?>, Class<?>>>();
     private static final Lock CACHE_LOCK = new ReentrantLock();
+    // Lock-free view of GENERATED_CLASSES, from source type to the classes generated for it by each generator type. A generated class is
+    // defined in the ClassLoader of its source type, so attaching it to the source type does not keep any other ClassLoader reachable.
+    private static final ClassValue<ConcurrentMap<Class<?>, Class<?>>> GENERATED_CLASSES_BY_TYPE = new ClassValue<ConcurrentMap<Class<?>, Class<?>>>() {
+        @Override
+        protected ConcurrentMap<Class<?>, Class<?>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<Class<?>, Class<?>>(2);
+        }
+    };
     private static final Collection<String> SKIP_PROPERTIES = Arrays.asList("class", "metaClass", "conventionMapping", "convention", "asDynamicObject", "extensions");
 
     public <T> T newInstance(Class<T> type, Object... parameters) {
@@ -75,12 +85,21 @@ public abstract class AbstractClassGenerator implements ClassGenerator {
     }
 
     public <T> Class<? extends T> generate(Class<T> type) {
+        ConcurrentMap<Class<?>, Class<?>> generatedClasses = GENERATED_CLASSES_BY_TYPE.get(type);
+        Class<?> generatedClass = generatedClasses.get(getClass());
+        if (generatedClass != null) {
+            return generatedClass.asSubclass(type);
+        }
+
+        Class<? extends T> subclass;
         try {
             CACHE_LOCK.lock();
-            return generateUnderLock(type);
+            subclass = generateUnderLock(type);
         } finally {
             CACHE_LOCK.unlock();
         }
+        generatedClasses.putIfAbsent(getClass(), subclass);
+        return subclass;
     }
 
     private <T> Class<? extends T> generateUnderLock(Class<T> type) {
@@ -110,7 +129,12 @@ public abstract class AbstractClassGenerator implements ClassGenerator {
             throw new GradleException(String.format("Cannot create a proxy class for final class '%s'.",
                 type.getSimpleName()));
         }
-        Class<? extends T> subclass;
+        Class<? extends T> subclass = loadCachedSubclass(type);
+        if (subclass != null) {
+            cache.put(type, subclass);
+            cache.put(subclass, subclass);
+            return subclass;
+        }
         try {
             ClassMetaData classMetaData = inspectType(type);
 
@@ -233,6 +257,14 @@ public abstract class AbstractClassGenerator implements ClassGenerator {
         return subclass;
     }
 
+    /**
+     * Returns a subclass for the given type that was generated by an earlier process, or null when none is available.
+     */
+    @Nullable
+    protected <T> Class<? extends T> loadCachedSubclass(Class<T> type) {
+        return null;
+    }
+
     protected abstract <T> ClassBuilder<T> start(Class<T> type, ClassMetaData classMetaData);
 
     private ClassMetaData inspectType(Class<?> type) {
@@ -29,6 +29,7 @@ import org.gradle.api.internal.provider.PropertyInternal;
 import org.gradle.api.plugins.Convention;
 import org.gradle.api.plugins.ExtensionAware;
 import org.gradle.internal.UncheckedException;
+import org.gradle.internal.classloader.ClassLoaderUtils;
 import org.gradle.internal.metaobject.AbstractDynamicObject;
 import org.gradle.internal.metaobject.BeanDynamicObject;
 import org.gradle.internal.metaobject.DynamicObject;
@@ -73,9 +74,28 @@ import static org.objectweb.asm.Opcodes.V1_5;
 import static org.objectweb.asm.Type.VOID_TYPE;
 
 public class AsmBackedClassGenerator extends AbstractClassGenerator {
+    private static final String CLASS_NAME_SUFFIX = "_Decorated";
+
+    private volatile GeneratedClassCache generatedClassCache = GeneratedClassCache.NONE;
+
+    public void setGeneratedClassCache(GeneratedClassCache generatedClassCache) {
+        this.generatedClassCache = generatedClassCache;
+    }
+
+    @Nullable
+    @Override
+    protected <T> Class<? extends T> loadCachedSubclass(Class<T> type) {
+        byte[] generatedClassBytes = generatedClassCache.get(type);
+        if (generatedClassBytes == null) {
+            return null;
+        }
+        Class<?> generatedClass = ClassLoaderUtils.defineDecorator(type, type.getClassLoader(), type.getName() + CLASS_NAME_SUFFIX, generatedClassBytes);
+        return generatedClass.asSubclass(type);
+    }
+
     @Override
     protected <T> ClassBuilder<T> start(Class<T> type, ClassMetaData classMetaData) {
-        return new ClassBuilderImpl<T>(type, classMetaData);
+        return new ClassBuilderImpl<T>(type, classMetaData, generatedClassCache);
     }
 
     private static class ClassBuilderImpl<T> implements ClassBuilder<T> {
@@ -141,15 +161,17 @@ public class AsmBackedClassGenerator extends AbstractClassGenerator {
         private final Type superclassType;
         private final Map<java.lang.reflect.Type, ReturnTypeEntry> genericReturnTypeConstantsIndex = Maps.newHashMap();
         private final AsmClassGenerator classGenerator;
+        private final GeneratedClassCache generatedClassCache;
         private boolean hasMappingField;
         private final boolean conventionAware;
         private final boolean extensible;
         private final boolean providesOwnDynamicObject;
 
-        private ClassBuilderImpl(Class<T> type, ClassMetaData classMetaData) {
+        private ClassBuilderImpl(Class<T> type, ClassMetaData classMetaData, GeneratedClassCache generatedClassCache) {
             this.type = type;
+            this.generatedClassCache = generatedClassCache;
 
-            classGenerator = new AsmClassGenerator(type, "_Decorated");
+            classGenerator = new AsmClassGenerator(type, CLASS_NAME_SUFFIX);
             visitor = classGenerator.getVisitor();
             generatedType = classGenerator.getGeneratedType();
             superclassType = Type.getType(type);
@@ -975,7 +997,10 @@ public class AsmBackedClassGenerator extends AbstractClassGenerator {
             writeGenericReturnTypeFields();
             visitor.visitEnd();
 
-            return classGenerator.define().asSubclass(type);
+            byte[] generatedClassBytes = visitor.toByteArray();
+            Class<?> generatedClass = ClassLoaderUtils.defineDecorator(type, type.getClassLoader(), classGenerator.getGeneratedTypeName(), generatedClassBytes);
+            generatedClassCache.put(type, generatedClassBytes);
+            return generatedClass.asSubclass(type);
         }
 
         private void writeGenericReturnTypeFields() {
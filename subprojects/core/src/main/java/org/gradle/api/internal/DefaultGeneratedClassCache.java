@@ -0,0 +1,179 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal;
+
+import com.google.common.base.Optional;
+import com.google.common.io.ByteStreams;
+import org.gradle.api.internal.changedetection.state.InMemoryCacheDecoratorFactory;
+import org.gradle.cache.CacheRepository;
+import org.gradle.cache.FileLockManager;
+import org.gradle.cache.PersistentCache;
+import org.gradle.cache.PersistentIndexedCache;
+import org.gradle.cache.PersistentIndexedCacheParameters;
+import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.hash.Hasher;
+import org.gradle.internal.hash.Hashing;
+import org.gradle.internal.serialize.BaseSerializerFactory;
+import org.gradle.internal.serialize.HashCodeSerializer;
+
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static org.gradle.cache.internal.filelock.LockOptionsBuilder.mode;
+
+/**
+ * A {@link GeneratedClassCache} in the Gradle user home, shared by all processes using the same Gradle version.
+ *
+ * <p>The bytecode is keyed by the bytes of the type and of all of its supertypes, and by the bytes of the types in the signatures of their methods
+ * together with their supertypes. These are what the generated class is derived from, as the generator inspects the property and return types too.
+ * Types whose bytes cannot be located, such as types that were themselves generated at runtime, are not cached.</p>
+ */
+public class DefaultGeneratedClassCache implements GeneratedClassCache, Closeable {
+    public static final String ENABLED_PROPERTY = "org.gradle.internal.generated-class-cache";
+
+    private static final String JVM_VERSION = System.getProperty("java.vm.version");
+
+    private final PersistentCache cache;
+    private final PersistentIndexedCache<HashCode, byte[]> generatedClasses;
+    private final ClassValue<Optional<HashCode>> classHashes = new ClassValue<Optional<HashCode>>() {
+        @Override
+        protected Optional<HashCode> computeValue(Class<?> type) {
+            return Optional.fromNullable(hashClassBytes(type));
+        }
+    };
+    private AsmBackedClassGenerator classGenerator;
+
+    public DefaultGeneratedClassCache(CacheRepository cacheRepository, InMemoryCacheDecoratorFactory inMemoryCacheDecoratorFactory) {
+        cache = cacheRepository
+            .cache("generated-classes")
+            .withDisplayName("generated classes cache")
+            .withLockOptions(mode(FileLockManager.LockMode.None)) // Lock on demand
+            .open();
+        PersistentIndexedCacheParameters<HashCode, byte[]> parameters = new PersistentIndexedCacheParameters<HashCode, byte[]>("generatedClasses", new HashCodeSerializer(), BaseSerializerFactory.BYTE_ARRAY_SERIALIZER)
+            .cacheDecorator(inMemoryCacheDecoratorFactory.decorator(500, false));
+        generatedClasses = cache.createCache(parameters);
+    }
+
+    /**
+     * Makes the given generator use this cache until this cache is closed.
+     */
+    public void attachTo(AsmBackedClassGenerator classGenerator) {
+        this.classGenerator = classGenerator;
+        classGenerator.setGeneratedClassCache(this);
+    }
+
+    @Nullable
+    @Override
+    public byte[] get(Class<?> type) {
+        HashCode key = keyFor(type);
+        return key == null ? null : generatedClasses.get(key);
+    }
+
+    @Override
+    public void put(Class<?> type, byte[] generatedClassBytes) {
+        HashCode key = keyFor(type);
+        if (key != null) {
+            generatedClasses.put(key, generatedClassBytes);
+        }
+    }
+
+    @Nullable
+    private HashCode keyFor(Class<?> type) {
+        Hasher hasher = Hashing.md5().newHasher();
+        for (Class<?> candidate : typesAffectingGeneratedClass(type)) {
+            Optional<HashCode> hash = classHashes.get(candidate);
+            if (!hash.isPresent()) {
+                return null;
+            }
+            hasher.putString(candidate.getName());
+            hasher.putHash(hash.get());
+        }
+        return hasher.hash();
+    }
+
+    /**
+     * Returns the type hierarchy of the given type, followed by the type hierarchies of the parameter and return types of all methods in it.
+     */
+    static Set<Class<?>> typesAffectingGeneratedClass(Class<?> type) {
+        Set<Class<?>> hierarchy = new LinkedHashSet<Class<?>>();
+        collectTypeHierarchy(type, hierarchy);
+        Set<Class<?>> types = new LinkedHashSet<Class<?>>(hierarchy);
+        for (Class<?> candidate : hierarchy) {
+            for (Method method : candidate.getDeclaredMethods()) {
+                collectSignatureTypeHierarchy(method.getReturnType(), types);
+                for (Class<?> parameterType : method.getParameterTypes()) {
+                    collectSignatureTypeHierarchy(parameterType, types);
+                }
+            }
+        }
+        return types;
+    }
+
+    private static void collectSignatureTypeHierarchy(Class<?> type, Set<Class<?>> types) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        if (!type.isPrimitive()) {
+            collectTypeHierarchy(type, types);
+        }
+    }
+
+    private static void collectTypeHierarchy(@Nullable Class<?> type, Set<Class<?>> types) {
+        if (type == null || !types.add(type)) {
+            return;
+        }
+        collectTypeHierarchy(type.getSuperclass(), types);
+        for (Class<?> interfaceType : type.getInterfaces()) {
+            collectTypeHierarchy(interfaceType, types);
+        }
+    }
+
+    @Nullable
+    private static HashCode hashClassBytes(Class<?> type) {
+        ClassLoader classLoader = type.getClassLoader();
+        if (classLoader == null) {
+            // A JVM class: its bytes are determined by the JVM
+            return Hashing.md5().hashString(JVM_VERSION);
+        }
+        InputStream classBytes = classLoader.getResourceAsStream(type.getName().replace('.', '/') + ".class");
+        if (classBytes == null) {
+            return null;
+        }
+        try {
+            try {
+                return Hashing.md5().hashBytes(ByteStreams.toByteArray(classBytes));
+            } finally {
+                classBytes.close();
+            }
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (classGenerator != null) {
+            classGenerator.setGeneratedClassCache(GeneratedClassCache.NONE);
+        }
+        cache.close();
+    }
+}
@@ -25,10 +25,19 @@ import java.util.Set;
 
 public class StartParameterInternal extends StartParameter implements Deprecatable {
     private final Deprecatable deprecationHandler = new LoggingDeprecatable();
+    private boolean taskSelectionCache;
+    private boolean parallelProjectConfiguration;
+    private boolean parallelScriptCompilation;
+    private boolean scriptBuildCache;
 
     @Override
     public StartParameter newInstance() {
-        return prepareNewInstance(new StartParameterInternal());
+        StartParameterInternal p = (StartParameterInternal) prepareNewInstance(new StartParameterInternal());
+        p.taskSelectionCache = taskSelectionCache;
+        p.parallelProjectConfiguration = parallelProjectConfiguration;
+        p.parallelScriptCompilation = parallelScriptCompilation;
+        p.scriptBuildCache = scriptBuildCache;
+        return p;
     }
 
     public StartParameter newBuild() {
@@ -57,4 +66,49 @@ public class StartParameterInternal extends StartParameter implements Deprecatab
     public void setGradleHomeDir(File gradleHomeDir) {
         this.gradleHomeDir = gradleHomeDir;
     }
+
+    /**
+     * Whether the tasks selected by name should be remembered across builds, so that an unchanged build only configures the projects containing them.
+     * Only takes effect when configuration on demand is enabled.
+     */
+    public boolean isTaskSelectionCache() {
+        return taskSelectionCache;
+    }
+
+    public void setTaskSelectionCache(boolean taskSelectionCache) {
+        this.taskSelectionCache = taskSelectionCache;
+    }
+
+    /**
+     * Whether decoupled projects should be configured concurrently. Only takes effect when parallel project execution is enabled.
+     */
+    public boolean isParallelProjectConfiguration() {
+        return parallelProjectConfiguration;
+    }
+
+    public void setParallelProjectConfiguration(boolean parallelProjectConfiguration) {
+        this.parallelProjectConfiguration = parallelProjectConfiguration;
+    }
+
+    /**
+     * Whether the build scripts of all projects should be compiled concurrently, before the projects are configured.
+     */
+    public boolean isParallelScriptCompilation() {
+        return parallelScriptCompilation;
+    }
+
+    public void setParallelScriptCompilation(boolean parallelScriptCompilation) {
+        this.parallelScriptCompilation = parallelScriptCompilation;
+    }
+
+    /**
+     * Whether compiled build scripts should be loaded from and stored in the build cache, when it is enabled.
+     */
+    public boolean isScriptBuildCache() {
+        return scriptBuildCache;
+    }
+
+    public void setScriptBuildCache(boolean scriptBuildCache) {
+        this.scriptBuildCache = scriptBuildCache;
+    }
 }
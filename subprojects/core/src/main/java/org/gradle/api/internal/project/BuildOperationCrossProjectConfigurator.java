@@ -16,29 +16,53 @@
 
 package org.gradle.api.internal.project;
 
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import org.gradle.api.Action;
 import org.gradle.api.Project;
+import org.gradle.api.internal.GradleInternal;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
 import org.gradle.internal.Actions;
 import org.gradle.internal.exceptions.Contextual;
 import org.gradle.internal.operations.BuildOperationContext;
 import org.gradle.internal.operations.BuildOperationDescriptor;
 import org.gradle.internal.operations.BuildOperationExecutor;
 import org.gradle.internal.operations.RunnableBuildOperation;
+import org.gradle.internal.resources.ResourceLock;
+import org.gradle.internal.work.WorkerLeaseService;
 
 import java.util.Collections;
+import java.util.List;
+import java.util.Set;
 
 public class BuildOperationCrossProjectConfigurator implements CrossProjectConfigurator {
 
+    private static final Logger LOGGER = Logging.getLogger(BuildOperationCrossProjectConfigurator.class);
+
     private final BuildOperationExecutor buildOperationExecutor;
+    private final WorkerLeaseService workerLeaseService;
     private final ThreadLocal<Boolean> allowExecution = new ThreadLocal<Boolean>() {
         @Override
         protected Boolean initialValue() {
             return true;
         }
     };
+    // The projects whose locks are held by the current thread, empty unless configuring concurrently
+    private final ThreadLocal<Set<Project>> lockedProjects = new ThreadLocal<Set<Project>>() {
+        @Override
+        protected Set<Project> initialValue() {
+            return ImmutableSet.of();
+        }
+    };
+    // The project whose configuration is running on the current thread, null unless configuring concurrently
+    private final ThreadLocal<Project> configuringProject = new ThreadLocal<Project>();
+    private final Set<Project> reportedProjects = Sets.newConcurrentHashSet();
 
-    public BuildOperationCrossProjectConfigurator(BuildOperationExecutor buildOperationExecutor) {
+    public BuildOperationCrossProjectConfigurator(BuildOperationExecutor buildOperationExecutor, WorkerLeaseService workerLeaseService) {
         this.buildOperationExecutor = buildOperationExecutor;
+        this.workerLeaseService = workerLeaseService;
     }
 
     @Override
@@ -64,19 +88,91 @@ public class BuildOperationCrossProjectConfigurator implements CrossProjectConfi
     }
 
     private void runBlockConfigureAction(final BuildOperationDescriptor.Builder details, final Iterable<Project> projects, final Action<? super Project> configureAction) {
-        buildOperationExecutor.run(new BlockConfigureBuildOperation(details, projects) {
+        withExclusiveAccess(projects, new Runnable() {
             @Override
-            protected void doRunProjectConfigure(Project project) {
-                runProjectConfigureAction(project, configureAction);
+            public void run() {
+                buildOperationExecutor.run(new BlockConfigureBuildOperation(details, projects) {
+                    @Override
+                    protected void doRunProjectConfigure(Project project) {
+                        runProjectConfigureAction(project, configureAction);
+                    }
+                });
             }
         });
     }
 
     private void runProjectConfigureAction(final Project project, final Action<? super Project> configureAction) {
-        buildOperationExecutor.run(new CrossConfigureProjectBuildOperation(project) {
+        withExclusiveAccess(Collections.singleton(project), new Runnable() {
+            @Override
+            public void run() {
+                buildOperationExecutor.run(new CrossConfigureProjectBuildOperation(project) {
+                    @Override
+                    public void run(BuildOperationContext context) {
+                        Actions.with(project, withCrossProjectConfigurationEnabled(configureAction));
+                    }
+                });
+            }
+        });
+    }
+
+    @Override
+    public void configureConcurrently(Project project, Runnable action) {
+        configuringProject.set(project);
+        try {
+            runWithLocks(ImmutableSet.of(project), action);
+        } finally {
+            configuringProject.remove();
+        }
+    }
+
+    @Override
+    public void checkAccess(Project project) {
+        Set<Project> held = lockedProjects.get();
+        if (held.isEmpty() || held.contains(project)) {
+            return;
+        }
+        Project configuring = configuringProject.get();
+        if (project == configuring || ((ProjectInternal) project).getState().getExecuted()) {
+            return;
+        }
+        if (reportedProjects.add(project)) {
+            LOGGER.warn("{} was accessed while configuring {} concurrently, without holding its lock. Use project('{}') { } or evaluationDependsOn('{}') to access it safely.",
+                project, configuring, project.getPath(), project.getPath());
+        }
+    }
+
+    @Override
+    public void withExclusiveAccess(Iterable<? extends Project> projects, final Runnable action) {
+        Set<Project> held = lockedProjects.get();
+        final Set<Project> required = ImmutableSet.copyOf(projects);
+        if (held.isEmpty() || held.containsAll(required)) {
+            action.run();
+            return;
+        }
+        // Release the locks held by this thread before waiting, so that threads waiting on each other's projects cannot deadlock
+        workerLeaseService.withoutProjectLock(new Runnable() {
             @Override
-            public void run(BuildOperationContext context) {
-                Actions.with(project, withCrossProjectConfigurationEnabled(configureAction));
+            public void run() {
+                runWithLocks(required, action);
+            }
+        });
+    }
+
+    private void runWithLocks(final Set<Project> projects, final Runnable action) {
+        List<ResourceLock> locks = Lists.newArrayListWithCapacity(projects.size());
+        for (Project project : projects) {
+            locks.add(workerLeaseService.getProjectLock(((GradleInternal) project.getGradle()).getIdentityPath().toString(), ((ProjectInternal) project).getIdentityPath().toString()));
+        }
+        workerLeaseService.withLocks(locks, new Runnable() {
+            @Override
+            public void run() {
+                Set<Project> previous = lockedProjects.get();
+                lockedProjects.set(projects);
+                try {
+                    action.run();
+                } finally {
+                    lockedProjects.set(previous);
+                }
             }
         });
     }
@@ -43,4 +43,22 @@ public interface CrossProjectConfigurator {
      */
     <T> Action<T> withCrossProjectConfigurationDisabled(Action<? super T> action);
 
+    /**
+     * Runs the given action while holding the lock of the given project, so that it can run concurrently with the configuration of other projects.
+     * Any cross-project configuration performed by the action waits for exclusive access to the projects it configures.
+     */
+    void configureConcurrently(Project project, Runnable action);
+
+    /**
+     * Runs the given action with exclusive access to the given projects. When called from an action passed to {@link #configureConcurrently(Project, Runnable)},
+     * the locks currently held are released and the call blocks until no other thread is configuring the given projects.
+     */
+    void withExclusiveAccess(Iterable<? extends Project> projects, Runnable action);
+
+    /**
+     * Warns when the given project is accessed from an action passed to {@link #configureConcurrently(Project, Runnable)} without holding its lock,
+     * before the project has been configured.
+     */
+    void checkAccess(Project project);
+
 }
@@ -124,6 +124,7 @@ import javax.inject.Inject;
 import java.io.File;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -406,6 +407,7 @@ public class DefaultProject extends AbstractPluginAware implements ProjectIntern
 
     @Override
     public DynamicObject getAsDynamicObject() {
+        getProjectConfigurator().checkAccess(this);
         return extensibleDynamicObject;
     }
 
@@ -700,6 +702,7 @@ public class DefaultProject extends AbstractPluginAware implements ProjectIntern
 
     @Override
     public TaskContainerInternal getTasks() {
+        getProjectConfigurator().checkAccess(this);
         return taskContainer;
     }
 
@@ -759,12 +762,18 @@ public class DefaultProject extends AbstractPluginAware implements ProjectIntern
         return evaluationDependsOn(projectToEvaluate);
     }
 
-    private Project evaluationDependsOn(DefaultProject projectToEvaluate) {
-        if (projectToEvaluate.getState().isConfiguring()) {
-            throw new CircularReferenceException(String.format("Circular referencing during evaluation for %s.",
-                projectToEvaluate));
-        }
-        return projectToEvaluate.evaluate();
+    private Project evaluationDependsOn(final DefaultProject projectToEvaluate) {
+        getProjectConfigurator().withExclusiveAccess(Collections.singleton(projectToEvaluate), new Runnable() {
+            @Override
+            public void run() {
+                if (projectToEvaluate.getState().isConfiguring()) {
+                    throw new CircularReferenceException(String.format("Circular referencing during evaluation for %s.",
+                        projectToEvaluate));
+                }
+                projectToEvaluate.evaluate();
+            }
+        });
+        return projectToEvaluate;
     }
 
     @Override
@@ -964,6 +973,7 @@ public class DefaultProject extends AbstractPluginAware implements ProjectIntern
 
     @Override
     public DependencyHandler getDependencies() {
+        getProjectConfigurator().checkAccess(this);
         if (dependencyHandler == null) {
             dependencyHandler = services.get(DependencyHandler.class);
         }
@@ -1329,6 +1339,7 @@ public class DefaultProject extends AbstractPluginAware implements ProjectIntern
 
     @Override
     public ExtensionContainerInternal getExtensions() {
+        getProjectConfigurator().checkAccess(this);
         return (ExtensionContainerInternal) getConvention();
     }
 
@@ -17,18 +17,32 @@
 package org.gradle.api.internal.project;
 
 import org.gradle.initialization.ProjectAccessListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class DefaultProjectAccessListener implements ProjectAccessListener {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DefaultProjectAccessListener.class);
+
+    private final boolean configureOnDemand;
+
+    public DefaultProjectAccessListener(boolean configureOnDemand) {
+        this.configureOnDemand = configureOnDemand;
+    }
 
     public void beforeRequestingTaskByPath(ProjectInternal targetProject) {
-        evaluateProjectAndDiscoverTasks(targetProject);
+        evaluateProjectAndDiscoverTasks(targetProject, "a task was requested by path");
     }
 
     public void beforeResolvingProjectDependency(ProjectInternal targetProject) {
-        evaluateProjectAndDiscoverTasks(targetProject);
+        evaluateProjectAndDiscoverTasks(targetProject, "a project dependency on it was resolved");
     }
 
-    private synchronized void evaluateProjectAndDiscoverTasks(final ProjectInternal targetProject) {
+    private synchronized void evaluateProjectAndDiscoverTasks(final ProjectInternal targetProject, String reason) {
+        if (configureOnDemand && targetProject.getState().isUnconfigured()) {
+            // Configuration on demand configures the requested projects and the projects they declare a dependency on up front.
+            // Any other project is configured when it is first accessed, which happens one project at a time.
+            LOGGER.info("Configuration on demand: {} was not configured up front and is configured now because {}.", targetProject, reason);
+        }
         targetProject.evaluate();
         targetProject.getTasks().discoverTasks();
     }
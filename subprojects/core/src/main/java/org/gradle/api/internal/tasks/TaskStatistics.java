@@ -38,6 +38,7 @@ public class TaskStatistics implements Closeable {
     private final AtomicInteger eagerTasks = new AtomicInteger();
     private final AtomicInteger lazyTasks = new AtomicInteger();
     private final AtomicInteger lazyRealizedTasks = new AtomicInteger();
+    private final AtomicInteger executedTasks = new AtomicInteger();
     private final Map<Class, Integer> typeCounts = Maps.newHashMap();
     private final Map<Class, Integer> realizedTypeCounts = Maps.newHashMap();
     private final boolean collectStatistics;
@@ -103,17 +104,25 @@ public class TaskStatistics implements Closeable {
         }
     }
 
+    public void executedTask() {
+        if (collectStatistics) {
+            executedTasks.incrementAndGet();
+        }
+    }
+
     @Override
     public void close() throws IOException {
         if (collectStatistics) {
             int eagerTaskCount = eagerTasks.getAndSet(0);
             int lazyTaskCount = lazyTasks.getAndSet(0);
             int lazyTaskCreatedCount = lazyRealizedTasks.getAndSet(0);
+            int executedTaskCount = executedTasks.getAndSet(0);
             int totalTaskCount = eagerTaskCount + lazyTaskCount;
             LOGGER.lifecycle("Task counts: Old API {}, New API {}, total {}", eagerTaskCount, lazyTaskCount, totalTaskCount);
 
             int createdTaskCount = lazyTaskCreatedCount + eagerTaskCount;
             LOGGER.lifecycle("Task counts: created {}, avoided {}, %-lazy {}", createdTaskCount, lazyTaskCount-lazyTaskCreatedCount, 100-100*createdTaskCount/totalTaskCount);
+            LOGGER.lifecycle("Task counts: executed {}, created but not executed {}", executedTaskCount, createdTaskCount - executedTaskCount);
 
             printTypeCounts("\nTask types that were created with the old API", typeCounts);
             printTypeCounts("\nTask types that were registered with the new API but were created anyways", realizedTypeCounts);
@@ -17,6 +17,7 @@ package org.gradle.configuration;
 
 import org.gradle.StartParameter;
 import org.gradle.api.internal.GradleInternal;
+import org.gradle.api.internal.StartParameterInternal;
 import org.gradle.execution.ProjectConfigurer;
 import org.gradle.internal.build.BuildStateRegistry;
 import org.gradle.util.SingleMessageLogger;
@@ -47,6 +48,8 @@ public class DefaultBuildConfigurer implements BuildConfigurer {
 
         if (startParameter.isParallelProjectExecutionEnabled() && startParameter.isConfigureOnDemand()) {
             SingleMessageLogger.incubatingFeatureUsed("Parallel execution with configuration on demand");
+        } else if (startParameter.isParallelProjectExecutionEnabled() && ((StartParameterInternal) startParameter).isParallelProjectConfiguration()) {
+            SingleMessageLogger.incubatingFeatureUsed("Parallel project configuration");
         } else if (startParameter.isParallelProjectExecutionEnabled()) {
             SingleMessageLogger.incubatingFeatureUsed("Parallel execution");
         } else if (startParameter.isConfigureOnDemand()) {
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.configuration;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.gradle.api.Action;
+import org.gradle.api.Project;
+import org.gradle.api.internal.DocumentationRegistry;
+import org.gradle.api.internal.initialization.ClassLoaderScope;
+import org.gradle.api.internal.project.ProjectInternal;
+import org.gradle.groovy.scripts.ScriptCompilerFactory;
+import org.gradle.groovy.scripts.ScriptRunner;
+import org.gradle.groovy.scripts.ScriptSource;
+import org.gradle.internal.Actions;
+import org.gradle.internal.operations.BuildOperationContext;
+import org.gradle.internal.operations.BuildOperationDescriptor;
+import org.gradle.internal.operations.BuildOperationExecutor;
+import org.gradle.internal.operations.BuildOperationQueue;
+import org.gradle.internal.operations.RunnableBuildOperation;
+import org.gradle.model.dsl.internal.transform.ClosureCreationInterceptingVerifier;
+import org.gradle.plugin.management.internal.PluginRequestInternal;
+import org.gradle.plugin.management.internal.PluginRequests;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Compiles the build scripts of all projects of a build concurrently, as soon as the class loaders of the root project are known,
+ * so that evaluating the projects later only has to load the compiled classes from the script caches.
+ *
+ * <p>A project uses the class loaders of the root project unless it, or one of its parent projects, adds to the build script classpath.
+ * The first pass of every build script, which extracts the {@code buildscript {}} and {@code plugins {}} blocks, is compiled against
+ * the root project's class loader. The body of a script is only compiled up front when the first passes show that its project will use
+ * the root project's class loader. Any other script is compiled when its project is evaluated, as before.</p>
+ *
+ * <p>Failures are ignored, they are reported when the project is evaluated.</p>
+ */
+public class ParallelBuildScriptCompiler {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelBuildScriptCompiler.class);
+
+    private final ScriptCompilerFactory scriptCompilerFactory;
+    private final DocumentationRegistry documentationRegistry;
+    private final BuildOperationExecutor buildOperationExecutor;
+
+    public ParallelBuildScriptCompiler(ScriptCompilerFactory scriptCompilerFactory, DocumentationRegistry documentationRegistry, BuildOperationExecutor buildOperationExecutor) {
+        this.scriptCompilerFactory = scriptCompilerFactory;
+        this.documentationRegistry = documentationRegistry;
+        this.buildOperationExecutor = buildOperationExecutor;
+    }
+
+    public void compileBuildScripts(ProjectInternal rootProject, ClassLoaderScope rootProjectScope) {
+        final ClassLoader exportClassLoader = rootProjectScope.getExportClassLoader();
+        final List<CompileInitialPass> initialPasses = Lists.newArrayList();
+        for (Project subproject : rootProject.getSubprojects()) {
+            ProjectInternal project = (ProjectInternal) subproject;
+            if (project.getBuildScriptSource().getResource().getExists()) {
+                initialPasses.add(new CompileInitialPass(project, exportClassLoader));
+            }
+        }
+        runAll(initialPasses);
+
+        // Projects whose classpath is extended by their own build script, or by one of their parent projects
+        Set<ProjectInternal> extendingClasspath = Sets.newHashSet();
+        for (CompileInitialPass initialPass : initialPasses) {
+            if (!initialPass.usesParentClassLoader()) {
+                extendingClasspath.add(initialPass.project);
+            }
+        }
+
+        final List<CompileBody> bodies = Lists.newArrayList();
+        bodies.add(new CompileBody(rootProject, rootProjectScope.getLocalClassLoader()));
+        for (CompileInitialPass initialPass : initialPasses) {
+            if (!extendsClasspath(initialPass.project, rootProject, extendingClasspath)) {
+                bodies.add(new CompileBody(initialPass.project, exportClassLoader));
+            }
+        }
+        runAll(bodies);
+    }
+
+    private static boolean extendsClasspath(ProjectInternal project, ProjectInternal rootProject, Set<ProjectInternal> extendingClasspath) {
+        for (ProjectInternal current = project; current != rootProject; current = current.getParent()) {
+            if (extendingClasspath.contains(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private <T extends RunnableBuildOperation> void runAll(final List<T> operations) {
+        if (operations.isEmpty()) {
+            return;
+        }
+        buildOperationExecutor.runAll(new Action<BuildOperationQueue<T>>() {
+            @Override
+            public void execute(BuildOperationQueue<T> queue) {
+                for (T operation : operations) {
+                    queue.add(operation);
+                }
+            }
+        });
+    }
+
+    private class CompileInitialPass implements RunnableBuildOperation {
+        private final ProjectInternal project;
+        private final ClassLoader classLoader;
+        private ScriptRunner<?, PluginRequests> runner;
+
+        CompileInitialPass(ProjectInternal project, ClassLoader classLoader) {
+            this.project = project;
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        public void run(BuildOperationContext context) {
+            ScriptSource source = project.getBuildScriptSource();
+            ScriptTarget target = new ProjectScriptTarget(project);
+            try {
+                runner = scriptCompilerFactory.createCompiler(source).compile(target.getScriptClass(), DefaultScriptPluginFactory.initialPassOperation(source, target, documentationRegistry), classLoader, Actions.doNothing());
+            } catch (Exception e) {
+                LOGGER.debug("Could not compile {} ahead of evaluating {}.", source.getDisplayName(), project, e);
+            }
+        }
+
+        /**
+         * Whether the project uses the class loader of its parent project: it has no {@code buildscript {}} block and only requests plugins
+         * without a version, which are resolved from the classes already visible to the project.
+         */
+        boolean usesParentClassLoader() {
+            if (runner == null || runner.getRunDoesSomething()) {
+                return false;
+            }
+            for (PluginRequestInternal request : runner.getData()) {
+                if (request.getVersion() != null || request.getModule() != null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public BuildOperationDescriptor.Builder description() {
+            return BuildOperationDescriptor.displayName("Compile classpath of build script of " + project.getDisplayName());
+        }
+    }
+
+    private class CompileBody implements RunnableBuildOperation {
+        private final ProjectInternal project;
+        private final ClassLoader classLoader;
+
+        CompileBody(ProjectInternal project, ClassLoader classLoader) {
+            this.project = project;
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        public void run(BuildOperationContext context) {
+            ScriptSource source = project.getBuildScriptSource();
+            ScriptTarget target = new ProjectScriptTarget(project);
+            try {
+                scriptCompilerFactory.createCompiler(source).compile(target.getScriptClass(), DefaultScriptPluginFactory.bodyOperation(source, target), classLoader, ClosureCreationInterceptingVerifier.INSTANCE);
+            } catch (Exception e) {
+                LOGGER.debug("Could not compile {} ahead of evaluating {}.", source.getDisplayName(), project, e);
+            }
+        }
+
+        @Override
+        public BuildOperationDescriptor.Builder description() {
+            return BuildOperationDescriptor.displayName("Compile build script of " + project.getDisplayName());
+        }
+    }
+}
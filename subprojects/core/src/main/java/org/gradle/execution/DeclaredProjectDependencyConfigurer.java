@@ -0,0 +1,102 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.execution;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.ProjectDependency;
+import org.gradle.api.attributes.Usage;
+import org.gradle.api.internal.project.ProjectInternal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Used by configuration on demand to configure the projects that the given projects declare a {@link ProjectDependency} on, transitively, before the task graph
+ * is calculated. Without this, each such project would only be configured when its dependency is resolved while calculating the task graph, one at a time.
+ *
+ * <p>The projects are discovered and configured one wave at a time, as a project's dependencies are only known once it has been configured. Each wave
+ * is configured using {@link ProjectConfigurer#configureAll(Collection)}, so that it is configured concurrently when parallel project configuration is enabled.</p>
+ *
+ * <p>Only the resolvable configurations that declare a {@link Usage}, such as the compile and runtime classpaths of source sets, are considered. Other
+ * configurations, such as {@code archives} or custom ones, are often not resolved by the selected tasks. Projects that are only reached through those are
+ * still configured on demand when they are resolved.</p>
+ */
+public class DeclaredProjectDependencyConfigurer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DeclaredProjectDependencyConfigurer.class);
+
+    private final ProjectConfigurer projectConfigurer;
+
+    public DeclaredProjectDependencyConfigurer(ProjectConfigurer projectConfigurer) {
+        this.projectConfigurer = projectConfigurer;
+    }
+
+    public void configureDependenciesOf(Collection<? extends ProjectInternal> projects) {
+        Set<ProjectInternal> seen = Sets.newHashSet(projects);
+        List<ProjectInternal> current = Lists.newArrayList(projects);
+        while (!current.isEmpty()) {
+            List<ProjectInternal> next = Lists.newArrayList();
+            for (ProjectInternal project : current) {
+                for (ProjectInternal dependencyProject : declaredDependencyProjects(project)) {
+                    if (seen.add(dependencyProject)) {
+                        next.add(dependencyProject);
+                    }
+                }
+            }
+            List<ProjectInternal> unconfigured = Lists.newArrayList();
+            for (ProjectInternal project : next) {
+                if (!project.getState().getExecuted()) {
+                    unconfigured.add(project);
+                }
+            }
+            if (!unconfigured.isEmpty()) {
+                LOGGER.info("Configuring {} declared project dependencies: {}", unconfigured.size(), unconfigured);
+                projectConfigurer.configureAll(unconfigured);
+            }
+            current = next;
+        }
+    }
+
+    private static Set<ProjectInternal> declaredDependencyProjects(ProjectInternal project) {
+        Set<ProjectInternal> dependencyProjects = Sets.newLinkedHashSet();
+        if (!project.getState().getExecuted()) {
+            // Only the dependencies of configured projects are known
+            return dependencyProjects;
+        }
+        for (Configuration configuration : project.getConfigurations()) {
+            if (!isClasspath(configuration)) {
+                continue;
+            }
+            for (ProjectDependency dependency : configuration.getAllDependencies().withType(ProjectDependency.class)) {
+                ProjectInternal dependencyProject = (ProjectInternal) dependency.getDependencyProject();
+                // Projects of other builds are configured by their own build
+                if (dependencyProject.getGradle() == project.getGradle()) {
+                    dependencyProjects.add(dependencyProject);
+                }
+            }
+        }
+        return dependencyProjects;
+    }
+
+    private static boolean isClasspath(Configuration configuration) {
+        return configuration.isCanBeResolved() && configuration.getAttributes().contains(Usage.USAGE_ATTRIBUTE);
+    }
+}
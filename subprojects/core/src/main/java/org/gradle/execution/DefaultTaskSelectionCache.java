@@ -0,0 +1,340 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.execution;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.gradle.api.Action;
+import org.gradle.api.Project;
+import org.gradle.api.Task;
+import org.gradle.api.execution.TaskExecutionGraph;
+import org.gradle.api.internal.GradleInternal;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.cache.CacheRepository;
+import org.gradle.cache.FileLockManager;
+import org.gradle.cache.PersistentCache;
+import org.gradle.cache.PersistentIndexedCache;
+import org.gradle.cache.PersistentIndexedCacheParameters;
+import org.gradle.groovy.scripts.Script;
+import org.gradle.groovy.scripts.ScriptExecutionListener;
+import org.gradle.groovy.scripts.ScriptSource;
+import org.gradle.initialization.IGradlePropertiesLoader;
+import org.gradle.internal.classloader.ClassLoaderHierarchyHasher;
+import org.gradle.internal.hash.FileHasher;
+import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.hash.Hasher;
+import org.gradle.internal.hash.Hashing;
+import org.gradle.internal.serialize.AbstractSerializer;
+import org.gradle.internal.serialize.BaseSerializerFactory;
+import org.gradle.internal.serialize.Decoder;
+import org.gradle.internal.serialize.Encoder;
+import org.gradle.internal.serialize.HashCodeSerializer;
+import org.gradle.internal.serialize.ListSerializer;
+import org.gradle.internal.serialize.MapSerializer;
+import org.gradle.util.GFileUtils;
+import org.gradle.util.GradleVersion;
+
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.io.File;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.gradle.cache.internal.filelock.LockOptionsBuilder.mode;
+
+/**
+ * A {@link TaskSelectionCache} that is persisted in the project cache directory.
+ *
+ * <p>A selection is reused when the Gradle version, the command line properties, the environment variables that set project properties,
+ * the settings classpath, the build file and {@code gradle.properties} of every project, and every script loaded by the build that recorded it are unchanged.
+ * Of the other environment variables, only those that the loaded scripts refer to by name must be unchanged. When a script reads the environment
+ * in some other way, all variables must be unchanged. Build logic that reads any other input makes the cache unsafe, which is why it is opt-in.</p>
+ */
+public class DefaultTaskSelectionCache implements TaskSelectionCache, ScriptExecutionListener, Closeable {
+    private static final Logger LOGGER = Logging.getLogger(DefaultTaskSelectionCache.class);
+    private static final HashCode MISSING_FILE = Hashing.md5().hashString("missing");
+    private static final HashCode MISSING_VARIABLE = Hashing.md5().hashString("missing variable");
+    // Stands for the whole environment, which is never the name of a variable
+    private static final String ALL_VARIABLES = "=";
+    // System.getenv("NAME"), System.env.NAME, System.env["NAME"] and System.env.get("NAME")
+    private static final Pattern VARIABLE_REFERENCE = Pattern.compile("getenv\\(\\s*[\"']([^\"']+)[\"']\\s*\\)|System\\.env(?:\\.get\\(\\s*[\"']([^\"']+)[\"']\\s*\\)|\\[\\s*[\"']([^\"']+)[\"']\\s*]|\\.(\\w+))");
+    // Anything that can read the environment, like System.getenv() or iterating over System.env
+    private static final Pattern ENVIRONMENT_ACCESS = Pattern.compile("getenv|System\\.env\\b");
+
+    private final CacheRepository cacheRepository;
+    private final FileHasher fileHasher;
+    private final ClassLoaderHierarchyHasher classLoaderHierarchyHasher;
+    private final Set<File> loadedScripts = Sets.newConcurrentHashSet();
+    private final Map<String, List<String>> pendingSelections = Maps.newLinkedHashMap();
+    private volatile boolean nonFileScriptLoaded;
+    private PersistentCache cache;
+    private PersistentIndexedCache<String, CachedSelection> selections;
+    private HashCode buildFingerprint;
+
+    public DefaultTaskSelectionCache(CacheRepository cacheRepository, FileHasher fileHasher, ClassLoaderHierarchyHasher classLoaderHierarchyHasher) {
+        this.cacheRepository = cacheRepository;
+        this.fileHasher = fileHasher;
+        this.classLoaderHierarchyHasher = classLoaderHierarchyHasher;
+    }
+
+    @Override
+    public void scriptClassLoaded(ScriptSource source, Class<? extends Script> scriptClass) {
+        File file = source.getResource().getLocation().getFile();
+        if (file != null) {
+            loadedScripts.add(file);
+        } else {
+            nonFileScriptLoaded = true;
+        }
+    }
+
+    @Nullable
+    @Override
+    public List<String> getSelectedTaskPaths(GradleInternal gradle, String projectPath, String taskName) {
+        if (!isApplicable(gradle)) {
+            return null;
+        }
+        CachedSelection selection = getSelections(gradle).get(key(projectPath, taskName));
+        if (selection == null) {
+            return null;
+        }
+        HashCode fingerprint = getBuildFingerprint(gradle);
+        if (fingerprint == null || !fingerprint.equals(selection.buildFingerprint)) {
+            LOGGER.info("Cannot reuse the tasks selected by '{}' in {}, as the build has changed.", taskName, projectPath);
+            return null;
+        }
+        for (Map.Entry<String, HashCode> entry : selection.scriptHashes.entrySet()) {
+            if (!hash(new File(entry.getKey())).equals(entry.getValue())) {
+                LOGGER.info("Cannot reuse the tasks selected by '{}' in {}, as script {} has changed.", taskName, projectPath, entry.getKey());
+                return null;
+            }
+        }
+        for (Map.Entry<String, HashCode> entry : selection.environmentHashes.entrySet()) {
+            if (!hashVariable(entry.getKey()).equals(entry.getValue())) {
+                LOGGER.info("Cannot reuse the tasks selected by '{}' in {}, as the environment has changed.", taskName, projectPath);
+                return null;
+            }
+        }
+        return selection.taskPaths;
+    }
+
+    @Override
+    public void selected(final GradleInternal gradle, String projectPath, String taskName, Collection<? extends Task> tasks) {
+        if (!isApplicable(gradle)) {
+            return;
+        }
+        ImmutableList.Builder<String> taskPaths = ImmutableList.builder();
+        for (Task task : tasks) {
+            taskPaths.add(task.getPath());
+        }
+        if (pendingSelections.isEmpty()) {
+            // Projects keep being configured until the task graph is ready, so only then are all the scripts they use known
+            gradle.getTaskGraph().whenReady(new Action<TaskExecutionGraph>() {
+                @Override
+                public void execute(TaskExecutionGraph taskExecutionGraph) {
+                    storePendingSelections(gradle);
+                }
+            });
+        }
+        pendingSelections.put(key(projectPath, taskName), taskPaths.build());
+    }
+
+    private void storePendingSelections(GradleInternal gradle) {
+        HashCode fingerprint = getBuildFingerprint(gradle);
+        if (fingerprint == null || nonFileScriptLoaded) {
+            pendingSelections.clear();
+            return;
+        }
+        ImmutableMap.Builder<String, HashCode> scriptHashes = ImmutableMap.builder();
+        Set<String> variables = Sets.newTreeSet();
+        for (File script : loadedScripts) {
+            scriptHashes.put(script.getAbsolutePath(), hash(script));
+            if (script.isFile()) {
+                collectVariableReferences(GFileUtils.readFile(script), variables);
+            }
+        }
+        Map<String, HashCode> scripts = scriptHashes.build();
+        if (variables.contains(ALL_VARIABLES)) {
+            variables.retainAll(Collections.singleton(ALL_VARIABLES));
+        }
+        ImmutableMap.Builder<String, HashCode> environmentHashes = ImmutableMap.builder();
+        for (String variable : variables) {
+            environmentHashes.put(variable, hashVariable(variable));
+        }
+        Map<String, HashCode> environment = environmentHashes.build();
+        PersistentIndexedCache<String, CachedSelection> selections = getSelections(gradle);
+        for (Map.Entry<String, List<String>> entry : pendingSelections.entrySet()) {
+            selections.put(entry.getKey(), new CachedSelection(fingerprint, scripts, environment, entry.getValue()));
+        }
+        pendingSelections.clear();
+    }
+
+    /**
+     * Adds the names of the environment variables the given script reads, or {@link #ALL_VARIABLES} when they cannot all be told from its text.
+     */
+    static void collectVariableReferences(String scriptText, Set<String> variables) {
+        int references = 0;
+        Matcher reference = VARIABLE_REFERENCE.matcher(scriptText);
+        while (reference.find()) {
+            references++;
+            for (int group = 1; group <= reference.groupCount(); group++) {
+                if (reference.group(group) != null) {
+                    variables.add(reference.group(group));
+                }
+            }
+        }
+        int accesses = 0;
+        Matcher access = ENVIRONMENT_ACCESS.matcher(scriptText);
+        while (access.find()) {
+            accesses++;
+        }
+        if (accesses > references) {
+            variables.add(ALL_VARIABLES);
+        }
+    }
+
+    private static HashCode hashVariable(String variable) {
+        if (ALL_VARIABLES.equals(variable)) {
+            Hasher hasher = Hashing.md5().newHasher();
+            putMap(hasher, System.getenv());
+            return hasher.hash();
+        }
+        String value = System.getenv(variable);
+        return value == null ? MISSING_VARIABLE : Hashing.md5().hashString(value);
+    }
+
+    private static boolean isApplicable(GradleInternal gradle) {
+        // Without configuration on demand all projects are configured anyway
+        return gradle.getParent() == null && gradle.getStartParameter().isConfigureOnDemand() && gradle.getIncludedBuilds().isEmpty();
+    }
+
+    private static String key(String projectPath, String taskName) {
+        return projectPath + " " + taskName;
+    }
+
+    private PersistentIndexedCache<String, CachedSelection> getSelections(GradleInternal gradle) {
+        if (selections == null) {
+            cache = cacheRepository
+                .cache(gradle, "taskSelection")
+                .withDisplayName("task selection cache")
+                .withLockOptions(mode(FileLockManager.LockMode.None))
+                .open();
+            selections = cache.createCache(new PersistentIndexedCacheParameters<String, CachedSelection>("selections", String.class, new CachedSelectionSerializer()));
+        }
+        return selections;
+    }
+
+    @Nullable
+    private HashCode getBuildFingerprint(GradleInternal gradle) {
+        if (buildFingerprint == null) {
+            HashCode settingsClassLoaderHash = classLoaderHierarchyHasher.getClassLoaderHash(gradle.getSettings().getClassLoaderScope().getExportClassLoader());
+            if (settingsClassLoaderHash == null) {
+                return null;
+            }
+            Hasher hasher = Hashing.md5().newHasher();
+            hasher.putString(GradleVersion.current().getVersion());
+            hasher.putHash(settingsClassLoaderHash);
+            putMap(hasher, gradle.getStartParameter().getProjectProperties());
+            putMap(hasher, gradle.getStartParameter().getSystemPropertiesArgs());
+            putMap(hasher, projectPropertiesFromEnvironment());
+            hasher.putHash(hash(new File(gradle.getStartParameter().getGradleUserHomeDir(), Project.GRADLE_PROPERTIES)));
+            for (Project project : gradle.getRootProject().getAllprojects()) {
+                hasher.putString(project.getPath());
+                hasher.putHash(hash(project.getBuildFile()));
+                hasher.putHash(hash(new File(project.getProjectDir(), Project.GRADLE_PROPERTIES)));
+            }
+            buildFingerprint = hasher.hash();
+        }
+        return buildFingerprint;
+    }
+
+    private static Map<String, String> projectPropertiesFromEnvironment() {
+        Map<String, String> variables = Maps.newHashMap();
+        for (Map.Entry<String, String> entry : System.getenv().entrySet()) {
+            if (entry.getKey().startsWith(IGradlePropertiesLoader.ENV_PROJECT_PROPERTIES_PREFIX)) {
+                variables.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return variables;
+    }
+
+    private static void putMap(Hasher hasher, Map<String, String> map) {
+        SortedMap<String, String> sorted = new TreeMap<String, String>(map);
+        hasher.putInt(sorted.size());
+        for (Map.Entry<String, String> entry : sorted.entrySet()) {
+            hasher.putString(entry.getKey());
+            hasher.putString(entry.getValue());
+        }
+    }
+
+    private HashCode hash(File file) {
+        return file.isFile() ? fileHasher.hash(file) : MISSING_FILE;
+    }
+
+    @Override
+    public void close() {
+        if (cache != null) {
+            cache.close();
+        }
+    }
+
+    private static class CachedSelection {
+        private final HashCode buildFingerprint;
+        private final Map<String, HashCode> scriptHashes;
+        private final Map<String, HashCode> environmentHashes;
+        private final List<String> taskPaths;
+
+        CachedSelection(HashCode buildFingerprint, Map<String, HashCode> scriptHashes, Map<String, HashCode> environmentHashes, List<String> taskPaths) {
+            this.buildFingerprint = buildFingerprint;
+            this.scriptHashes = scriptHashes;
+            this.environmentHashes = environmentHashes;
+            this.taskPaths = taskPaths;
+        }
+    }
+
+    private static class CachedSelectionSerializer extends AbstractSerializer<CachedSelection> {
+        private final HashCodeSerializer hashCodeSerializer = new HashCodeSerializer();
+        private final MapSerializer<String, HashCode> hashesSerializer = new MapSerializer<String, HashCode>(BaseSerializerFactory.STRING_SERIALIZER, hashCodeSerializer);
+        private final ListSerializer<String> taskPathsSerializer = new ListSerializer<String>(BaseSerializerFactory.STRING_SERIALIZER);
+
+        @Override
+        public CachedSelection read(Decoder decoder) throws Exception {
+            HashCode buildFingerprint = hashCodeSerializer.read(decoder);
+            Map<String, HashCode> scriptHashes = hashesSerializer.read(decoder);
+            Map<String, HashCode> environmentHashes = hashesSerializer.read(decoder);
+            List<String> taskPaths = taskPathsSerializer.read(decoder);
+            return new CachedSelection(buildFingerprint, scriptHashes, environmentHashes, taskPaths);
+        }
+
+        @Override
+        public void write(Encoder encoder, CachedSelection value) throws Exception {
+            hashCodeSerializer.write(encoder, value.buildFingerprint);
+            hashesSerializer.write(encoder, value.scriptHashes);
+            hashesSerializer.write(encoder, value.environmentHashes);
+            taskPathsSerializer.write(encoder, value.taskPaths);
+        }
+    }
+}
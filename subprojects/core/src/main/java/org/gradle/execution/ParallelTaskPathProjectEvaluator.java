@@ -0,0 +1,130 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.execution;
+
+import com.google.common.collect.Lists;
+import org.gradle.api.Action;
+import org.gradle.api.Project;
+import org.gradle.api.internal.project.CrossProjectConfigurator;
+import org.gradle.api.internal.project.ProjectInternal;
+import org.gradle.initialization.BuildCancellationToken;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.operations.BuildOperationContext;
+import org.gradle.internal.operations.BuildOperationDescriptor;
+import org.gradle.internal.operations.BuildOperationExecutor;
+import org.gradle.internal.operations.BuildOperationQueue;
+import org.gradle.internal.operations.MultipleBuildOperationFailures;
+import org.gradle.internal.operations.RunnableBuildOperation;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Configures the projects of a hierarchy concurrently, one level of the hierarchy at a time so that a project is always configured after its parent.
+ * Each project is evaluated while holding its project lock. Cross-project configuration is serialized by the {@link CrossProjectConfigurator}.
+ */
+public class ParallelTaskPathProjectEvaluator extends TaskPathProjectEvaluator {
+    private final BuildOperationExecutor buildOperationExecutor;
+    private final CrossProjectConfigurator crossProjectConfigurator;
+
+    public ParallelTaskPathProjectEvaluator(BuildCancellationToken cancellationToken, BuildOperationExecutor buildOperationExecutor, CrossProjectConfigurator crossProjectConfigurator) {
+        super(cancellationToken);
+        this.buildOperationExecutor = buildOperationExecutor;
+        this.crossProjectConfigurator = crossProjectConfigurator;
+    }
+
+    @Override
+    public void configureHierarchy(ProjectInternal project) {
+        configure(project);
+        List<ProjectInternal> subprojects = Lists.newArrayList();
+        for (Project subproject : project.getSubprojects()) {
+            subprojects.add((ProjectInternal) subproject);
+        }
+        configureAll(subprojects);
+    }
+
+    /**
+     * Configures the given projects one depth level at a time, so that a project is configured after those of the given projects that are its ancestors.
+     */
+    @Override
+    public void configureAll(Collection<? extends ProjectInternal> projects) {
+        for (List<ProjectInternal> projectsAtDepth : byDepth(projects).values()) {
+            if (projectsAtDepth.size() == 1) {
+                configure(projectsAtDepth.get(0));
+            } else {
+                configureConcurrently(projectsAtDepth);
+            }
+        }
+    }
+
+    private void configureConcurrently(final List<ProjectInternal> projects) {
+        try {
+            buildOperationExecutor.runAll(new Action<BuildOperationQueue<RunnableBuildOperation>>() {
+                @Override
+                public void execute(BuildOperationQueue<RunnableBuildOperation> queue) {
+                    for (ProjectInternal project : projects) {
+                        queue.add(new ConfigureProjectConcurrently(project));
+                    }
+                }
+            });
+        } catch (MultipleBuildOperationFailures e) {
+            // Report a single failure the same way as when configuring serially
+            if (e.getCauses().size() == 1) {
+                throw UncheckedException.throwAsUncheckedException(e.getCauses().get(0));
+            }
+            throw e;
+        }
+    }
+
+    private static SortedMap<Integer, List<ProjectInternal>> byDepth(Collection<? extends ProjectInternal> projects) {
+        SortedMap<Integer, List<ProjectInternal>> projectsByDepth = new TreeMap<Integer, List<ProjectInternal>>();
+        for (ProjectInternal project : projects) {
+            List<ProjectInternal> projectsAtDepth = projectsByDepth.get(project.getDepth());
+            if (projectsAtDepth == null) {
+                projectsAtDepth = Lists.newArrayList();
+                projectsByDepth.put(project.getDepth(), projectsAtDepth);
+            }
+            projectsAtDepth.add(project);
+        }
+        return projectsByDepth;
+    }
+
+    private class ConfigureProjectConcurrently implements RunnableBuildOperation {
+        private final ProjectInternal project;
+
+        ConfigureProjectConcurrently(ProjectInternal project) {
+            this.project = project;
+        }
+
+        @Override
+        public void run(BuildOperationContext context) {
+            crossProjectConfigurator.configureConcurrently(project, new Runnable() {
+                @Override
+                public void run() {
+                    configure(project);
+                }
+            });
+        }
+
+        @Override
+        public BuildOperationDescriptor.Builder description() {
+            return BuildOperationDescriptor.displayName("Configure " + project.getIdentityPath() + " concurrently");
+        }
+    }
+}
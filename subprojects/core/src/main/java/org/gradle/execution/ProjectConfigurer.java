@@ -18,12 +18,19 @@ package org.gradle.execution;
 
 import org.gradle.api.internal.project.ProjectInternal;
 
+import java.util.Collection;
+
 public interface ProjectConfigurer {
     /**
      * Configures the given project.
      */
     void configure(ProjectInternal project);
 
+    /**
+     * Configures the given projects, which do not need to belong to the same hierarchy.
+     */
+    void configureAll(Collection<? extends ProjectInternal> projects);
+
     /*
      * Configures the project, discovers tasks and binds model rules.
      */
@@ -15,13 +15,18 @@
  */
 package org.gradle.execution;
 
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import org.gradle.TaskExecutionRequest;
+import org.gradle.api.Task;
 import org.gradle.api.internal.GradleInternal;
+import org.gradle.api.internal.project.ProjectInternal;
 import org.gradle.execution.commandline.CommandLineTaskParser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * A {@link BuildConfigurationAction} which selects tasks which match the provided names. For each name, selects all tasks in all
@@ -30,9 +35,11 @@ import java.util.List;
 public class TaskNameResolvingBuildConfigurationAction implements BuildConfigurationAction {
     private static final Logger LOGGER = LoggerFactory.getLogger(TaskNameResolvingBuildConfigurationAction.class);
     private final CommandLineTaskParser commandLineTaskParser;
+    private final DeclaredProjectDependencyConfigurer projectDependencyConfigurer;
 
-    public TaskNameResolvingBuildConfigurationAction(CommandLineTaskParser commandLineTaskParser) {
+    public TaskNameResolvingBuildConfigurationAction(CommandLineTaskParser commandLineTaskParser, DeclaredProjectDependencyConfigurer projectDependencyConfigurer) {
         this.commandLineTaskParser = commandLineTaskParser;
+        this.projectDependencyConfigurer = projectDependencyConfigurer;
     }
 
     public void configure(BuildExecutionContext context) {
@@ -40,14 +47,30 @@ public class TaskNameResolvingBuildConfigurationAction implements BuildConfigura
         TaskExecutionGraphInternal taskGraph = gradle.getTaskGraph();
 
         List<TaskExecutionRequest> taskParameters = gradle.getStartParameter().getTaskRequests();
+        List<Set<Task>> selectedTasks = Lists.newArrayList();
         for (TaskExecutionRequest taskParameter : taskParameters) {
             List<TaskSelector.TaskSelection> taskSelections = commandLineTaskParser.parseTasks(taskParameter);
             for (TaskSelector.TaskSelection taskSelection : taskSelections) {
                 LOGGER.info("Selected primary task '{}' from project {}", taskSelection.getTaskName(), taskSelection.getProjectPath());
-                taskGraph.addTasks(taskSelection.getTasks());
+                selectedTasks.add(taskSelection.getTasks());
             }
         }
 
+        if (!selectedTasks.isEmpty() && gradle.getStartParameter().isConfigureOnDemand()) {
+            // Configure the projects the selected tasks depend on up front, rather than one at a time while calculating the task graph
+            Set<ProjectInternal> projects = Sets.newLinkedHashSet();
+            for (Set<Task> tasks : selectedTasks) {
+                for (Task task : tasks) {
+                    projects.add((ProjectInternal) task.getProject());
+                }
+            }
+            projectDependencyConfigurer.configureDependenciesOf(projects);
+        }
+
+        for (Set<Task> tasks : selectedTasks) {
+            taskGraph.addTasks(tasks);
+        }
+
         context.proceed();
     }
 
@@ -21,6 +21,8 @@ import org.gradle.api.Project;
 import org.gradle.api.internal.project.ProjectInternal;
 import org.gradle.initialization.BuildCancellationToken;
 
+import java.util.Collection;
+
 public class TaskPathProjectEvaluator implements ProjectConfigurer {
     private final BuildCancellationToken cancellationToken;
 
@@ -35,6 +37,13 @@ public class TaskPathProjectEvaluator implements ProjectConfigurer {
         project.evaluate();
     }
 
+    @Override
+    public void configureAll(Collection<? extends ProjectInternal> projects) {
+        for (ProjectInternal project : projects) {
+            configure(project);
+        }
+    }
+
     @Override
     public void configureFully(ProjectInternal project) {
         configure(project);
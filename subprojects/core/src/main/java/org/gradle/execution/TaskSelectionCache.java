@@ -0,0 +1,54 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.execution;
+
+import org.gradle.api.Task;
+import org.gradle.api.internal.GradleInternal;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Remembers which tasks were selected by a task name in a previous build, so that a build with unchanged build logic
+ * only needs to configure the projects containing these tasks instead of the whole project hierarchy.
+ */
+public interface TaskSelectionCache {
+    TaskSelectionCache NONE = new TaskSelectionCache() {
+        @Nullable
+        @Override
+        public List<String> getSelectedTaskPaths(GradleInternal gradle, String projectPath, String taskName) {
+            return null;
+        }
+
+        @Override
+        public void selected(GradleInternal gradle, String projectPath, String taskName, Collection<? extends Task> tasks) {
+        }
+    };
+
+    /**
+     * Returns the paths of the tasks that the given task name selected in the given project and its sub-projects in a previous build,
+     * or null when this is not known or the build logic has changed since.
+     */
+    @Nullable
+    List<String> getSelectedTaskPaths(GradleInternal gradle, String projectPath, String taskName);
+
+    /**
+     * Records the tasks that the given task name selected in the given project and its sub-projects.
+     */
+    void selected(GradleInternal gradle, String projectPath, String taskName, Collection<? extends Task> tasks);
+}
@@ -15,6 +15,7 @@
  */
 package org.gradle.execution;
 
+import com.google.common.collect.Sets;
 import org.gradle.api.Project;
 import org.gradle.api.Task;
 import org.gradle.api.internal.GradleInternal;
@@ -27,8 +28,10 @@ import org.gradle.util.NameMatcher;
 
 import javax.annotation.Nullable;
 import java.io.File;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -36,16 +39,22 @@ public class TaskSelector {
     private final TaskNameResolver taskNameResolver;
     private final GradleInternal gradle;
     private final ProjectConfigurer configurer;
+    private final TaskSelectionCache taskSelectionCache;
     private final TaskPathResolver taskPathResolver = new TaskPathResolver();
 
-    public TaskSelector(GradleInternal gradle, ProjectConfigurer projectConfigurer) {
-        this(gradle, new TaskNameResolver(), projectConfigurer);
+    public TaskSelector(GradleInternal gradle, ProjectConfigurer projectConfigurer, TaskSelectionCache taskSelectionCache) {
+        this(gradle, new TaskNameResolver(), projectConfigurer, taskSelectionCache);
     }
 
     public TaskSelector(GradleInternal gradle, TaskNameResolver taskNameResolver, ProjectConfigurer configurer) {
+        this(gradle, taskNameResolver, configurer, TaskSelectionCache.NONE);
+    }
+
+    public TaskSelector(GradleInternal gradle, TaskNameResolver taskNameResolver, ProjectConfigurer configurer, TaskSelectionCache taskSelectionCache) {
         this.taskNameResolver = taskNameResolver;
         this.gradle = gradle;
         this.configurer = configurer;
+        this.taskSelectionCache = taskSelectionCache;
     }
 
     public TaskSelection getSelection(String path) {
@@ -97,13 +106,21 @@ public class TaskSelector {
         if (taskPath.isQualified()) {
             configurer.configure(targetProject);
         } else {
+            TaskSelectionResult cachedTasks = getPreviouslySelectedTasks(targetProject, taskPath.getTaskName());
+            if (cachedTasks != null) {
+                return new TaskSelection(targetProject.getPath(), path, cachedTasks);
+            }
             configurer.configureHierarchy(targetProject);
         }
 
         TaskSelectionResult tasks = taskNameResolver.selectWithName(taskPath.getTaskName(), taskPath.getProject(), !taskPath.isQualified());
         if (tasks != null) {
             // An exact match
-            return new TaskSelection(taskPath.getProject().getPath(), path, tasks);
+            TaskSelection selection = new TaskSelection(taskPath.getProject().getPath(), path, tasks);
+            if (!taskPath.isQualified()) {
+                taskSelectionCache.selected(gradle, targetProject.getPath(), taskPath.getTaskName(), selection.getTasks());
+            }
+            return selection;
         }
 
         Map<String, TaskSelectionResult> tasksByName = taskNameResolver.selectAll(taskPath.getProject(), !taskPath.isQualified());
@@ -116,6 +133,33 @@ public class TaskSelector {
         throw new TaskSelectionException(matcher.formatErrorMessage("task", taskPath.getProject()));
     }
 
+    /**
+     * Configures only the projects containing the tasks the given name selected in a previous build, if the build has not changed since.
+     */
+    @Nullable
+    private TaskSelectionResult getPreviouslySelectedTasks(ProjectInternal targetProject, String taskName) {
+        List<String> taskPaths = taskSelectionCache.getSelectedTaskPaths(gradle, targetProject.getPath(), taskName);
+        if (taskPaths == null) {
+            return null;
+        }
+        final Set<Task> tasks = Sets.newLinkedHashSet();
+        for (String path : taskPaths) {
+            ResolvedTaskPath taskPath = taskPathResolver.resolvePath(path, gradle.getRootProject());
+            configurer.configure(taskPath.getProject());
+            TaskSelectionResult selected = taskNameResolver.selectWithName(taskPath.getTaskName(), taskPath.getProject(), false);
+            if (selected == null) {
+                return null;
+            }
+            selected.collectTasks(tasks);
+        }
+        return new TaskSelectionResult() {
+            @Override
+            public void collectTasks(Collection<? super Task> result) {
+                result.addAll(tasks);
+            }
+        };
+    }
+
     public static class TaskSelection {
         private final String projectPath;
         private final String taskName;
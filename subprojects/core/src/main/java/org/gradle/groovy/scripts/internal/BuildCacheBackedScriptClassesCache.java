@@ -0,0 +1,204 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.groovy.scripts.internal;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.io.Files;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.caching.BuildCacheKey;
+import org.gradle.caching.internal.controller.BuildCacheController;
+import org.gradle.caching.internal.controller.BuildCacheLoadCommand;
+import org.gradle.caching.internal.controller.BuildCacheStoreCommand;
+import org.gradle.internal.hash.HashCode;
+import org.gradle.util.GFileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * A {@link ScriptClassesBuildCache} that stores compiled scripts in the build cache, as a zip of the flat classes and metadata directories.
+ *
+ * <p>Failures to load or store an entry are logged and otherwise ignored, so that the script is compiled locally instead.</p>
+ */
+public class BuildCacheBackedScriptClassesCache implements ScriptClassesBuildCache {
+    private static final Logger LOGGER = Logging.getLogger(BuildCacheBackedScriptClassesCache.class);
+    private static final String CLASSES = "classes/";
+    private static final String METADATA = "metadata/";
+
+    private final BuildCacheController buildCacheController;
+
+    public BuildCacheBackedScriptClassesCache(BuildCacheController buildCacheController) {
+        this.buildCacheController = buildCacheController;
+    }
+
+    @Override
+    public boolean load(HashCode key, String displayName, final File classesDir, final File metadataDir) {
+        final ScriptClassesKey cacheKey = new ScriptClassesKey(key, displayName);
+        try {
+            Boolean loaded = buildCacheController.load(new BuildCacheLoadCommand<Boolean>() {
+                @Override
+                public BuildCacheKey getKey() {
+                    return cacheKey;
+                }
+
+                @Override
+                public Result<Boolean> load(InputStream inputStream) throws IOException {
+                    final long entries = unpack(inputStream, classesDir, metadataDir);
+                    return new Result<Boolean>() {
+                        @Override
+                        public long getArtifactEntryCount() {
+                            return entries;
+                        }
+
+                        @Override
+                        public Boolean getMetadata() {
+                            return Boolean.TRUE;
+                        }
+                    };
+                }
+            });
+            return loaded != null;
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not load {} from the build cache, compiling it instead.", cacheKey.getDisplayName(), e);
+            GFileUtils.deleteDirectory(classesDir);
+            GFileUtils.deleteDirectory(metadataDir);
+            return false;
+        }
+    }
+
+    @Override
+    public void store(HashCode key, String displayName, final File classesDir, final File metadataDir) {
+        final ScriptClassesKey cacheKey = new ScriptClassesKey(key, displayName);
+        try {
+            buildCacheController.store(new BuildCacheStoreCommand() {
+                @Override
+                public BuildCacheKey getKey() {
+                    return cacheKey;
+                }
+
+                @Override
+                public Result store(OutputStream outputStream) throws IOException {
+                    final long entries = pack(outputStream, classesDir, metadataDir);
+                    return new Result() {
+                        @Override
+                        public long getArtifactEntryCount() {
+                            return entries;
+                        }
+                    };
+                }
+            });
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not store {} in the build cache.", cacheKey.getDisplayName(), e);
+        }
+    }
+
+    static long pack(OutputStream outputStream, File classesDir, File metadataDir) throws IOException {
+        ZipOutputStream zipOutput = new ZipOutputStream(outputStream);
+        try {
+            long entries = packDir(zipOutput, CLASSES, classesDir);
+            entries += packDir(zipOutput, METADATA, metadataDir);
+            return entries;
+        } finally {
+            zipOutput.close();
+        }
+    }
+
+    private static long packDir(ZipOutputStream zipOutput, String prefix, File dir) throws IOException {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return 0;
+        }
+        long entries = 0;
+        for (File file : files) {
+            if (!file.isFile()) {
+                throw new IOException("Unexpected directory in compiled script: " + file);
+            }
+            zipOutput.putNextEntry(new ZipEntry(prefix + file.getName()));
+            Files.copy(file, zipOutput);
+            zipOutput.closeEntry();
+            entries++;
+        }
+        return entries;
+    }
+
+    static long unpack(InputStream inputStream, File classesDir, File metadataDir) throws IOException {
+        GFileUtils.deleteDirectory(classesDir);
+        GFileUtils.deleteDirectory(metadataDir);
+        GFileUtils.mkdirs(classesDir);
+        GFileUtils.mkdirs(metadataDir);
+        ZipInputStream zipInput = new ZipInputStream(inputStream);
+        try {
+            long entries = 0;
+            ZipEntry entry;
+            while ((entry = zipInput.getNextEntry()) != null) {
+                String name = entry.getName();
+                File target;
+                if (name.startsWith(CLASSES)) {
+                    target = new File(classesDir, name.substring(CLASSES.length()));
+                } else if (name.startsWith(METADATA)) {
+                    target = new File(metadataDir, name.substring(METADATA.length()));
+                } else {
+                    throw new IOException("Unexpected entry in compiled script: " + name);
+                }
+                if (!target.getParentFile().equals(classesDir) && !target.getParentFile().equals(metadataDir)) {
+                    throw new IOException("Unexpected entry in compiled script: " + name);
+                }
+                OutputStream output = Files.asByteSink(target).openBufferedStream();
+                try {
+                    ByteStreams.copy(zipInput, output);
+                } finally {
+                    output.close();
+                }
+                entries++;
+            }
+            return entries;
+        } finally {
+            zipInput.close();
+        }
+    }
+
+    private static class ScriptClassesKey implements BuildCacheKey {
+        private final HashCode hashCode;
+        private final String displayName;
+
+        ScriptClassesKey(HashCode hashCode, String displayName) {
+            this.hashCode = hashCode;
+            this.displayName = displayName;
+        }
+
+        @Override
+        public String getHashCode() {
+            return hashCode.toString();
+        }
+
+        @Override
+        public String getDisplayName() {
+            return hashCode + " for " + displayName;
+        }
+
+        @Override
+        public String toString() {
+            return hashCode.toString();
+        }
+    }
+}
@@ -29,11 +29,13 @@ import org.gradle.groovy.scripts.ScriptSource;
 import org.gradle.internal.UncheckedException;
 import org.gradle.internal.classloader.ClassLoaderHierarchyHasher;
 import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.hash.Hasher;
 import org.gradle.internal.hash.HashUtil;
 import org.gradle.internal.hash.Hashing;
 import org.gradle.internal.logging.progress.ProgressLogger;
 import org.gradle.internal.logging.progress.ProgressLoggerFactory;
 import org.gradle.model.dsl.internal.transform.RuleVisitor;
+import org.gradle.util.GradleVersion;
 import org.objectweb.asm.AnnotationVisitor;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassVisitor;
@@ -60,6 +62,7 @@ public class FileCacheBackedScriptClassCompiler implements ScriptClassCompiler,
     private final ScriptSourceHasher hasher;
     private final ClassLoaderCache classLoaderCache;
     private final ClassLoaderHierarchyHasher classLoaderHierarchyHasher;
+    private volatile ScriptClassesBuildCache buildCache = ScriptClassesBuildCache.NONE;
 
     public FileCacheBackedScriptClassCompiler(CacheRepository cacheRepository, CacheValidator validator, ScriptCompilationHandler scriptCompilationHandler,
                                               ProgressLoggerFactory progressLoggerFactory, ScriptSourceHasher hasher, ClassLoaderCache classLoaderCache,
@@ -73,6 +76,13 @@ public class FileCacheBackedScriptClassCompiler implements ScriptClassCompiler,
         this.classLoaderHierarchyHasher = classLoaderHierarchyHasher;
     }
 
+    /**
+     * Uses the given cache to share the generic, relocatable classes of compiled scripts with other machines and checkouts.
+     */
+    public void setBuildCache(ScriptClassesBuildCache buildCache) {
+        this.buildCache = buildCache;
+    }
+
     @Override
     public <T extends Script, M> CompiledScript<T, M> compile(final ScriptSource source,
                                                               final ClassLoader classLoader,
@@ -140,10 +150,12 @@ public class FileCacheBackedScriptClassCompiler implements ScriptClassCompiler,
         private final ClassLoader classLoader;
         private final CompileOperation<?> transformer;
         private final ScriptSource source;
+        private final HashCode buildCacheKey;
 
-        public <T extends Script> CompileToCrossBuildCacheAction(ScriptSource source, ClassLoader classLoader, CompileOperation<?> transformer,
+        public <T extends Script> CompileToCrossBuildCacheAction(ScriptSource source, HashCode buildCacheKey, ClassLoader classLoader, CompileOperation<?> transformer,
                                                                  Action<? super ClassNode> verifier, Class<T> scriptBaseClass) {
             this.source = source;
+            this.buildCacheKey = buildCacheKey;
             this.classLoader = classLoader;
             this.transformer = transformer;
             this.verifier = verifier;
@@ -153,7 +165,13 @@ public class FileCacheBackedScriptClassCompiler implements ScriptClassCompiler,
         public void execute(PersistentCache cache) {
             File classesDir = classesDir(cache);
             File metadataDir = metadataDir(cache);
+            ScriptClassesBuildCache buildCache = FileCacheBackedScriptClassCompiler.this.buildCache;
+            String displayName = transformer.getId() + " classes of " + source.getDisplayName();
+            if (validator.isValid() && buildCache.load(buildCacheKey, displayName, classesDir, metadataDir)) {
+                return;
+            }
             scriptCompilationHandler.compileToDir(source, classLoader, classesDir, metadataDir, transformer, scriptBaseClass, verifier);
+            buildCache.store(buildCacheKey, displayName, classesDir, metadataDir);
         }
     }
 
@@ -404,7 +422,7 @@ public class FileCacheBackedScriptClassCompiler implements ScriptClassCompiler,
                 .withDisplayName(dslId + " generic class cache for " + source.getDisplayName())
                 .withInitializer(new ProgressReportingInitializer(
                     progressLoggerFactory,
-                    new CompileToCrossBuildCacheAction(remapped, classLoader, operation, verifier, scriptBaseClass),
+                    new CompileToCrossBuildCacheAction(remapped, buildCacheKey(), classLoader, operation, verifier, scriptBaseClass),
                     "Compiling script into cache",
                     "Compiling " + source.getDisplayName() + " to cross build script cache"))
                 .open();
@@ -418,6 +436,14 @@ public class FileCacheBackedScriptClassCompiler implements ScriptClassCompiler,
             }
         }
 
+        private HashCode buildCacheKey() {
+            Hasher hasher = Hashing.md5().newHasher();
+            hasher.putString(GradleVersion.current().getVersion());
+            hasher.putString(sourceHash);
+            hasher.putString(classpathHash);
+            return hasher.hash();
+        }
+
         private void remapClasses(File scriptCacheDir, File relocalizedDir, RemappingScriptSource source) {
             ScriptSource origin = source.getSource();
             String className = origin.getClassName();
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.groovy.scripts.internal;
+
+import org.gradle.internal.hash.HashCode;
+
+import java.io.File;
+
+/**
+ * Shares compiled script classes between machines and checkouts, keyed by the content of the script and of its compile classpath.
+ */
+public interface ScriptClassesBuildCache {
+    ScriptClassesBuildCache NONE = new ScriptClassesBuildCache() {
+        @Override
+        public boolean load(HashCode key, String displayName, File classesDir, File metadataDir) {
+            return false;
+        }
+
+        @Override
+        public void store(HashCode key, String displayName, File classesDir, File metadataDir) {
+        }
+    };
+
+    /**
+     * Loads the classes and metadata of a compiled script into the given directories.
+     *
+     * @return true when the script was found, false when it needs to be compiled.
+     */
+    boolean load(HashCode key, String displayName, File classesDir, File metadataDir);
+
+    /**
+     * Stores the classes and metadata of a freshly compiled script.
+     */
+    void store(HashCode key, String displayName, File classesDir, File metadataDir);
+}
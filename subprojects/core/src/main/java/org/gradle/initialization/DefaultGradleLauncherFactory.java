@@ -21,6 +21,7 @@ import org.gradle.BuildResult;
 import org.gradle.StartParameter;
 import org.gradle.api.internal.BuildDefinition;
 import org.gradle.api.internal.ExceptionAnalyser;
+import org.gradle.api.internal.GeneratedClassCache;
 import org.gradle.api.internal.GradleInternal;
 import org.gradle.api.internal.tasks.execution.statistics.TaskExecutionStatisticsEventAdapter;
 import org.gradle.api.logging.Logging;
@@ -30,6 +31,7 @@ import org.gradle.configuration.BuildConfigurer;
 import org.gradle.deployment.internal.DefaultDeploymentRegistry;
 import org.gradle.execution.BuildConfigurationActionExecuter;
 import org.gradle.execution.BuildExecuter;
+import org.gradle.execution.TaskSelectionCache;
 import org.gradle.internal.InternalBuildAdapter;
 import org.gradle.internal.build.BuildState;
 import org.gradle.internal.build.NestedBuildState;
@@ -153,6 +155,12 @@ public class DefaultGradleLauncherFactory implements GradleLauncherFactory {
             listenerManager.addListener(new ReportGeneratingProfileListener(serviceRegistry.get(StyledTextOutputFactory.class)));
         }
 
+        if (parent == null) {
+            // Create the caches up front, so that they see all scripts and decorated classes used by the build
+            serviceRegistry.get(TaskSelectionCache.class);
+            serviceRegistry.get(GeneratedClassCache.class);
+        }
+
         ScriptUsageLocationReporter usageLocationReporter = new ScriptUsageLocationReporter();
         listenerManager.addListener(usageLocationReporter);
         ShowStacktrace showStacktrace = startParameter.getShowStacktrace();
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.initialization;
+
+import org.gradle.StartParameter;
+import org.gradle.api.internal.GradleInternal;
+import org.gradle.api.internal.SettingsInternal;
+import org.gradle.api.internal.StartParameterInternal;
+import org.gradle.api.internal.initialization.ClassLoaderScope;
+import org.gradle.caching.internal.controller.BuildCacheController;
+import org.gradle.groovy.scripts.internal.BuildCacheBackedScriptClassesCache;
+import org.gradle.groovy.scripts.internal.FileCacheBackedScriptClassCompiler;
+
+/**
+ * Lets the script compiler use the build cache once it has been configured by the settings script.
+ */
+public class ScriptBuildCacheSettingsProcessor implements SettingsProcessor {
+
+    private final SettingsProcessor delegate;
+    private final FileCacheBackedScriptClassCompiler scriptClassCompiler;
+
+    public ScriptBuildCacheSettingsProcessor(SettingsProcessor delegate, FileCacheBackedScriptClassCompiler scriptClassCompiler) {
+        this.delegate = delegate;
+        this.scriptClassCompiler = scriptClassCompiler;
+    }
+
+    @Override
+    public SettingsInternal process(GradleInternal gradle, SettingsLocation settingsLocation, ClassLoaderScope buildRootClassLoaderScope, StartParameter startParameter) {
+        SettingsInternal settings = delegate.process(gradle, settingsLocation, buildRootClassLoaderScope, startParameter);
+
+        if (((StartParameterInternal) startParameter).isScriptBuildCache()) {
+            BuildCacheController buildCacheController = gradle.getServices().get(BuildCacheController.class);
+            if (buildCacheController.isEnabled()) {
+                scriptClassCompiler.setBuildCache(new BuildCacheBackedScriptClassesCache(buildCacheController));
+            }
+        }
+
+        return settings;
+    }
+}
@@ -55,6 +55,10 @@ public class StartParameterBuildOptions {
         options.add(new ExcludeTaskOption());
         options.add(new IncludeBuildOption());
         options.add(new ConfigureOnDemandOption());
+        options.add(new TaskSelectionCacheOption());
+        options.add(new ParallelProjectConfigurationOption());
+        options.add(new ParallelScriptCompilationOption());
+        options.add(new ScriptBuildCacheOption());
         options.add(new BuildCacheOption());
         options.add(new BuildCacheDebugLoggingOption());
         options.add(new BuildScanOption());
@@ -268,6 +272,58 @@ public class StartParameterBuildOptions {
         }
     }
 
+    public static class TaskSelectionCacheOption extends BooleanBuildOption<StartParameterInternal> {
+        public static final String GRADLE_PROPERTY = "org.gradle.unsafe.task-selection-cache";
+
+        public TaskSelectionCacheOption() {
+            super(GRADLE_PROPERTY);
+        }
+
+        @Override
+        public void applyTo(boolean value, StartParameterInternal settings, Origin origin) {
+            settings.setTaskSelectionCache(value);
+        }
+    }
+
+    public static class ParallelProjectConfigurationOption extends BooleanBuildOption<StartParameterInternal> {
+        public static final String GRADLE_PROPERTY = "org.gradle.unsafe.parallel-configuration";
+
+        public ParallelProjectConfigurationOption() {
+            super(GRADLE_PROPERTY);
+        }
+
+        @Override
+        public void applyTo(boolean value, StartParameterInternal settings, Origin origin) {
+            settings.setParallelProjectConfiguration(value);
+        }
+    }
+
+    public static class ParallelScriptCompilationOption extends BooleanBuildOption<StartParameterInternal> {
+        public static final String GRADLE_PROPERTY = "org.gradle.unsafe.parallel-script-compilation";
+
+        public ParallelScriptCompilationOption() {
+            super(GRADLE_PROPERTY);
+        }
+
+        @Override
+        public void applyTo(boolean value, StartParameterInternal settings, Origin origin) {
+            settings.setParallelScriptCompilation(value);
+        }
+    }
+
+    public static class ScriptBuildCacheOption extends BooleanBuildOption<StartParameterInternal> {
+        public static final String GRADLE_PROPERTY = "org.gradle.unsafe.script-build-cache";
+
+        public ScriptBuildCacheOption() {
+            super(GRADLE_PROPERTY);
+        }
+
+        @Override
+        public void applyTo(boolean value, StartParameterInternal settings, Origin origin) {
+            settings.setScriptBuildCache(value);
+        }
+    }
+
     public static class BuildCacheOption extends BooleanBuildOption<StartParameterInternal> {
         public static final String GRADLE_PROPERTY = "org.gradle.caching";
 
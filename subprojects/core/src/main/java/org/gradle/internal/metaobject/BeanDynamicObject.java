@@ -15,6 +15,7 @@
  */
 package org.gradle.internal.metaobject;
 
+import com.google.common.base.Optional;
 import groovy.lang.GroovyObject;
 import groovy.lang.GroovySystem;
 import groovy.lang.MetaBeanProperty;
@@ -328,16 +329,29 @@ public class BeanDynamicObject extends AbstractDynamicObject {
          * MetaClass.getMetaProperty(name) is very expensive when the property is not known.
          * Instead, we reach into the meta class to call a much more efficient lookup method.
          * Since we do this in a hot code path, we also reuse the argument array used for the
-         * reflective call to save memory.
+         * reflective call to save memory. The result is cached per meta-class, as the same few
+         * properties are looked up over and over again on the instances of a type.
          */
         @Nullable
         protected MetaProperty lookupProperty(MetaClass metaClass, String name) {
             if (metaClass instanceof MetaClassImpl) {
+                MetaClassLookupCache.Lookups lookups = MetaClassLookupCache.of(metaClass);
+                if (lookups != null) {
+                    Optional<MetaProperty> cached = lookups.getProperty(name);
+                    if (cached != null) {
+                        return cached.orNull();
+                    }
+                }
+                MetaProperty property;
                 try {
-                    return (MetaProperty) META_PROP_METHOD.invoke(metaClass, name, false);
+                    property = (MetaProperty) META_PROP_METHOD.invoke(metaClass, name, false);
                 } catch (Throwable e) {
                     throw UncheckedException.throwAsUncheckedException(e);
                 }
+                if (lookups != null) {
+                    lookups.putProperty(name, property);
+                }
+                return property;
             }
 
             // Some other meta-class implementation - fall back to the public API
@@ -508,7 +522,17 @@ public class BeanDynamicObject extends AbstractDynamicObject {
 
         @Nullable
         protected MetaMethod lookupMethod(MetaClass metaClass, String name, Class[] arguments) {
-            return metaClass.pickMethod(name, arguments);
+            MetaClassLookupCache.Lookups lookups = MetaClassLookupCache.of(metaClass);
+            if (lookups == null) {
+                return metaClass.pickMethod(name, arguments);
+            }
+            Optional<MetaMethod> cached = lookups.getMethod(name, arguments);
+            if (cached != null) {
+                return cached.orNull();
+            }
+            MetaMethod method = metaClass.pickMethod(name, arguments);
+            lookups.putMethod(name, arguments, method);
+            return method;
         }
 
         protected DynamicInvokeResult invokeOpaqueMethod(MetaClass metaClass, String name, Object[] arguments) {
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.metaobject;
+
+import com.google.common.base.Optional;
+import groovy.lang.MetaClass;
+import groovy.lang.MetaClassImpl;
+import groovy.lang.MetaMethod;
+import groovy.lang.MetaProperty;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Remembers the properties and methods found, or not found, on a meta-class, so that the lookups made by {@link BeanDynamicObject}
+ * for each access to a DSL object are shared between all instances of the same type.
+ *
+ * <p>Only plain {@link MetaClassImpl} instances are cached, as these do not change once initialized. Other implementations, such as
+ * {@link groovy.lang.ExpandoMetaClass}, can have members added at any time. When the meta-class registered for a type is replaced,
+ * for example because the type is made extensible, the cached results for the previous meta-class are discarded.
+ *
+ * <p>The cache of a type lives as long as the type. So method lookups are only cached when all the argument types are visible from the
+ * ClassLoader of the type, for otherwise the cache would keep the ClassLoaders of these argument types, such as those of build scripts, alive.
+ */
+final class MetaClassLookupCache {
+    private static final ClassValue<MetaClassLookupCache> CACHES = new ClassValue<MetaClassLookupCache>() {
+        @Override
+        protected MetaClassLookupCache computeValue(Class<?> type) {
+            return new MetaClassLookupCache();
+        }
+    };
+
+    private volatile Lookups lookups;
+
+    private MetaClassLookupCache() {
+    }
+
+    /**
+     * Returns the cached lookups for the given meta-class, or null when the meta-class cannot be cached.
+     */
+    @Nullable
+    static Lookups of(MetaClass metaClass) {
+        if (metaClass.getClass() != MetaClassImpl.class) {
+            return null;
+        }
+        return CACHES.get(metaClass.getTheClass()).forMetaClass(metaClass);
+    }
+
+    private Lookups forMetaClass(MetaClass metaClass) {
+        Lookups current = lookups;
+        if (current == null || current.metaClass != metaClass) {
+            current = new Lookups(metaClass);
+            lookups = current;
+        }
+        return current;
+    }
+
+    static class Lookups {
+        private final MetaClass metaClass;
+        private final ClassLoader classLoader;
+        private final ConcurrentMap<String, Optional<MetaProperty>> properties = new ConcurrentHashMap<String, Optional<MetaProperty>>();
+        private final ConcurrentMap<MethodSignature, Optional<MetaMethod>> methods = new ConcurrentHashMap<MethodSignature, Optional<MetaMethod>>();
+
+        private Lookups(MetaClass metaClass) {
+            this.metaClass = metaClass;
+            this.classLoader = metaClass.getTheClass().getClassLoader();
+        }
+
+        /**
+         * Returns the result of a previous lookup of the given property, or null when the property has not been looked up yet.
+         */
+        @Nullable
+        Optional<MetaProperty> getProperty(String name) {
+            return properties.get(name);
+        }
+
+        void putProperty(String name, @Nullable MetaProperty property) {
+            properties.putIfAbsent(name, Optional.fromNullable(property));
+        }
+
+        /**
+         * Returns the result of a previous lookup of the given method, or null when the method has not been looked up yet.
+         */
+        @Nullable
+        Optional<MetaMethod> getMethod(String name, Class[] arguments) {
+            return methods.get(new MethodSignature(name, arguments));
+        }
+
+        void putMethod(String name, Class[] arguments, @Nullable MetaMethod method) {
+            for (Class argument : arguments) {
+                if (argument != null && !isVisible(argument.getClassLoader())) {
+                    return;
+                }
+            }
+            methods.putIfAbsent(new MethodSignature(name, arguments.clone()), Optional.fromNullable(method));
+        }
+
+        private boolean isVisible(@Nullable ClassLoader argumentClassLoader) {
+            if (argumentClassLoader == null) {
+                return true;
+            }
+            for (ClassLoader candidate = classLoader; candidate != null; candidate = candidate.getParent()) {
+                if (candidate == argumentClassLoader) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static class MethodSignature {
+        private final String name;
+        private final Class[] arguments;
+        private final int hashCode;
+
+        MethodSignature(String name, Class[] arguments) {
+            this.name = name;
+            this.arguments = arguments;
+            this.hashCode = 31 * name.hashCode() + Arrays.hashCode(arguments);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (obj == null || obj.getClass() != getClass()) {
+                return false;
+            }
+            MethodSignature other = (MethodSignature) obj;
+            return name.equals(other.name) && Arrays.equals(arguments, other.arguments);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -24,6 +24,7 @@ import org.gradle.api.file.FileVisitDetails;
 import org.gradle.api.internal.file.collections.MinimalFileTree;
 import org.gradle.api.internal.file.collections.SingleIncludePatternFileTree;
 import org.gradle.internal.UncheckedException;
+import org.gradle.internal.hash.HashValue;
 import org.gradle.util.GFileUtils;
 import org.gradle.util.RelativePathUtil;
 
@@ -101,6 +102,11 @@ public class DefaultPathKeyFileStore implements PathKeyFileStore {
         }
     }
 
+    @Override
+    public LocallyAvailableResource move(String path, File source, HashValue sha1) {
+        return move(path, source);
+    }
+
     @Override
     public LocallyAvailableResource move(String path, final File source) {
         if (!source.exists()) {
@@ -19,6 +19,7 @@ import org.gradle.api.Action;
 import org.gradle.api.Namer;
 import org.gradle.api.internal.file.TemporaryFileProvider;
 import org.gradle.internal.hash.HashUtil;
+import org.gradle.internal.hash.HashValue;
 
 import java.io.File;
 import java.util.Set;
@@ -45,7 +46,12 @@ public class GroupedAndNamedUniqueFileStore<K> implements FileStore<K>, FileStor
     }
 
     public LocallyAvailableResource move(K key, File source) {
-        return markAccessed(delegate.move(toPath(key, getChecksum(source)), source));
+        return move(key, source, HashUtil.sha1(source));
+    }
+
+    public LocallyAvailableResource move(K key, File source, HashValue sha1) {
+        LocallyAvailableResource resource = delegate.move(toPath(key, sha1.asHexString()), source);
+        return markAccessed(new DefaultLocallyAvailableResource(resource.getFile(), sha1));
     }
 
     public Set<? extends LocallyAvailableResource> search(K key) {
@@ -19,6 +19,8 @@ package org.gradle.internal.service.scopes;
 import org.gradle.StartParameter;
 import org.gradle.api.Action;
 import org.gradle.api.Project;
+import org.gradle.api.Task;
+import org.gradle.api.execution.TaskExecutionAdapter;
 import org.gradle.api.internal.ClassGenerator;
 import org.gradle.api.internal.ClassPathRegistry;
 import org.gradle.api.internal.DefaultClassPathProvider;
@@ -26,6 +28,7 @@ import org.gradle.api.internal.DefaultClassPathRegistry;
 import org.gradle.api.internal.DependencyClassPathProvider;
 import org.gradle.api.internal.DocumentationRegistry;
 import org.gradle.api.internal.InstantiatorFactory;
+import org.gradle.api.internal.StartParameterInternal;
 import org.gradle.api.internal.artifacts.DefaultModule;
 import org.gradle.api.internal.artifacts.DependencyManagementServices;
 import org.gradle.api.internal.artifacts.Module;
@@ -46,6 +49,7 @@ import org.gradle.api.internal.initialization.loadercache.ClassLoaderCache;
 import org.gradle.api.internal.plugins.DefaultPluginRegistry;
 import org.gradle.api.internal.plugins.PluginInspector;
 import org.gradle.api.internal.plugins.PluginRegistry;
+import org.gradle.api.internal.project.CrossProjectConfigurator;
 import org.gradle.api.internal.project.DefaultProjectAccessListener;
 import org.gradle.api.internal.project.DefaultProjectRegistry;
 import org.gradle.api.internal.project.DefaultProjectTaskLister;
@@ -76,6 +80,7 @@ import org.gradle.api.internal.tasks.userinput.DefaultUserInputReader;
 import org.gradle.api.internal.tasks.userinput.NonInteractiveUserInputHandler;
 import org.gradle.api.internal.tasks.userinput.UserInputHandler;
 import org.gradle.api.provider.ProviderFactory;
+import org.gradle.api.tasks.TaskState;
 import org.gradle.cache.CacheRepository;
 import org.gradle.cache.CacheValidator;
 import org.gradle.cache.FileLockManager;
@@ -85,6 +90,7 @@ import org.gradle.configuration.DefaultBuildConfigurer;
 import org.gradle.configuration.DefaultInitScriptProcessor;
 import org.gradle.configuration.DefaultScriptPluginFactory;
 import org.gradle.configuration.ImportsReader;
+import org.gradle.configuration.ParallelBuildScriptCompiler;
 import org.gradle.configuration.ScriptPluginFactory;
 import org.gradle.configuration.ScriptPluginFactorySelector;
 import org.gradle.configuration.internal.UserCodeApplicationContext;
@@ -94,8 +100,11 @@ import org.gradle.configuration.project.DelayedConfigurationActions;
 import org.gradle.configuration.project.LifecycleProjectEvaluator;
 import org.gradle.configuration.project.PluginsProjectConfigureActions;
 import org.gradle.configuration.project.ProjectEvaluator;
+import org.gradle.execution.DefaultTaskSelectionCache;
+import org.gradle.execution.ParallelTaskPathProjectEvaluator;
 import org.gradle.execution.ProjectConfigurer;
 import org.gradle.execution.TaskPathProjectEvaluator;
+import org.gradle.execution.TaskSelectionCache;
 import org.gradle.groovy.scripts.DefaultScriptCompilerFactory;
 import org.gradle.groovy.scripts.ScriptCompilerFactory;
 import org.gradle.groovy.scripts.ScriptExecutionListener;
@@ -123,6 +132,7 @@ import org.gradle.initialization.ProjectAccessListener;
 import org.gradle.initialization.ProjectPropertySettingBuildLoader;
 import org.gradle.initialization.PropertiesLoadingSettingsProcessor;
 import org.gradle.initialization.RootBuildCacheControllerSettingsProcessor;
+import org.gradle.initialization.ScriptBuildCacheSettingsProcessor;
 import org.gradle.initialization.ScriptEvaluatingSettingsProcessor;
 import org.gradle.initialization.SettingsEvaluatedCallbackFiringSettingsProcessor;
 import org.gradle.initialization.SettingsFactory;
@@ -196,8 +206,17 @@ public class BuildScopeServices extends DefaultServiceRegistry {
         return new DefaultPublicBuildPath();
     }
 
-    protected TaskStatistics createTaskStatistics() {
-        return new TaskStatistics();
+    protected TaskStatistics createTaskStatistics(ListenerManager listenerManager) {
+        final TaskStatistics statistics = new TaskStatistics();
+        if (statistics.isCollecting()) {
+            listenerManager.addListener(new TaskExecutionAdapter() {
+                @Override
+                public void afterExecute(Task task, TaskState state) {
+                    statistics.executedTask();
+                }
+            });
+        }
+        return statistics;
     }
 
     protected ProjectRegistry<ProjectInternal> createProjectRegistry() {
@@ -306,8 +325,11 @@ public class BuildScopeServices extends DefaultServiceRegistry {
             classLoaderHierarchyHasher);
     }
 
-    protected ScriptPluginFactory createScriptPluginFactory(InstantiatorFactory instantiatorFactory, BuildOperationExecutor buildOperationExecutor, UserCodeApplicationContext userCodeApplicationContext) {
+    protected ScriptPluginFactory createScriptPluginFactory(InstantiatorFactory instantiatorFactory, BuildOperationExecutor buildOperationExecutor, UserCodeApplicationContext userCodeApplicationContext, StartParameter startParameter) {
         DefaultScriptPluginFactory defaultScriptPluginFactory = defaultScriptPluginFactory();
+        if (((StartParameterInternal) startParameter).isParallelScriptCompilation()) {
+            defaultScriptPluginFactory.setParallelBuildScriptCompiler(new ParallelBuildScriptCompiler(get(ScriptCompilerFactory.class), get(DocumentationRegistry.class), buildOperationExecutor));
+        }
         ScriptPluginFactorySelector.ProviderInstantiator instantiator = ScriptPluginFactorySelector.defaultProviderInstantiatorFor(instantiatorFactory.inject(this));
         ScriptPluginFactorySelector scriptPluginFactorySelector = new ScriptPluginFactorySelector(defaultScriptPluginFactory, instantiator, buildOperationExecutor, userCodeApplicationContext);
         defaultScriptPluginFactory.setScriptPluginFactory(scriptPluginFactorySelector);
@@ -365,23 +387,27 @@ public class BuildScopeServices extends DefaultServiceRegistry {
     }
 
     protected SettingsProcessor createSettingsProcessor(ScriptPluginFactory scriptPluginFactory, ScriptHandlerFactory scriptHandlerFactory, Instantiator instantiator,
-                                                        ServiceRegistryFactory serviceRegistryFactory, IGradlePropertiesLoader propertiesLoader, BuildOperationExecutor buildOperationExecutor) {
+                                                        ServiceRegistryFactory serviceRegistryFactory, IGradlePropertiesLoader propertiesLoader, BuildOperationExecutor buildOperationExecutor,
+                                                        FileCacheBackedScriptClassCompiler scriptClassCompiler) {
         return new BuildOperationSettingsProcessor(
-            new RootBuildCacheControllerSettingsProcessor(
-                new SettingsEvaluatedCallbackFiringSettingsProcessor(
-                    new PropertiesLoadingSettingsProcessor(
-                        new ScriptEvaluatingSettingsProcessor(
-                            scriptPluginFactory,
-                            new SettingsFactory(
-                                instantiator,
-                                serviceRegistryFactory,
-                                scriptHandlerFactory
+            new ScriptBuildCacheSettingsProcessor(
+                new RootBuildCacheControllerSettingsProcessor(
+                    new SettingsEvaluatedCallbackFiringSettingsProcessor(
+                        new PropertiesLoadingSettingsProcessor(
+                            new ScriptEvaluatingSettingsProcessor(
+                                scriptPluginFactory,
+                                new SettingsFactory(
+                                    instantiator,
+                                    serviceRegistryFactory,
+                                    scriptHandlerFactory
+                                ),
+                                propertiesLoader
                             ),
                             propertiesLoader
-                        ),
-                        propertiesLoader
+                        )
                     )
-                )
+                ),
+                scriptClassCompiler
             ),
             buildOperationExecutor);
     }
@@ -399,16 +425,28 @@ public class BuildScopeServices extends DefaultServiceRegistry {
         );
     }
 
-    protected ProjectConfigurer createProjectConfigurer(BuildCancellationToken cancellationToken) {
+    protected ProjectConfigurer createProjectConfigurer(BuildCancellationToken cancellationToken, StartParameter startParameter, BuildOperationExecutor buildOperationExecutor, CrossProjectConfigurator crossProjectConfigurator) {
+        if (startParameter.isParallelProjectExecutionEnabled() && ((StartParameterInternal) startParameter).isParallelProjectConfiguration()) {
+            return new ParallelTaskPathProjectEvaluator(cancellationToken, buildOperationExecutor, crossProjectConfigurator);
+        }
         return new TaskPathProjectEvaluator(cancellationToken);
     }
 
+    protected TaskSelectionCache createTaskSelectionCache(StartParameter startParameter, CacheRepository cacheRepository, FileHasher fileHasher, ClassLoaderHierarchyHasher classLoaderHierarchyHasher, ListenerManager listenerManager) {
+        if (!((StartParameterInternal) startParameter).isTaskSelectionCache()) {
+            return TaskSelectionCache.NONE;
+        }
+        DefaultTaskSelectionCache taskSelectionCache = new DefaultTaskSelectionCache(cacheRepository, fileHasher, classLoaderHierarchyHasher);
+        listenerManager.addListener(taskSelectionCache);
+        return taskSelectionCache;
+    }
+
     protected BuildConfigurer createBuildConfigurer(ProjectConfigurer projectConfigurer, BuildStateRegistry buildStateRegistry) {
         return new DefaultBuildConfigurer(projectConfigurer, buildStateRegistry);
     }
 
-    protected ProjectAccessListener createProjectAccessListener() {
-        return new DefaultProjectAccessListener();
+    protected ProjectAccessListener createProjectAccessListener(StartParameter startParameter) {
+        return new DefaultProjectAccessListener(startParameter.isConfigureOnDemand());
     }
 
     protected ProfileEventAdapter createProfileEventAdapter() {
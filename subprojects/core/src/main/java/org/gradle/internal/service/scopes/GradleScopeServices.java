@@ -44,6 +44,7 @@ import org.gradle.configuration.internal.UserCodeApplicationContext;
 import org.gradle.execution.BuildConfigurationAction;
 import org.gradle.execution.BuildConfigurationActionExecuter;
 import org.gradle.execution.BuildExecuter;
+import org.gradle.execution.DeclaredProjectDependencyConfigurer;
 import org.gradle.execution.DefaultBuildConfigurationActionExecuter;
 import org.gradle.execution.DefaultBuildExecuter;
 import org.gradle.execution.DefaultTasksBuildExecutionAction;
@@ -53,6 +54,7 @@ import org.gradle.execution.ProjectConfigurer;
 import org.gradle.execution.SelectedTaskExecutionAction;
 import org.gradle.execution.TaskExecutionGraphInternal;
 import org.gradle.execution.TaskNameResolvingBuildConfigurationAction;
+import org.gradle.execution.TaskSelectionCache;
 import org.gradle.execution.TaskSelector;
 import org.gradle.execution.commandline.CommandLineTaskConfigurer;
 import org.gradle.execution.commandline.CommandLineTaskParser;
@@ -126,8 +128,8 @@ public class GradleScopeServices extends DefaultServiceRegistry {
         }
     }
 
-    TaskSelector createTaskSelector(GradleInternal gradle, ProjectConfigurer projectConfigurer) {
-        return new TaskSelector(gradle, projectConfigurer);
+    TaskSelector createTaskSelector(GradleInternal gradle, ProjectConfigurer projectConfigurer, TaskSelectionCache taskSelectionCache) {
+        return new TaskSelector(gradle, projectConfigurer, taskSelectionCache);
     }
 
     OptionReader createOptionReader() {
@@ -147,7 +149,7 @@ public class GradleScopeServices extends DefaultServiceRegistry {
     BuildConfigurationActionExecuter createBuildConfigurationActionExecuter(CommandLineTaskParser commandLineTaskParser, TaskSelector taskSelector, ProjectConfigurer projectConfigurer) {
         List<BuildConfigurationAction> taskSelectionActions = new LinkedList<BuildConfigurationAction>();
         taskSelectionActions.add(new DefaultTasksBuildExecutionAction(projectConfigurer));
-        taskSelectionActions.add(new TaskNameResolvingBuildConfigurationAction(commandLineTaskParser));
+        taskSelectionActions.add(new TaskNameResolvingBuildConfigurationAction(commandLineTaskParser, new DeclaredProjectDependencyConfigurer(projectConfigurer)));
         return new DefaultBuildConfigurationActionExecuter(Arrays.asList(new ExcludedTaskFilteringBuildConfigurationAction(taskSelector)), taskSelectionActions);
     }
 
@@ -16,9 +16,13 @@
 
 package org.gradle.internal.service.scopes;
 
+import org.gradle.api.internal.AsmBackedClassGenerator;
+import org.gradle.api.internal.ClassGenerator;
 import org.gradle.api.internal.ClassPathRegistry;
 import org.gradle.api.internal.DefaultClassPathProvider;
 import org.gradle.api.internal.DefaultClassPathRegistry;
+import org.gradle.api.internal.DefaultGeneratedClassCache;
+import org.gradle.api.internal.GeneratedClassCache;
 import org.gradle.api.internal.cache.StringInterner;
 import org.gradle.api.internal.changedetection.state.CachingFileHasher;
 import org.gradle.api.internal.changedetection.state.CrossBuildFileHashCache;
@@ -121,6 +125,15 @@ public class GradleUserHomeScopeServices {
         return new CrossBuildFileHashCache(null, cacheRepository, inMemoryCacheDecoratorFactory);
     }
 
+    GeneratedClassCache createGeneratedClassCache(CacheRepository cacheRepository, InMemoryCacheDecoratorFactory inMemoryCacheDecoratorFactory, ClassGenerator classGenerator) {
+        if (!(classGenerator instanceof AsmBackedClassGenerator) || "false".equals(System.getProperty(DefaultGeneratedClassCache.ENABLED_PROPERTY))) {
+            return GeneratedClassCache.NONE;
+        }
+        DefaultGeneratedClassCache generatedClassCache = new DefaultGeneratedClassCache(cacheRepository, inMemoryCacheDecoratorFactory);
+        generatedClassCache.attachTo((AsmBackedClassGenerator) classGenerator);
+        return generatedClassCache;
+    }
+
     GlobalScopeFileTimeStampInspector createFileTimestampInspector(CacheScopeMapping cacheScopeMapping, ListenerManager listenerManager) {
         GlobalScopeFileTimeStampInspector timeStampInspector = new GlobalScopeFileTimeStampInspector(cacheScopeMapping);
         listenerManager.addListener(timeStampInspector);
@@ -17,15 +17,31 @@
 package org.gradle.plugin.management.internal;
 
 import com.google.common.collect.Lists;
+import org.gradle.groovy.scripts.ScriptSource;
 import org.gradle.internal.serialize.AbstractSerializer;
 import org.gradle.internal.serialize.Decoder;
 import org.gradle.internal.serialize.Encoder;
 import org.gradle.plugin.use.PluginId;
 import org.gradle.plugin.use.internal.DefaultPluginId;
 
+import javax.annotation.Nullable;
 import java.util.List;
 
 public class PluginRequestsSerializer extends AbstractSerializer<PluginRequests> {
+    private final ScriptSource scriptSource;
+
+    public PluginRequestsSerializer() {
+        this(null);
+    }
+
+    /**
+     * Creates a serializer that does not write the display name of the requests made by the given script, so that the serialized requests
+     * do not depend on the location of the script. Such requests are read back with the display name of the given script.
+     */
+    public PluginRequestsSerializer(@Nullable ScriptSource scriptSource) {
+        this.scriptSource = scriptSource;
+    }
+
     @Override
     public PluginRequests read(Decoder decoder) throws Exception {
         int requestCount = decoder.readSmallInt();
@@ -39,7 +55,10 @@ public class PluginRequestsSerializer extends AbstractSerializer<PluginRequests>
             boolean apply = decoder.readBoolean();
             String decodedLineNumber = decoder.readNullableString();
             Integer lineNumber = decodedLineNumber == null ? null : Integer.valueOf(decodedLineNumber);
-            String scriptDisplayName = decoder.readString();
+            String scriptDisplayName = decoder.readNullableString();
+            if (scriptDisplayName == null) {
+                scriptDisplayName = scriptSource.getDisplayName();
+            }
 
             requests.add(i, new DefaultPluginRequest(pluginId, version, apply, lineNumber, scriptDisplayName, null));
         }
@@ -54,7 +73,8 @@ public class PluginRequestsSerializer extends AbstractSerializer<PluginRequests>
             encoder.writeNullableString(request.getVersion());
             encoder.writeBoolean(request.isApply());
             encoder.writeNullableString(request.getLineNumber() == null ? null : request.getLineNumber().toString());
-            encoder.writeString(request.getScriptDisplayName());
+            boolean fromScript = scriptSource != null && request.getScriptDisplayName().equals(scriptSource.getDisplayName());
+            encoder.writeNullableString(fromScript ? null : request.getScriptDisplayName());
         }
     }
 }
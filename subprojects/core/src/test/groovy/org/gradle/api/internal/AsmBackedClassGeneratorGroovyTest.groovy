@@ -573,6 +573,26 @@ class CallsPrivateMethods {
         throw new IOException("!")
     }
 
+    def "stores the bytecode of generated classes in the generated class cache"() {
+        def cache = Mock(GeneratedClassCache)
+        generator.generatedClassCache = cache
+
+        when:
+        def type = generator.generate(BeanForGeneratedClassCache)
+
+        then:
+        type.name == BeanForGeneratedClassCache.name + "_Decorated"
+        1 * cache.get(BeanForGeneratedClassCache) >> null
+        1 * cache.put(BeanForGeneratedClassCache, { byte[] bytes -> bytes.length > 0 })
+        0 * cache._
+
+        when:
+        generator.generate(BeanForGeneratedClassCache)
+
+        then:
+        0 * cache._
+    }
+
     def callsPrivateStringMethodWithGString(GString gString) {
         upperCaser(gString)
     }
@@ -600,3 +620,7 @@ class BeanWithMutableServices extends BeanWithServices {
 
     void setThing(Runnable runnnable) { throw new UnsupportedOperationException() }
 }
+
+class BeanForGeneratedClassCache {
+    String prop
+}
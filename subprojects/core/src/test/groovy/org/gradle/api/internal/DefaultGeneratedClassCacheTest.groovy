@@ -0,0 +1,55 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal
+
+import spock.lang.Specification
+
+class DefaultGeneratedClassCacheTest extends Specification {
+
+    def "key types include the type hierarchy of the type and of its method signatures"() {
+        when:
+        def types = DefaultGeneratedClassCache.typesAffectingGeneratedClass(BeanWithPropertyTypes)
+
+        then:
+        types.containsAll([BeanWithPropertyTypes, Object, PropertyType, PropertySuperType, PropertyInterface, ReturnType, ParameterType])
+        !types.contains(int)
+        !types.contains(PropertyType[])
+        !types.contains(UnreferencedType)
+    }
+
+    static class PropertySuperType {}
+
+    static interface PropertyInterface {}
+
+    static class PropertyType extends PropertySuperType implements PropertyInterface {}
+
+    static class ReturnType {}
+
+    static class ParameterType {}
+
+    static class UnreferencedType {}
+
+    static class BeanWithPropertyTypes {
+        PropertyType property
+        PropertyType[] properties
+        int count
+
+        ReturnType create(ParameterType parameter) {
+            return null
+        }
+    }
+}
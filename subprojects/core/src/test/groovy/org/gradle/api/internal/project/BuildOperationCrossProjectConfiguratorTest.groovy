@@ -20,10 +20,11 @@ import org.gradle.api.Action
 import org.gradle.api.Project
 import org.gradle.internal.Actions
 import org.gradle.internal.operations.TestBuildOperationExecutor
+import org.gradle.internal.work.WorkerLeaseService
 import org.gradle.testing.internal.util.Specification
 
 class BuildOperationCrossProjectConfiguratorTest extends Specification {
-    def service = new BuildOperationCrossProjectConfigurator(new TestBuildOperationExecutor())
+    def service = new BuildOperationCrossProjectConfigurator(new TestBuildOperationExecutor(), Stub(WorkerLeaseService))
     def project = Mock(Project)
     def calledAction = false
     def actionCallingDisallowedMethod = new Action<Project>() {
@@ -137,6 +138,19 @@ class BuildOperationCrossProjectConfiguratorTest extends Specification {
         calledAction
     }
 
+    def "does not lock projects when not configuring concurrently"() {
+        def workerLeaseService = Mock(WorkerLeaseService)
+        def service = new BuildOperationCrossProjectConfigurator(new TestBuildOperationExecutor(), workerLeaseService)
+        def action = Mock(Runnable)
+
+        when:
+        service.withExclusiveAccess([project], action)
+
+        then:
+        1 * action.run()
+        0 * workerLeaseService._
+    }
+
     private void disallowedMethod() {
         service.assertCrossProjectConfigurationAllowed("someProtectedMethod()", Mock(Project))
     }
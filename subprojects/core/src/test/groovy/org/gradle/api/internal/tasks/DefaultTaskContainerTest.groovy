@@ -35,6 +35,7 @@ import org.gradle.initialization.ProjectAccessListener
 import org.gradle.internal.operations.BuildOperationExecutor
 import org.gradle.internal.operations.TestBuildOperationExecutor
 import org.gradle.internal.reflect.DirectInstantiator
+import org.gradle.internal.work.WorkerLeaseService
 import org.gradle.model.internal.registry.ModelRegistry
 import org.gradle.util.Path
 import spock.lang.Specification
@@ -64,7 +65,7 @@ class DefaultTaskContainerTest extends Specification {
         accessListener,
         new TaskStatistics(),
         buildOperationExecutor,
-        new BuildOperationCrossProjectConfigurator(buildOperationExecutor)
+        new BuildOperationCrossProjectConfigurator(buildOperationExecutor, Stub(WorkerLeaseService))
     ).create()
 
     void 'cannot create task with no name'() {
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.configuration
+
+import org.gradle.api.internal.DocumentationRegistry
+import org.gradle.api.internal.initialization.ClassLoaderScope
+import org.gradle.api.internal.project.ProjectInternal
+import org.gradle.api.internal.project.ProjectScript
+import org.gradle.groovy.scripts.ScriptCompiler
+import org.gradle.groovy.scripts.ScriptCompilerFactory
+import org.gradle.groovy.scripts.ScriptRunner
+import org.gradle.groovy.scripts.ScriptSource
+import org.gradle.internal.operations.TestBuildOperationExecutor
+import org.gradle.internal.resource.TextResource
+import org.gradle.plugin.management.internal.DefaultPluginRequest
+import org.gradle.plugin.management.internal.DefaultPluginRequests
+import org.gradle.plugin.management.internal.PluginRequests
+import spock.lang.Specification
+
+class ParallelBuildScriptCompilerTest extends Specification {
+    def scriptCompilerFactory = Mock(ScriptCompilerFactory)
+    def buildOperationExecutor = new TestBuildOperationExecutor()
+    def compiler = new ParallelBuildScriptCompiler(scriptCompilerFactory, Stub(DocumentationRegistry), buildOperationExecutor)
+    def exportClassLoader = new URLClassLoader(new URL[0])
+    def localClassLoader = new URLClassLoader(new URL[0], exportClassLoader)
+    def rootScope = Stub(ClassLoaderScope) {
+        getExportClassLoader() >> exportClassLoader
+        getLocalClassLoader() >> localClassLoader
+    }
+
+    def "compiles the build scripts of projects using the class loader of the root project"() {
+        def root = project(null)
+        def a = project(root)
+        def b = project(root)
+        def c = project(b)
+        def d = project(root)
+        def missing = project(root, false)
+        root.subprojects >> ([a, b, c, d, missing] as Set)
+
+        def rootCompiler = compilerFor(root)
+        def aCompiler = compilerFor(a)
+        def bCompiler = compilerFor(b)
+        def cCompiler = compilerFor(c)
+        def dCompiler = compilerFor(d)
+
+        aCompiler.compile(ProjectScript, { it.id == "cp_proj" }, exportClassLoader, _) >> initialPass(false, DefaultPluginRequests.EMPTY)
+        bCompiler.compile(ProjectScript, { it.id == "cp_proj" }, exportClassLoader, _) >> initialPass(true, DefaultPluginRequests.EMPTY)
+        cCompiler.compile(ProjectScript, { it.id == "cp_proj" }, exportClassLoader, _) >> initialPass(false, DefaultPluginRequests.EMPTY)
+        dCompiler.compile(ProjectScript, { it.id == "cp_proj" }, exportClassLoader, _) >> initialPass(false, new DefaultPluginRequests([new DefaultPluginRequest("com.acme.plugin", "1.0", true, 1, "build.gradle")]))
+
+        when:
+        compiler.compileBuildScripts(root, rootScope)
+
+        then:
+        0 * rootCompiler.compile(_, { it.id == "cp_proj" }, _, _)
+        1 * rootCompiler.compile(ProjectScript, { it.id == "proj" }, localClassLoader, _)
+        1 * aCompiler.compile(ProjectScript, { it.id == "proj" }, exportClassLoader, _)
+        0 * bCompiler.compile(_, { it.id == "proj" }, _, _)
+        0 * cCompiler.compile(_, { it.id == "proj" }, _, _)
+        0 * dCompiler.compile(_, { it.id == "proj" }, _, _)
+        0 * scriptCompilerFactory.createCompiler(missing.buildScriptSource)
+    }
+
+    def "ignores failures to compile a build script"() {
+        def root = project(null)
+        def a = project(root)
+        def b = project(root)
+        root.subprojects >> ([a, b] as Set)
+
+        def aCompiler = compilerFor(a)
+        def bCompiler = compilerFor(b)
+        compilerFor(root)
+
+        aCompiler.compile(ProjectScript, { it.id == "cp_proj" }, exportClassLoader, _) >> { throw new RuntimeException("broken") }
+        bCompiler.compile(ProjectScript, { it.id == "cp_proj" }, exportClassLoader, _) >> initialPass(false, DefaultPluginRequests.EMPTY)
+
+        when:
+        compiler.compileBuildScripts(root, rootScope)
+
+        then:
+        0 * aCompiler.compile(_, { it.id == "proj" }, _, _)
+        1 * bCompiler.compile(ProjectScript, { it.id == "proj" }, exportClassLoader, _)
+        noExceptionThrown()
+    }
+
+    private ProjectInternal project(ProjectInternal parent, boolean hasBuildScript = true) {
+        def resource = Stub(TextResource) {
+            getExists() >> hasBuildScript
+        }
+        def source = Stub(ScriptSource) {
+            getResource() >> resource
+        }
+        return Mock(ProjectInternal) {
+            getParent() >> parent
+            getBuildScriptSource() >> source
+        }
+    }
+
+    private ScriptCompiler compilerFor(ProjectInternal project) {
+        def compiler = Mock(ScriptCompiler)
+        scriptCompilerFactory.createCompiler(project.buildScriptSource) >> compiler
+        return compiler
+    }
+
+    private ScriptRunner<?, PluginRequests> initialPass(boolean hasBuildscriptBlock, PluginRequests pluginRequests) {
+        return Stub(ScriptRunner) {
+            getRunDoesSomething() >> hasBuildscriptBlock
+            getData() >> pluginRequests
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.execution
+
+import org.gradle.api.artifacts.Configuration
+import org.gradle.api.artifacts.ConfigurationContainer
+import org.gradle.api.artifacts.DependencySet
+import org.gradle.api.artifacts.ProjectDependency
+import org.gradle.api.attributes.AttributeContainer
+import org.gradle.api.attributes.Usage
+import org.gradle.api.internal.DefaultDomainObjectSet
+import org.gradle.api.internal.GradleInternal
+import org.gradle.api.internal.project.ProjectInternal
+import org.gradle.api.internal.project.ProjectStateInternal
+import spock.lang.Specification
+
+class DeclaredProjectDependencyConfigurerTest extends Specification {
+    def projectConfigurer = Mock(ProjectConfigurer)
+    def gradle = Stub(GradleInternal)
+    def configurer = new DeclaredProjectDependencyConfigurer(projectConfigurer)
+
+    def "configures declared project dependencies one wave at a time"() {
+        def impl = project(true)
+        def api = project(false)
+        def util = project(false)
+
+        given:
+        dependsOn(impl, api, util)
+        dependsOn(api, util)
+
+        when:
+        configurer.configureDependenciesOf([impl])
+
+        then:
+        1 * projectConfigurer.configureAll([api, util]) >> { executed(api); executed(util) }
+
+        then:
+        0 * projectConfigurer._
+    }
+
+    def "does not configure projects that are already configured"() {
+        def impl = project(true)
+        def api = project(true)
+        def util = project(false)
+
+        given:
+        dependsOn(impl, api)
+        dependsOn(api, util)
+
+        when:
+        configurer.configureDependenciesOf([impl])
+
+        then:
+        1 * projectConfigurer.configureAll([util]) >> { executed(util) }
+        0 * projectConfigurer._
+    }
+
+    def "does not configure projects of other builds"() {
+        def impl = project(true)
+        def included = project(false, Stub(GradleInternal))
+
+        given:
+        dependsOn(impl, included)
+
+        when:
+        configurer.configureDependenciesOf([impl])
+
+        then:
+        0 * projectConfigurer._
+    }
+
+    def "ignores project dependencies of configurations that are not classpaths"() {
+        def impl = project(true)
+        def api = project(false)
+
+        given:
+        dependsOnThroughOtherConfiguration(impl, api)
+
+        when:
+        configurer.configureDependenciesOf([impl])
+
+        then:
+        0 * projectConfigurer._
+    }
+
+    def "handles cycles between projects"() {
+        def impl = project(true)
+        def api = project(false)
+
+        given:
+        dependsOn(impl, api)
+        dependsOn(api, impl)
+
+        when:
+        configurer.configureDependenciesOf([impl])
+
+        then:
+        1 * projectConfigurer.configureAll([api]) >> { executed(api) }
+        0 * projectConfigurer._
+    }
+
+    private final Map<ProjectInternal, ProjectStateInternal> states = [:]
+    private final Map<ProjectInternal, DefaultDomainObjectSet<ProjectDependency>> dependencies = [:]
+    private final Map<ProjectInternal, DefaultDomainObjectSet<ProjectDependency>> otherDependencies = [:]
+
+    private ProjectInternal project(boolean executed, GradleInternal gradle = this.gradle) {
+        def project = Mock(ProjectInternal)
+        def state = new ProjectStateInternal()
+        if (executed) {
+            state.configured()
+        }
+        def projectDependencies = new DefaultDomainObjectSet<ProjectDependency>(ProjectDependency)
+        def otherProjectDependencies = new DefaultDomainObjectSet<ProjectDependency>(ProjectDependency)
+        def classpath = configuration(projectDependencies, true)
+        def other = configuration(otherProjectDependencies, false)
+        def configurations = Stub(ConfigurationContainer) {
+            iterator() >> { [classpath, other].iterator() }
+        }
+        project.state >> state
+        project.gradle >> gradle
+        project.configurations >> configurations
+        states[project] = state
+        dependencies[project] = projectDependencies
+        otherDependencies[project] = otherProjectDependencies
+        return project
+    }
+
+    private Configuration configuration(DefaultDomainObjectSet<ProjectDependency> projectDependencies, boolean hasUsage) {
+        def dependencySet = Stub(DependencySet) {
+            withType(ProjectDependency) >> projectDependencies
+        }
+        def attributes = Stub(AttributeContainer) {
+            contains(Usage.USAGE_ATTRIBUTE) >> hasUsage
+        }
+        return Stub(Configuration) {
+            isCanBeResolved() >> true
+            getAttributes() >> attributes
+            getAllDependencies() >> dependencySet
+        }
+    }
+
+    private void executed(ProjectInternal project) {
+        states[project].configured()
+    }
+
+    private void dependsOn(ProjectInternal from, ProjectInternal... to) {
+        for (ProjectInternal target : to) {
+            dependencies[from].add(Stub(ProjectDependency) {
+                getDependencyProject() >> target
+            })
+        }
+    }
+
+    private void dependsOnThroughOtherConfiguration(ProjectInternal from, ProjectInternal to) {
+        otherDependencies[from].add(Stub(ProjectDependency) {
+            getDependencyProject() >> to
+        })
+    }
+}
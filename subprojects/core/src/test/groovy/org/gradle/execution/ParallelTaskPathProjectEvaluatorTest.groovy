@@ -0,0 +1,100 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.execution
+
+import org.gradle.api.internal.project.CrossProjectConfigurator
+import org.gradle.api.internal.project.ProjectInternal
+import org.gradle.initialization.BuildCancellationToken
+import org.gradle.internal.operations.TestBuildOperationExecutor
+import spock.lang.Specification
+
+class ParallelTaskPathProjectEvaluatorTest extends Specification {
+    def cancellationToken = Stub(BuildCancellationToken)
+    def crossProjectConfigurator = Mock(CrossProjectConfigurator)
+    def buildOperationExecutor = new TestBuildOperationExecutor()
+    def evaluator = new ParallelTaskPathProjectEvaluator(cancellationToken, buildOperationExecutor, crossProjectConfigurator)
+
+    def "configures each level of the hierarchy after the previous one"() {
+        def root = Mock(ProjectInternal)
+        def a = project(1)
+        def b = project(1)
+        def c = project(2)
+
+        given:
+        root.subprojects >> ([c, a, b] as Set)
+
+        when:
+        evaluator.configureHierarchy(root)
+
+        then:
+        1 * root.evaluate()
+
+        then:
+        1 * crossProjectConfigurator.configureConcurrently(a, _) >> { p, Runnable action -> action.run() }
+        1 * crossProjectConfigurator.configureConcurrently(b, _) >> { p, Runnable action -> action.run() }
+        1 * a.evaluate()
+        1 * b.evaluate()
+
+        then:
+        1 * c.evaluate()
+        0 * crossProjectConfigurator._
+    }
+
+    def "configures projects of different hierarchies by depth"() {
+        def a = project(1)
+        def b = project(2)
+        def c = project(1)
+
+        when:
+        evaluator.configureAll([b, a, c])
+
+        then:
+        1 * crossProjectConfigurator.configureConcurrently(a, _) >> { p, Runnable action -> action.run() }
+        1 * crossProjectConfigurator.configureConcurrently(c, _) >> { p, Runnable action -> action.run() }
+        1 * a.evaluate()
+        1 * c.evaluate()
+
+        then:
+        1 * b.evaluate()
+        0 * crossProjectConfigurator._
+    }
+
+    def "propagates the failure to configure a project"() {
+        def root = Mock(ProjectInternal)
+        def a = project(1)
+        def b = project(1)
+        def failure = new RuntimeException("broken")
+
+        given:
+        root.subprojects >> ([a, b] as Set)
+        crossProjectConfigurator.configureConcurrently(_, _) >> { p, Runnable action -> action.run() }
+        a.evaluate() >> { throw failure }
+
+        when:
+        evaluator.configureHierarchy(root)
+
+        then:
+        def e = thrown(RuntimeException)
+        e.is(failure)
+    }
+
+    private ProjectInternal project(int depth) {
+        def project = Mock(ProjectInternal)
+        project.depth >> depth
+        return project
+    }
+}
@@ -20,6 +20,7 @@ import org.gradle.StartParameter
 import org.gradle.TaskExecutionRequest
 import org.gradle.api.Task
 import org.gradle.api.internal.GradleInternal
+import org.gradle.api.internal.project.ProjectInternal
 import org.gradle.execution.commandline.CommandLineTaskParser
 import spock.lang.Specification
 
@@ -27,13 +28,15 @@ class TaskNameResolvingBuildConfigurationActionSpec extends Specification {
     GradleInternal gradle
     BuildExecutionContext context
     CommandLineTaskParser parser
+    DeclaredProjectDependencyConfigurer projectDependencyConfigurer
     def TaskNameResolvingBuildConfigurationAction action
 
     def setup() {
         gradle = Mock(GradleInternal)
         context = Mock(BuildExecutionContext)
         parser = Mock(CommandLineTaskParser)
-        action = new TaskNameResolvingBuildConfigurationAction(parser)
+        projectDependencyConfigurer = Mock(DeclaredProjectDependencyConfigurer)
+        action = new TaskNameResolvingBuildConfigurationAction(parser, projectDependencyConfigurer)
     }
 
     def "empty task parameters are no-op action"() {
@@ -87,4 +90,39 @@ class TaskNameResolvingBuildConfigurationActionSpec extends Specification {
         _ * context.gradle >> gradle
         0 * context._()
     }
+
+    def "configures declared project dependencies of the selected tasks before adding them when configuring on demand"() {
+        def startParameters = Mock(StartParameter)
+        def taskGraph = Mock(TaskExecutionGraphInternal)
+        TaskExecutionRequest request = Stub(TaskExecutionRequest)
+        def project1 = Stub(ProjectInternal)
+        def project2 = Stub(ProjectInternal)
+        def task1 = Stub(Task) { getProject() >> project1 }
+        def task2 = Stub(Task) { getProject() >> project2 }
+        def task3 = Stub(Task) { getProject() >> project1 }
+        def selection = Stub(TaskSelector.TaskSelection)
+
+        given:
+        _ * context.gradle >> gradle
+        _ * gradle.startParameter >> startParameters
+        _ * startParameters.taskRequests >> [request]
+        _ * startParameters.configureOnDemand >> true
+        _ * gradle.taskGraph >> taskGraph
+
+        def tasks = [task1, task2, task3] as Set
+        _ * selection.tasks >> tasks
+
+        when:
+        action.configure(context)
+
+        then:
+        1 * parser.parseTasks(request) >> [selection]
+
+        then:
+        1 * projectDependencyConfigurer.configureDependenciesOf([project1, project2] as Set)
+
+        then:
+        1 * taskGraph.addTasks(tasks)
+        1 * context.proceed()
+    }
 }
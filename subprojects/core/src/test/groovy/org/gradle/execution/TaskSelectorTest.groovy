@@ -135,6 +135,47 @@ class TaskSelectorTest extends AbstractProjectBuilderSpec {
         filter.isSatisfiedBy(notExcluded)
     }
 
+    def "unqualified selection configures only the projects containing the previously selected tasks"() {
+        def taskSelectionCache = Mock(TaskSelectionCache)
+        def selector = new TaskSelector(gradle, resolver, projectConfigurer, taskSelectionCache)
+        def selected = Stub(Task)
+        def selectionResult = Stub(TaskSelectionResult)
+
+        when:
+        def selection = selector.getSelection("a")
+
+        then:
+        1 * taskSelectionCache.getSelectedTaskPaths(gradle, ":b", "a") >> [":b:child:a"]
+        1 * projectConfigurer.configure(projectBChild)
+        1 * resolver.selectWithName("a", projectBChild, false) >> selectionResult
+        _ * selectionResult.collectTasks(_) >> { it[0] << selected }
+        0 * _
+
+        and:
+        selection.tasks == [selected] as Set
+    }
+
+    def "unqualified selection configures all subprojects and records the selected tasks when they are not known"() {
+        def taskSelectionCache = Mock(TaskSelectionCache)
+        def selector = new TaskSelector(gradle, resolver, projectConfigurer, taskSelectionCache)
+        def selected = Stub(Task)
+        def selectionResult = Stub(TaskSelectionResult)
+
+        when:
+        def selection = selector.getSelection("a")
+
+        then:
+        1 * taskSelectionCache.getSelectedTaskPaths(gradle, ":b", "a") >> null
+        1 * projectConfigurer.configureHierarchy(projectB)
+        1 * resolver.selectWithName("a", projectB, true) >> selectionResult
+        _ * selectionResult.collectTasks(_) >> { it[0] << selected }
+        1 * taskSelectionCache.selected(gradle, ":b", "a", [selected] as Set)
+        0 * _
+
+        and:
+        selection.tasks == [selected] as Set
+    }
+
     def task(ProjectInternal project, String name) {
         def task = Stub(TaskInternal) {
             getProject() >> project
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.groovy.scripts.internal
+
+import org.gradle.caching.internal.controller.BuildCacheController
+import org.gradle.caching.internal.controller.BuildCacheLoadCommand
+import org.gradle.caching.internal.controller.BuildCacheStoreCommand
+import org.gradle.internal.hash.HashCode
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+class BuildCacheBackedScriptClassesCacheTest extends Specification {
+    @Rule
+    TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider()
+
+    def entries = [:]
+    def controller = Stub(BuildCacheController) {
+        store(_) >> { BuildCacheStoreCommand command ->
+            def output = new ByteArrayOutputStream()
+            command.store(output)
+            entries[command.key.hashCode] = output.toByteArray()
+        }
+        load(_) >> { BuildCacheLoadCommand command ->
+            def bytes = entries[command.key.hashCode]
+            bytes == null ? null : command.load(new ByteArrayInputStream(bytes)).metadata
+        }
+    }
+    def cache = new BuildCacheBackedScriptClassesCache(controller)
+    def key = HashCode.fromInt(0x1234)
+
+    def "loads stored classes and metadata into other directories"() {
+        def classesDir = tmpDir.createDir("checkout-1/classes")
+        classesDir.file("Script.class").text = "script"
+        classesDir.file("Script\$_run_closure1.class").text = "closure"
+        def metadataDir = tmpDir.createDir("checkout-1/metadata")
+        metadataDir.file("metadata.bin").text = "metadata"
+        def otherClassesDir = tmpDir.file("checkout-2/classes")
+        def otherMetadataDir = tmpDir.file("checkout-2/metadata")
+
+        when:
+        cache.store(key, "script", classesDir, metadataDir)
+        def loaded = cache.load(key, "script", otherClassesDir, otherMetadataDir)
+
+        then:
+        loaded
+        otherClassesDir.list() as Set == ["Script.class", "Script\$_run_closure1.class"] as Set
+        otherClassesDir.file("Script\$_run_closure1.class").text == "closure"
+        otherMetadataDir.list() as List == ["metadata.bin"]
+        otherMetadataDir.file("metadata.bin").text == "metadata"
+    }
+
+    def "does not load missing entries"() {
+        expect:
+        !cache.load(key, "script", tmpDir.file("classes"), tmpDir.file("metadata"))
+    }
+
+    def "cleans up and does not load invalid entries"() {
+        def classesDir = tmpDir.file("classes")
+        def metadataDir = tmpDir.file("metadata")
+        def failingController = Stub(BuildCacheController) {
+            load(_) >> { throw new RuntimeException("broken") }
+        }
+
+        expect:
+        !new BuildCacheBackedScriptClassesCache(failingController).load(key, "script", classesDir, metadataDir)
+        !classesDir.exists()
+        !metadataDir.exists()
+    }
+}
@@ -16,15 +16,19 @@
 
 package org.gradle.internal.metaobject
 
+import groovy.transform.CompileStatic
 import org.codehaus.groovy.reflection.CachedClass
 import org.gradle.api.internal.BeanWithDynamicProperties
 import org.gradle.api.internal.BeanWithMixInMethods
 import org.gradle.api.internal.BeanWithMixInProperties
 import org.gradle.api.internal.coerce.MethodArgumentsTransformer
 import org.gradle.api.internal.coerce.PropertySetTransformer
+import org.gradle.test.fixtures.ConcurrentTestUtil
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import java.lang.ref.WeakReference
+
 class BeanDynamicObjectTest extends Specification {
     def "can get value of property of groovy object"() {
         def bean = new Bean(prop: "value")
@@ -529,6 +533,51 @@ class BeanDynamicObjectTest extends Specification {
         !dynamicObject.hasMethod("methodWithValue", [Integer] as Object[])
     }
 
+    def "finds properties and methods added to a type after they have been looked up"() {
+        def dynamicObject = new BeanDynamicObject(new ExtendedLater(prop: "value"))
+
+        expect:
+        dynamicObject.getProperty("prop") == "value"
+        !dynamicObject.hasProperty("added")
+        !dynamicObject.hasMethod("added", ["a"] as Object[])
+
+        when:
+        ExtendedLater.metaClass.getAdded = { -> "added" }
+        ExtendedLater.metaClass.added = { String s -> s.toUpperCase() }
+        def extended = new BeanDynamicObject(new ExtendedLater(prop: "value"))
+
+        then:
+        extended.getProperty("prop") == "value"
+        extended.getProperty("added") == "added"
+        extended.invokeMethod("added", ["a"] as Object[]) == "A"
+
+        cleanup:
+        GroovySystem.metaClassRegistry.removeMetaClass(ExtendedLater)
+    }
+
+    def "does not keep the class loader of method arguments alive"() {
+        when:
+        def loader = invokeMethodWithArgumentFromNewClassLoader()
+
+        then:
+        ConcurrentTestUtil.poll(10) {
+            System.gc()
+            assert loader.get() == null
+        }
+    }
+
+    @CompileStatic
+    // must be compile static to avoid call sites being created with soft class refs
+    private static WeakReference<ClassLoader> invokeMethodWithArgumentFromNewClassLoader() {
+        def loader = new GroovyClassLoader(BeanDynamicObjectTest.classLoader)
+        def argument = loader.parseClass("class ScriptArgument {}").newInstance()
+        def dynamicObject = new BeanDynamicObject(new Bean())
+        assert !dynamicObject.hasMethod("unknown", [argument] as Object[])
+        dynamicObject.invokeMethod("setCount", [argument] as Object[])
+        loader.clearCache()
+        return new WeakReference<ClassLoader>(loader)
+    }
+
     def "coerces parameters of method of groovy object"() {
         def bean = new EnumBean()
         def dynamicObject = new BeanDynamicObject(bean, EnumBean, true, false, new SomeEnumConverter(), new SomeEnumConverter())
@@ -800,6 +849,10 @@ class BeanDynamicObjectTest extends Specification {
         }
     }
 
+    static class ExtendedLater {
+        String prop
+    }
+
     static class EnumBean {
         SomeEnum prop
 
@@ -16,6 +16,7 @@
 
 package org.gradle.plugin.use.internal
 
+import org.gradle.groovy.scripts.ScriptSource
 import org.gradle.internal.serialize.SerializerSpec
 import org.gradle.plugin.management.internal.DefaultPluginRequest
 import org.gradle.plugin.management.internal.DefaultPluginRequests
@@ -49,4 +50,20 @@ class PluginRequestsSerializerTest extends SerializerSpec {
         serialized*.scriptDisplayName == ["buildscript", "buildscript", "initscript", "auto-applied plugin"]
         serialized*.apply == [true, false, false, true]
     }
+
+    def "requests of the script are read back with the display name of the script being read"() {
+        def original = Stub(ScriptSource) { getDisplayName() >> "build file '/checkout-1/build.gradle'" }
+        def relocated = Stub(ScriptSource) { getDisplayName() >> "build file '/checkout-2/build.gradle'" }
+
+        when:
+        def bytes = toBytes(new DefaultPluginRequests([
+            new DefaultPluginRequest("java", null, true, 1, original.displayName),
+            new DefaultPluginRequest("auto-apply", "2.0", true, null, "auto-applied plugin")
+        ]), new PluginRequestsSerializer(original))
+        def serialized = fromBytes(bytes, new PluginRequestsSerializer(relocated))
+
+        then:
+        serialized*.scriptDisplayName == ["build file '/checkout-2/build.gradle'", "auto-applied plugin"]
+        !new String(bytes, "UTF-8").contains("checkout-1")
+    }
 }
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.resolveengine.excludes;
+
+import com.google.common.collect.ImmutableList;
+import org.gradle.api.artifacts.ModuleIdentifier;
+import org.gradle.api.internal.artifacts.DefaultImmutableModuleIdentifierFactory;
+import org.gradle.internal.component.external.descriptor.DefaultExclude;
+import org.gradle.internal.component.model.DefaultIvyArtifactName;
+import org.gradle.internal.component.model.ExcludeMetadata;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+
+/**
+ * Evaluates and merges exclude sets shaped like the ones found in large BOM-based builds: many Maven
+ * excludes of a specific module, some group excludes and a few artifact and pattern excludes.
+ */
+@Fork(2)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@State(Scope.Benchmark)
+public class ModuleExclusionBenchmark {
+    private static final int MODULE_EXCLUDES = 400;
+    private static final int GROUP_EXCLUDES = 40;
+    private static final int CANDIDATES = 1024;
+
+    private final DefaultImmutableModuleIdentifierFactory moduleIdentifierFactory = new DefaultImmutableModuleIdentifierFactory();
+    private final Random random = new Random(42);
+
+    private ModuleExclusions moduleExclusions;
+    private ModuleExclusion large;
+    private ModuleExclusion other;
+    private ModuleIdentifier[] candidates;
+    private int i;
+
+    @Setup(Level.Iteration)
+    public void createExclusions() {
+        moduleExclusions = new ModuleExclusions(moduleIdentifierFactory);
+        large = moduleExclusions.excludeAny(excludes(0));
+        other = moduleExclusions.excludeAny(excludes(MODULE_EXCLUDES / 2));
+        candidates = new ModuleIdentifier[CANDIDATES];
+        for (int j = 0; j < CANDIDATES; j++) {
+            candidates[j] = moduleIdentifierFactory.module("org.group" + random.nextInt(2 * GROUP_EXCLUDES), "module" + random.nextInt(2 * MODULE_EXCLUDES));
+        }
+    }
+
+    private ImmutableList<ExcludeMetadata> excludes(int offset) {
+        ImmutableList.Builder<ExcludeMetadata> excludes = ImmutableList.builder();
+        for (int j = 0; j < MODULE_EXCLUDES; j++) {
+            excludes.add(new DefaultExclude(moduleIdentifierFactory.module("org.group" + (j % GROUP_EXCLUDES), "module" + (offset + j))));
+        }
+        for (int j = 0; j < GROUP_EXCLUDES; j += 4) {
+            excludes.add(new DefaultExclude(moduleIdentifierFactory.module("org.excluded" + (offset + j), "*")));
+        }
+        excludes.add(new DefaultExclude(moduleIdentifierFactory.module("*", "commons-logging")));
+        excludes.add(new DefaultExclude(moduleIdentifierFactory.module("*", "*"), new DefaultIvyArtifactName("sources", "jar", "jar"), new String[0], PatternMatchers.EXACT));
+        excludes.add(new DefaultExclude(moduleIdentifierFactory.module("org\\.internal\\..*", "*"), new String[0], "regexp"));
+        return excludes.build();
+    }
+
+    @Benchmark
+    public void excludeModule(Blackhole bh) {
+        bh.consume(large.excludeModule(candidates[++i % CANDIDATES]));
+    }
+
+    @Benchmark
+    public void intersectAndExcludeModule(Blackhole bh) {
+        bh.consume(moduleExclusions.intersect(large, other).excludeModule(candidates[++i % CANDIDATES]));
+    }
+
+    @Benchmark
+    public void unionAndExcludeModule(Blackhole bh) {
+        bh.consume(moduleExclusions.union(large, other).excludeModule(candidates[++i % CANDIDATES]));
+    }
+}
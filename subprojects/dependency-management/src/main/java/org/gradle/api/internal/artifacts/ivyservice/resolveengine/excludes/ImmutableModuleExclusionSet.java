@@ -32,10 +32,8 @@ final class ImmutableModuleExclusionSet implements Set<AbstractModuleExclusion>
     final AbstractModuleExclusion[] elements;
     private final int hashCode;
 
-    // the following fields are used as optimizations, to avoid iterating on the whole set of exclusions
-    private ImmutableSet<ModuleIdentifier> excludedModules;
-    private ImmutableList<AbstractModuleExclusion> moduleExcludes;
-    private ImmutableList<AbstractModuleExclusion> artifactExcludes;
+    // index of the exclusions, used as an optimization to avoid iterating on the whole set of exclusions
+    private volatile Index index;
 
     ImmutableModuleExclusionSet(ImmutableSet<AbstractModuleExclusion> delegate) {
         this.delegate = delegate;
@@ -43,28 +41,14 @@ final class ImmutableModuleExclusionSet implements Set<AbstractModuleExclusion>
         this.hashCode = delegate.hashCode();
     }
 
-    private synchronized void precomputeCaches() {
-        if (excludedModules != null) {
-            return;
+    private Index getIndex() {
+        Index index = this.index;
+        if (index == null) {
+            // the index is immutable, so it doesn't matter if several threads compute it concurrently
+            index = new Index(elements);
+            this.index = index;
         }
-        ImmutableSet.Builder<ModuleIdentifier> moduleIds = ImmutableSet.builder();
-        ImmutableList.Builder<AbstractModuleExclusion> modules = ImmutableList.builder();
-        ImmutableList.Builder<AbstractModuleExclusion> artifacts = ImmutableList.builder();
-        for (AbstractModuleExclusion exclusion : delegate) {
-            if (exclusion instanceof ModuleIdExcludeSpec) {
-                moduleIds.add(((ModuleIdExcludeSpec) exclusion).moduleId);
-            } else {
-                if (!exclusion.excludesNoModules()) {
-                    modules.add(exclusion);
-                }
-                if (exclusion.mayExcludeArtifacts()) {
-                    artifacts.add(exclusion);
-                }
-            }
-        }
-        excludedModules = moduleIds.build();
-        moduleExcludes = modules.build();
-        artifactExcludes = artifacts.build();
+        return index;
     }
 
     @Override
@@ -88,18 +72,21 @@ final class ImmutableModuleExclusionSet implements Set<AbstractModuleExclusion>
     }
 
     /**
-     * This method optimizes module exclusion lookup, based on empirical data showing that the set can be very large, but would contain mostly direct module exclusion nodes. So instead of always
-     * iterating over all excluded modules, we can perform a fast lookup using a set of excluded modules first, then only iterate on the remaining exclusions.
+     * This method optimizes module exclusion lookup, based on empirical data showing that the set can be very large, but would contain mostly exclusions of a module, group or module name. So
+     * instead of always iterating over all exclusions, we can perform fast lookups using the sets of excluded modules, groups and module names first, then only iterate on the remaining exclusions.
      *
      * @param id the module to check
      * @return true if it's excluded
      */
     boolean excludesModule(ModuleIdentifier id) {
-        precomputeCaches();
-        if (excludedModules.contains(id)) {
+        Index index = getIndex();
+        if (index.excludesAllModules
+            || index.excludedModules.contains(id)
+            || index.excludedGroups.contains(id.getGroup())
+            || index.excludedModuleNames.contains(id.getName())) {
             return true;
         }
-        for (AbstractModuleExclusion excludeSpec : moduleExcludes) {
+        for (AbstractModuleExclusion excludeSpec : index.moduleExcludes) {
             if (excludeSpec.excludeModule(id)) {
                 return true;
             }
@@ -108,8 +95,7 @@ final class ImmutableModuleExclusionSet implements Set<AbstractModuleExclusion>
     }
 
     boolean excludesArtifact(ModuleIdentifier module, IvyArtifactName artifact) {
-        precomputeCaches();
-        for (AbstractModuleExclusion excludeSpec : artifactExcludes) {
+        for (AbstractModuleExclusion excludeSpec : getIndex().artifactExcludes) {
             if (excludeSpec.excludeArtifact(module, artifact)) {
                 return true;
             }
@@ -184,4 +170,47 @@ final class ImmutableModuleExclusionSet implements Set<AbstractModuleExclusion>
     public int hashCode() {
         return hashCode;
     }
+
+    private static class Index {
+        private final boolean excludesAllModules;
+        private final ImmutableSet<ModuleIdentifier> excludedModules;
+        private final ImmutableSet<String> excludedGroups;
+        private final ImmutableSet<String> excludedModuleNames;
+        // exclusions which cannot be indexed, such as pattern matching or composite exclusions
+        private final ImmutableList<AbstractModuleExclusion> moduleExcludes;
+        private final ImmutableList<AbstractModuleExclusion> artifactExcludes;
+
+        Index(AbstractModuleExclusion[] exclusions) {
+            boolean all = false;
+            ImmutableSet.Builder<ModuleIdentifier> moduleIds = ImmutableSet.builder();
+            ImmutableSet.Builder<String> groups = ImmutableSet.builder();
+            ImmutableSet.Builder<String> moduleNames = ImmutableSet.builder();
+            ImmutableList.Builder<AbstractModuleExclusion> modules = ImmutableList.builder();
+            ImmutableList.Builder<AbstractModuleExclusion> artifacts = ImmutableList.builder();
+            for (AbstractModuleExclusion exclusion : exclusions) {
+                if (exclusion instanceof ModuleIdExcludeSpec) {
+                    moduleIds.add(((ModuleIdExcludeSpec) exclusion).moduleId);
+                } else if (exclusion instanceof GroupNameExcludeSpec) {
+                    groups.add(((GroupNameExcludeSpec) exclusion).group);
+                } else if (exclusion instanceof ModuleNameExcludeSpec) {
+                    moduleNames.add(((ModuleNameExcludeSpec) exclusion).module);
+                } else {
+                    if (exclusion instanceof ExcludeAllModulesSpec) {
+                        all = true;
+                    } else if (!exclusion.excludesNoModules()) {
+                        modules.add(exclusion);
+                    }
+                    if (exclusion.mayExcludeArtifacts()) {
+                        artifacts.add(exclusion);
+                    }
+                }
+            }
+            excludesAllModules = all;
+            excludedModules = moduleIds.build();
+            excludedGroups = groups.build();
+            excludedModuleNames = moduleNames.build();
+            moduleExcludes = modules.build();
+            artifactExcludes = artifacts.build();
+        }
+    }
 }
@@ -24,6 +24,7 @@ import org.gradle.api.artifacts.ModuleVersionIdentifier;
 import org.gradle.api.artifacts.component.ComponentIdentifier;
 import org.gradle.api.capabilities.Capability;
 import org.gradle.api.internal.artifacts.ComponentSelectorConverter;
+import org.gradle.api.internal.artifacts.DefaultModuleIdentifier;
 import org.gradle.api.internal.artifacts.ResolveContext;
 import org.gradle.api.internal.artifacts.dsl.ModuleReplacementsData;
 import org.gradle.api.internal.artifacts.ivyservice.dependencysubstitution.DependencySubstitutionApplicator;
@@ -173,12 +174,12 @@ public class DependencyGraphBuilder {
                 // an implicit capability for each module that we see, we only consider modules which _declare_ capabilities. If they do,
                 // then we try to find a module which provides the same capability. It that module has been found, then we register it.
                 // Otherwise, we have nothing to do. This avoids most of registrations.
+                // The module is looked up by identifier rather than by scanning all modules, so that the cost of this check
+                // does not grow with the size of the graph.
                 Collection<ComponentState> implicitProvidersForCapability = Collections.emptyList();
-                for (ModuleResolveState state : resolveState.getModules()) {
-                    if (state.getId().getGroup().equals(capability.getGroup()) && state.getId().getName().equals(capability.getName())) {
-                        implicitProvidersForCapability = state.getVersions();
-                        break;
-                    }
+                ModuleResolveState state = resolveState.findModule(DefaultModuleIdentifier.newId(capability.getGroup(), capability.getName()));
+                if (state != null) {
+                    implicitProvidersForCapability = state.getVersions();
                 }
                 PotentialConflict c = capabilitiesConflictHandler.registerCandidate(
                     DefaultCapabilitiesConflictHandler.candidate(moduleRevision, capability, implicitProvidersForCapability)
@@ -40,6 +40,7 @@ import org.gradle.internal.resolve.resolver.ComponentMetaDataResolver;
 import org.gradle.internal.resolve.resolver.DependencyToComponentIdResolver;
 import org.gradle.internal.resolve.result.ComponentResolveResult;
 
+import javax.annotation.Nullable;
 import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Comparator;
@@ -123,6 +124,14 @@ class ResolveState implements ComponentStateFactory<ComponentState> {
         return module;
     }
 
+    /**
+     * Returns the state for the given module, or null when the module has not been seen by this resolution.
+     */
+    @Nullable
+    public ModuleResolveState findModule(ModuleIdentifier id) {
+        return modules.get(id);
+    }
+
     @Override
     public ComponentState getRevision(ComponentIdentifier componentIdentifier, ModuleVersionIdentifier id, ComponentResolveMetadata metadata) {
         ComponentState componentState = getModule(id.getModule()).getVersion(id, componentIdentifier);
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.transform;
+
+import org.gradle.api.artifacts.component.ComponentArtifactIdentifier;
+import org.gradle.internal.operations.BuildOperationContext;
+import org.gradle.internal.operations.RunnableBuildOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a transform on a single file, notifying the listener and logging how long the transform was queued and executed for.
+ */
+abstract class AbstractTransformOperation implements RunnableBuildOperation {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AbstractTransformOperation.class);
+    private final long createdAt = System.nanoTime();
+    private final ComponentArtifactIdentifier artifactId;
+    private final File file;
+    private final ArtifactTransformer transform;
+    private final ArtifactTransformListener transformListener;
+    private Throwable failure;
+    private List<File> result;
+
+    AbstractTransformOperation(@Nullable ComponentArtifactIdentifier artifactId, File file, ArtifactTransformer transform, ArtifactTransformListener transformListener) {
+        this.artifactId = artifactId;
+        this.file = file;
+        this.transform = transform;
+        this.transformListener = transformListener;
+    }
+
+    /**
+     * Describes what is transformed, for log messages.
+     */
+    protected abstract String getSubjectDisplayName();
+
+    @Override
+    public void run(@Nullable BuildOperationContext context) {
+        long startedAt = System.nanoTime();
+        transformListener.beforeTransform(transform, artifactId, file);
+        try {
+            if (LOGGER.isInfoEnabled()) {
+                LOGGER.info("Executing transform {} on {}", transform.getDisplayName(), getSubjectDisplayName());
+            }
+            result = transform.transform(file);
+        } catch (Throwable t) {
+            failure = t;
+        }
+        transformListener.afterTransform(transform, artifactId, file, failure);
+        if (LOGGER.isDebugEnabled()) {
+            long finishedAt = System.nanoTime();
+            LOGGER.debug("Transform {} on {} was queued for {}ms and executed in {}ms", transform.getDisplayName(), getSubjectDisplayName(),
+                TimeUnit.NANOSECONDS.toMillis(startedAt - createdAt), TimeUnit.NANOSECONDS.toMillis(finishedAt - startedAt));
+        }
+    }
+
+    protected File getFile() {
+        return file;
+    }
+
+    protected ArtifactTransformer getTransform() {
+        return transform;
+    }
+
+    @Nullable
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    @Nullable
+    public List<File> getResult() {
+        return result;
+    }
+}
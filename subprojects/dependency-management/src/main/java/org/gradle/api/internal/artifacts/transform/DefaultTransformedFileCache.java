@@ -17,7 +17,6 @@
 package org.gradle.api.internal.artifacts.transform;
 
 import com.google.common.collect.ImmutableList;
-import org.gradle.api.Action;
 import org.gradle.api.internal.artifacts.ivyservice.ArtifactCacheMetadata;
 import org.gradle.api.internal.changedetection.state.InMemoryCacheDecoratorFactory;
 import org.gradle.cache.CacheBuilder;
@@ -27,6 +26,7 @@ import org.gradle.cache.FileLockManager;
 import org.gradle.cache.PersistentCache;
 import org.gradle.cache.PersistentIndexedCache;
 import org.gradle.cache.PersistentIndexedCacheParameters;
+import org.gradle.cache.internal.AbstractCacheCleanup;
 import org.gradle.cache.internal.CompositeCleanupAction;
 import org.gradle.cache.internal.LeastRecentlyUsedCacheCleanup;
 import org.gradle.cache.internal.ProducerGuard;
@@ -34,14 +34,12 @@ import org.gradle.cache.internal.SingleDepthFilesFinder;
 import org.gradle.caching.internal.DefaultBuildCacheHasher;
 import org.gradle.initialization.RootBuildLifecycleListener;
 import org.gradle.internal.Factory;
-import org.gradle.internal.UncheckedException;
 import org.gradle.internal.concurrent.Stoppable;
 import org.gradle.internal.hash.HashCode;
 import org.gradle.internal.resource.local.DefaultPathKeyFileStore;
 import org.gradle.internal.resource.local.FileAccessTimeJournal;
 import org.gradle.internal.resource.local.FileAccessTracker;
 import org.gradle.internal.resource.local.FileStore;
-import org.gradle.internal.resource.local.FileStoreAddActionException;
 import org.gradle.internal.resource.local.SingleDepthFileAccessTracker;
 import org.gradle.internal.serialize.BaseSerializerFactory;
 import org.gradle.internal.serialize.HashCodeSerializer;
@@ -49,11 +47,15 @@ import org.gradle.internal.serialize.ListSerializer;
 import org.gradle.internal.snapshot.FileSystemLocationSnapshot;
 import org.gradle.internal.snapshot.FileSystemSnapshotter;
 import org.gradle.internal.util.BiFunction;
+import org.gradle.util.GFileUtils;
 
+import javax.annotation.Nullable;
 import java.io.File;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import static org.gradle.api.internal.artifacts.ivyservice.CacheLayout.TRANSFORMS_META_DATA;
 import static org.gradle.api.internal.artifacts.ivyservice.CacheLayout.TRANSFORMS_STORE;
@@ -64,10 +66,12 @@ public class DefaultTransformedFileCache implements TransformedFileCache, Stoppa
 
     private static final int FILE_TREE_DEPTH_TO_TRACK_AND_CLEANUP = 2;
     private static final String CACHE_PREFIX = TRANSFORMS_META_DATA.getKey() + "/";
+    private static final String WORKSPACES_DIR_NAME = "workspaces";
 
     private final PersistentCache cache;
     private final PersistentIndexedCache<HashCode, List<File>> indexedCache;
     private final FileStore<String> fileStore;
+    private final File workspacesDirectory;
     private final ProducerGuard<CacheKey> producing = ProducerGuard.adaptive();
     private final Map<CacheKey, List<File>> resultHashToResult = new ConcurrentHashMap<CacheKey, List<File>>();
     private final FileSystemSnapshotter fileSystemSnapshotter;
@@ -79,9 +83,10 @@ public class DefaultTransformedFileCache implements TransformedFileCache, Stoppa
         File transformsStoreDirectory = artifactCacheMetadata.getTransformsStoreDirectory();
         File filesOutputDirectory = new File(transformsStoreDirectory, TRANSFORMS_STORE.getKey());
         fileStore = new DefaultPathKeyFileStore(filesOutputDirectory);
+        workspacesDirectory = new File(transformsStoreDirectory, WORKSPACES_DIR_NAME);
         cache = cacheRepository
             .cache(transformsStoreDirectory)
-            .withCleanup(createCleanupAction(filesOutputDirectory, fileAccessTimeJournal))
+            .withCleanup(createCleanupAction(filesOutputDirectory, workspacesDirectory, fileAccessTimeJournal))
             .withCrossVersionCache(CacheBuilder.LockTarget.DefaultTarget)
             .withDisplayName("Artifact transforms cache")
             .withLockOptions(mode(FileLockManager.LockMode.None)) // Lock on demand
@@ -91,9 +96,10 @@ public class DefaultTransformedFileCache implements TransformedFileCache, Stoppa
         fileAccessTracker = new SingleDepthFileAccessTracker(fileAccessTimeJournal, filesOutputDirectory, FILE_TREE_DEPTH_TO_TRACK_AND_CLEANUP);
     }
 
-    private CleanupAction createCleanupAction(File filesOutputDirectory, FileAccessTimeJournal fileAccessTimeJournal) {
+    private CleanupAction createCleanupAction(File filesOutputDirectory, File workspacesDirectory, FileAccessTimeJournal fileAccessTimeJournal) {
         return CompositeCleanupAction.builder()
             .add(filesOutputDirectory, new LeastRecentlyUsedCacheCleanup(new SingleDepthFilesFinder(FILE_TREE_DEPTH_TO_TRACK_AND_CLEANUP), fileAccessTimeJournal, DEFAULT_MAX_AGE_IN_DAYS_FOR_RECREATABLE_CACHE_ENTRIES))
+            .add(workspacesDirectory, new AbandonedWorkspaceCleanup(DEFAULT_MAX_AGE_IN_DAYS_FOR_RECREATABLE_CACHE_ENTRIES))
             .build();
     }
 
@@ -139,36 +145,16 @@ public class DefaultTransformedFileCache implements TransformedFileCache, Stoppa
                 if (files != null) {
                     return files;
                 }
+                final HashCode persistentCacheKey = cacheKey.getPersistentCacheKey();
                 files = cache.withFileLock(new Factory<List<File>>() {
                     @Override
                     public List<File> create() {
-                        HashCode persistentCacheKey = cacheKey.getPersistentCacheKey();
-                        List<File> files = indexedCache.get(persistentCacheKey);
-                        if (files != null) {
-                            boolean allExist = true;
-                            for (File file : files) {
-                                if (!file.exists()) {
-                                    allExist = false;
-                                    break;
-                                }
-                            }
-                            if (allExist) {
-                                return files;
-                            }
-                        }
-
-                        String key = inputFile.getName() + "/" + persistentCacheKey;
-                        TransformAction action = new TransformAction(transformer, inputFile);
-                        try {
-                            fileStore.add(key, action);
-                        } catch (FileStoreAddActionException e) {
-                            throw UncheckedException.throwAsUncheckedException(e.getCause());
-                        }
-
-                        indexedCache.put(persistentCacheKey, action.result);
-                        return action.result;
+                        return findExistingResult(persistentCacheKey);
                     }
                 });
+                if (files == null) {
+                    files = transformAndStore(inputFile, persistentCacheKey, transformer);
+                }
 
                 fileAccessTracker.markAccessed(files);
                 resultHashToResult.put(cacheKey, files);
@@ -177,6 +163,73 @@ public class DefaultTransformedFileCache implements TransformedFileCache, Stoppa
         });
     }
 
+    @Nullable
+    private List<File> findExistingResult(HashCode persistentCacheKey) {
+        List<File> files = indexedCache.get(persistentCacheKey);
+        if (files == null) {
+            return null;
+        }
+        for (File file : files) {
+            if (!file.exists()) {
+                return null;
+            }
+        }
+        return files;
+    }
+
+    /*
+     * Runs the transform into a private workspace without holding the cache lock, so that a long running transform does not block other
+     * processes using the cache. The workspace is then moved into the file store, unless another process has produced the same result meanwhile.
+     */
+    private List<File> transformAndStore(final File inputFile, final HashCode persistentCacheKey, BiFunction<List<File>, File, File> transformer) {
+        final File workspace = createWorkspace();
+        try {
+            final List<File> result = transformer.apply(inputFile, workspace);
+            return cache.withFileLock(new Factory<List<File>>() {
+                @Override
+                public List<File> create() {
+                    List<File> files = findExistingResult(persistentCacheKey);
+                    if (files != null) {
+                        return files;
+                    }
+                    String key = inputFile.getName() + "/" + persistentCacheKey;
+                    File outputDir = fileStore.move(key, workspace).getFile();
+                    files = relocate(result, workspace, outputDir);
+                    indexedCache.put(persistentCacheKey, files);
+                    return files;
+                }
+            });
+        } finally {
+            GFileUtils.deleteQuietly(workspace);
+        }
+    }
+
+    private File createWorkspace() {
+        File workspace = new File(workspacesDirectory, UUID.randomUUID().toString());
+        GFileUtils.mkdirs(workspace);
+        return workspace;
+    }
+
+    /**
+     * Maps the files produced into the workspace to their location in the file store. Other files, such as the input file, are left untouched.
+     */
+    private static ImmutableList<File> relocate(List<File> files, File workspace, File outputDir) {
+        String workspacePath = workspace.getAbsolutePath();
+        String workspacePrefix = workspacePath + File.separator;
+        ImmutableList.Builder<File> builder = ImmutableList.builder();
+        for (File file : files) {
+            String path = file.getAbsolutePath();
+            if (path.equals(workspacePath)) {
+                builder.add(outputDir);
+            } else if (path.startsWith(workspacePrefix)) {
+                builder.add(new File(outputDir, path.substring(workspacePrefix.length())));
+            } else {
+                builder.add(file);
+            }
+        }
+        return builder.build();
+    }
+
     private CacheKey getCacheKey(File inputFile, HashCode inputsHash) {
         FileSystemLocationSnapshot snapshot = fileSystemSnapshotter.snapshot(inputFile);
         return new CacheKey(inputsHash, snapshot.getAbsolutePath(), snapshot.getHash());
@@ -235,20 +288,24 @@ public class DefaultTransformedFileCache implements TransformedFileCache, Stoppa
         }
     }
 
-    private static class TransformAction implements Action<File> {
-        private final BiFunction<List<File>, File, File> transformer;
-        private final File inputFile;
-        private ImmutableList<File> result;
+    /**
+     * Workspaces are deleted once their transform completes. This removes the workspaces left behind by processes that did not get that far.
+     */
+    private static class AbandonedWorkspaceCleanup extends AbstractCacheCleanup {
+        private final long minimumTimestamp;
+
+        AbandonedWorkspaceCleanup(long numberOfDays) {
+            super(new SingleDepthFilesFinder(1));
+            this.minimumTimestamp = Math.max(0, System.currentTimeMillis() - TimeUnit.DAYS.toMillis(numberOfDays));
+        }
 
-        TransformAction(BiFunction<List<File>, File, File> transformer, File inputFile) {
-            this.transformer = transformer;
-            this.inputFile = inputFile;
+        @Override
+        protected boolean shouldDelete(File file) {
+            return file.lastModified() < minimumTimestamp;
         }
 
         @Override
-        public void execute(File outputDir) {
-            outputDir.mkdirs();
-            result = ImmutableList.copyOf(transformer.apply(inputFile, outputDir));
+        protected void handleDeletion(File file) {
         }
     }
 }
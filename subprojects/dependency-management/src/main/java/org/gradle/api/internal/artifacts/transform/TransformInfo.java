@@ -19,6 +19,7 @@ package org.gradle.api.internal.artifacts.transform;
 import com.google.common.collect.ImmutableCollection;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 import org.gradle.api.Action;
 import org.gradle.api.Task;
 import org.gradle.api.artifacts.ResolveException;
@@ -215,7 +216,7 @@ public abstract class TransformInfo extends WorkInfo {
 
         @Override
         public void execute(BuildOperationExecutor buildOperationExecutor, ArtifactTransformListener transformListener) {
-            ChainedArtifactTransformStepOperation chainedArtifactTransformStep = new ChainedArtifactTransformStepOperation(transformListener);
+            ChainedArtifactTransformStepOperation chainedArtifactTransformStep = new ChainedArtifactTransformStepOperation(buildOperationExecutor, transformListener);
             buildOperationExecutor.run(chainedArtifactTransformStep);
             this.result = chainedArtifactTransformStep.getResult();
             this.failure = chainedArtifactTransformStep.getFailure();
@@ -229,11 +230,13 @@ public abstract class TransformInfo extends WorkInfo {
 
         private class ChainedArtifactTransformStepOperation implements RunnableBuildOperation {
 
+            private final BuildOperationExecutor buildOperationExecutor;
             private final ArtifactTransformListener transformListener;
             private List<File> result;
             private Throwable failure;
 
-            public ChainedArtifactTransformStepOperation(ArtifactTransformListener transformListener) {
+            public ChainedArtifactTransformStepOperation(BuildOperationExecutor buildOperationExecutor, ArtifactTransformListener transformListener) {
+                this.buildOperationExecutor = buildOperationExecutor;
                 this.transformListener = transformListener;
             }
 
@@ -245,10 +248,26 @@ public abstract class TransformInfo extends WorkInfo {
                     this.result = Collections.emptyList();
                     return;
                 }
+                List<File> inputFiles = previousTransform.getResult();
+                final List<TransformFileOperation> operations = Lists.newArrayListWithCapacity(inputFiles.size());
+                for (File inputFile : inputFiles) {
+                    operations.add(new TransformFileOperation(inputFile, artifactTransformer, transformListener));
+                }
+                if (operations.size() == 1) {
+                    operations.get(0).run(context);
+                } else if (operations.size() > 1) {
+                    // The previous step produced several files, transform them in parallel
+                    buildOperationExecutor.runAll(new Action<BuildOperationQueue<RunnableBuildOperation>>() {
+                        @Override
+                        public void execute(BuildOperationQueue<RunnableBuildOperation> queue) {
+                            for (TransformFileOperation operation : operations) {
+                                queue.add(operation);
+                            }
+                        }
+                    });
+                }
                 ImmutableList.Builder<File> builder = ImmutableList.builder();
-                for (File inputFile : previousTransform.getResult()) {
-                    TransformFileOperation operation = new TransformFileOperation(inputFile, artifactTransformer, transformListener);
-                    operation.run(context);
+                for (TransformFileOperation operation : operations) {
                     if (operation.getFailure() != null) {
                         this.failure = operation.getFailure();
                         this.result = Collections.emptyList();
@@ -16,6 +16,7 @@
 
 package org.gradle.internal.resource.transfer;
 
+import org.gradle.internal.hash.HashValue;
 import org.gradle.internal.resource.ExternalResourceName;
 import org.gradle.internal.resource.local.FileStore;
 import org.gradle.internal.resource.local.LocallyAvailableExternalResource;
@@ -42,8 +43,11 @@ public interface CacheAwareExternalResourceAccessor {
     interface ResourceFileStore {
         /**
          * Called when a resource is to be cached. Should *move* the given file into the appropriate location and return a handle to the file.
+         *
+         * @param downloadedResource the file to move
+         * @param sha1 the SHA1 hash of the content of the file, as calculated while it was downloaded
          */
-        LocallyAvailableResource moveIntoCache(File downloadedResource);
+        LocallyAvailableResource moveIntoCache(File downloadedResource, HashValue sha1);
     }
 
     abstract class DefaultResourceFileStore<K> implements ResourceFileStore {
@@ -55,8 +59,8 @@ public interface CacheAwareExternalResourceAccessor {
         }
 
         @Override
-        public final LocallyAvailableResource moveIntoCache(File downloadedResource) {
-            return delegate.move(computeKey(), downloadedResource);
+        public final LocallyAvailableResource moveIntoCache(File downloadedResource, HashValue sha1) {
+            return delegate.move(computeKey(), downloadedResource, sha1);
         }
 
         protected abstract K computeKey();
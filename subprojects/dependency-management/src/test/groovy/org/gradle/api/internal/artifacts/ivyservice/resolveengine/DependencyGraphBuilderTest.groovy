@@ -15,6 +15,7 @@
  */
 package org.gradle.api.internal.artifacts.ivyservice.resolveengine
 
+import com.google.common.collect.ImmutableList
 import org.apache.ivy.core.module.id.ModuleRevisionId
 import org.gradle.api.Action
 import org.gradle.api.artifacts.ModuleDependency
@@ -40,6 +41,7 @@ import org.gradle.api.internal.artifacts.ivyservice.resolveengine.graph.Dependen
 import org.gradle.api.internal.artifacts.ivyservice.resolveengine.graph.DependencyGraphVisitor
 import org.gradle.api.internal.artifacts.ivyservice.resolveengine.graph.RootGraphNode
 import org.gradle.api.internal.artifacts.ivyservice.resolveengine.graph.builder.DependencyGraphBuilder
+import org.gradle.api.internal.artifacts.ivyservice.resolveengine.graph.conflicts.CapabilitiesConflictHandler
 import org.gradle.api.internal.artifacts.ivyservice.resolveengine.graph.conflicts.DefaultCapabilitiesConflictHandler
 import org.gradle.api.internal.artifacts.ivyservice.resolveengine.graph.conflicts.DefaultConflictHandler
 import org.gradle.api.internal.artifacts.publish.DefaultPublishArtifact
@@ -49,6 +51,7 @@ import org.gradle.api.specs.Specs
 import org.gradle.internal.component.external.descriptor.DefaultExclude
 import org.gradle.internal.component.external.model.DefaultModuleComponentIdentifier
 import org.gradle.internal.component.external.model.ImmutableCapabilities
+import org.gradle.internal.component.external.model.ImmutableCapability
 import org.gradle.internal.component.local.model.DefaultLocalComponentMetadata
 import org.gradle.internal.component.local.model.DslOriginDependencyMetadataWrapper
 import org.gradle.internal.component.local.model.RootLocalComponentMetadata
@@ -1013,11 +1016,52 @@ class DependencyGraphBuilderTest extends Specification {
         result.components == ids(root, forced, b)
     }
 
-    def revision(String name, String revision = '1.0') {
+    def "detects conflict between a declared capability and the module providing it implicitly"() {
+        given:
+        def a = revision("a")
+        def b = revision("b", "1.0", capabilities(new ImmutableCapability("group", "a", "1.0")))
+        traverses root, a
+        traverses root, b
+
+        when:
+        resolve()
+
+        then:
+        RuntimeException e = thrown()
+        e.message.contains("because they provide the same capability: group:a:1.0")
+    }
+
+    def "resolves conflict between a declared capability and the module providing it implicitly"() {
+        given:
+        def a = revision("a")
+        def b = revision("b", "1.0", capabilities(new ImmutableCapability("group", "a", "1.0")))
+        traverses root, a
+        traverses root, b
+        capabilitiesConflictHandler.registerResolver({ CapabilitiesConflictHandler.ResolutionDetails details ->
+            details.capabilityVersions.each { capability ->
+                def candidates = details.getCandidates(capability)
+                assert candidates*.id*.module as Set == ['a', 'b'] as Set
+                candidates.find { it.id.module == 'b' }.select()
+            }
+        } as CapabilitiesConflictHandler.Resolver)
+
+        when:
+        def result = resolve()
+        result.rethrowFailure()
+
+        then:
+        result.components == ids(root, b)
+    }
+
+    def capabilities(ImmutableCapability... capabilities) {
+        return new ImmutableCapabilities(ImmutableList.copyOf(capabilities))
+    }
+
+    def revision(String name, String revision = '1.0', ImmutableCapabilities capabilities = ImmutableCapabilities.EMPTY) {
         // TODO Shouldn't really be using the local component implementation here
         def id = newId("group", name, revision)
         def metaData = new DefaultLocalComponentMetadata(id, DefaultModuleComponentIdentifier.newId(id), "release", attributesSchema)
-        metaData.addConfiguration("default", "defaultConfig", [] as Set<String>, ["default"] as Set<String>, true, true, attributes, true, true, ImmutableCapabilities.EMPTY)
+        metaData.addConfiguration("default", "defaultConfig", [] as Set<String>, ["default"] as Set<String>, true, true, attributes, true, true, capabilities)
         metaData.addArtifacts("default", [new DefaultPublishArtifact("art1", "zip", "art", null, new Date(), new File("art1.zip"))])
         return metaData
     }
@@ -290,6 +290,17 @@ class DefaultModuleExclusionTest extends Specification {
         !spec.excludeModule(moduleId("regexp", "module2"))
     }
 
+    def "does not accept any module when an exclude-all rule is combined with other exclude rules"() {
+        def spec = excludeAny(excludeRule("org", "module"), excludeGroupRule("org2"), excludeRule("*", "*"), excludeArtifactRule("mylib", "jar", "jar"))
+
+        expect:
+        spec.excludeModule(moduleId("org", "module"))
+        spec.excludeModule(moduleId("org2", "anything"))
+        spec.excludeModule(moduleId("other", "other"))
+        spec.excludeArtifact(moduleId("other", "other"), artifactName("mylib", "jar", "jar"))
+        !spec.excludeArtifact(moduleId("other", "other"), artifactName("other", "jar", "jar"))
+    }
+
     def "specs with the same set of exclude rules accept the same modules as each other"() {
         def rule1 = excludeRule("org", "module")
         def rule2 = excludeRule("org", "module2")
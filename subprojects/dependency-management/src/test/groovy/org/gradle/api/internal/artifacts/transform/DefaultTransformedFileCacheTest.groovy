@@ -98,6 +98,43 @@ class DefaultTransformedFileCacheTest extends ConcurrentSpec {
         0 * transform._
     }
 
+    def "moves result produced by transform into the file store"() {
+        def transform = Mock(BiFunction)
+        def inputFile = tmpDir.file("a")
+        def filesDir = transformsStoreDirectory.file(CacheLayout.TRANSFORMS_STORE.getKey())
+
+        when:
+        def result = cache.getResult(inputFile, HashCode.fromInt(123), transform)
+
+        then:
+        result.size() == 1
+        result[0].parentFile.parentFile == filesDir.file("a")
+        result[0].text == "result"
+        transformsStoreDirectory.file("workspaces").list().length == 0
+
+        and:
+        1 * snapshotter.snapshot(inputFile) >> snapshot(HashCode.fromInt(234))
+        1 * transform.apply(inputFile, _) >>  { File file, File dir -> def r = new File(dir, "a.1"); r.text = "result"; [r] }
+    }
+
+    def "removes workspace when transform fails"() {
+        def transform = Mock(BiFunction)
+        def inputFile = tmpDir.file("a")
+        def failure = new RuntimeException("broken")
+
+        when:
+        cache.getResult(inputFile, HashCode.fromInt(123), transform)
+
+        then:
+        def e = thrown(RuntimeException)
+        e.is(failure)
+        transformsStoreDirectory.file("workspaces").list().length == 0
+
+        and:
+        1 * snapshotter.snapshot(inputFile) >> snapshot(HashCode.fromInt(234))
+        1 * transform.apply(inputFile, _) >> { File file, File dir -> new File(dir, "partial").text = "partial"; throw failure }
+    }
+
     def "does not contain result before transform ran"() {
         given:
         def inputFile = tmpDir.file("a")
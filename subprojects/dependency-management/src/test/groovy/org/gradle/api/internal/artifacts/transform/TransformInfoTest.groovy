@@ -0,0 +1,122 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.transform
+
+import org.gradle.api.Action
+import org.gradle.api.artifacts.component.ComponentArtifactIdentifier
+import org.gradle.execution.taskgraph.TaskDependencyResolver
+import org.gradle.execution.taskgraph.WorkInfo
+import org.gradle.internal.operations.BuildOperationExecutor
+import org.gradle.internal.operations.BuildOperationQueue
+import org.gradle.internal.operations.RunnableBuildOperation
+import org.gradle.testing.internal.util.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class TransformInfoTest extends Specification {
+    def transformer = Mock(UserCodeBackedTransformer)
+    def transformListener = Mock(ArtifactTransformListener)
+    def artifactId = Stub(ComponentArtifactIdentifier)
+    def queuedOperations = []
+    def buildOperationExecutor = Stub(BuildOperationExecutor) {
+        run(_) >> { RunnableBuildOperation operation -> operation.run(null) }
+        runAll(_) >> { Action<BuildOperationQueue<RunnableBuildOperation>> action ->
+            def queue = Stub(BuildOperationQueue) {
+                add(_) >> { RunnableBuildOperation operation -> queuedOperations << operation }
+            }
+            action.execute(queue)
+            runConcurrentlyInReverseOrder(queuedOperations)
+        }
+    }
+
+    def "transforms the files of a chained step in parallel and keeps their order"() {
+        def files = (1..3).collect { new File("file$it") }
+        def chained = TransformInfo.chained(transformer, new ExecutedTransformInfo(Stub(UserCodeBackedTransformer), files), artifactId)
+
+        when:
+        chained.execute(buildOperationExecutor, transformListener)
+
+        then:
+        1 * transformer.transform(files[0]) >> [new File("file1.a"), new File("file1.b")]
+        1 * transformer.transform(files[1]) >> [new File("file2.a"), new File("file2.b")]
+        1 * transformer.transform(files[2]) >> [new File("file3.a"), new File("file3.b")]
+        queuedOperations.size() == 3
+        chained.@result == [new File("file1.a"), new File("file1.b"), new File("file2.a"), new File("file2.b"), new File("file3.a"), new File("file3.b")]
+        chained.@failure == null
+    }
+
+    def "reports the failure of a file transformed in parallel"() {
+        def files = (1..3).collect { new File("file$it") }
+        def chained = TransformInfo.chained(transformer, new ExecutedTransformInfo(Stub(UserCodeBackedTransformer), files), artifactId)
+        def failure = new RuntimeException("broken")
+
+        when:
+        chained.execute(buildOperationExecutor, transformListener)
+
+        then:
+        1 * transformer.transform(files[0]) >> [new File("file1.a")]
+        1 * transformer.transform(files[1]) >> { throw failure }
+        1 * transformer.transform(files[2]) >> [new File("file3.a")]
+        1 * transformListener.afterTransform(transformer, null, files[1], failure)
+        queuedOperations.size() == 3
+        chained.@failure == failure
+        chained.@result == []
+    }
+
+    def "transforms a single file of a chained step without queueing it"() {
+        def file = new File("file")
+        def chained = TransformInfo.chained(transformer, new ExecutedTransformInfo(Stub(UserCodeBackedTransformer), [file]), artifactId)
+
+        when:
+        chained.execute(buildOperationExecutor, transformListener)
+
+        then:
+        1 * transformer.transform(file) >> [new File("file.a")]
+        queuedOperations.empty
+        chained.@result == [new File("file.a")]
+    }
+
+    private static void runConcurrentlyInReverseOrder(List<RunnableBuildOperation> operations) {
+        def done = new CountDownLatch(operations.size())
+        operations.reverse().each { operation ->
+            Thread.start {
+                try {
+                    operation.run(null)
+                } finally {
+                    done.countDown()
+                }
+            }
+        }
+        assert done.await(10, TimeUnit.SECONDS)
+    }
+
+    private static class ExecutedTransformInfo extends TransformInfo {
+        ExecutedTransformInfo(UserCodeBackedTransformer transformer, List<File> result) {
+            super(transformer)
+            this.result = result
+        }
+
+        @Override
+        void execute(BuildOperationExecutor buildOperationExecutor, ArtifactTransformListener transformListener) {
+        }
+
+        @Override
+        void resolveDependencies(TaskDependencyResolver dependencyResolver, Action<WorkInfo> processHardSuccessor) {
+        }
+    }
+}
@@ -194,20 +194,26 @@ class AggregatingIncrementalAnnotationProcessingIntegrationTest extends Abstract
         outputContains("Full recompilation is required because incremental annotation processors are not allowed to read resources.")
     }
 
-    def "processors can't write resources"() {
+    def "generated resources are regenerated when aggregated types change"() {
         given:
         withProcessor(new NonIncrementalProcessorFixture().writingResources().withDeclaredType(IncrementalAnnotationProcessorType.AGGREGATING))
         def a = java "@Thing class A {}"
-        outputs.snapshot { succeeds "compileJava" }
+        java "@Thing class B {}"
 
         when:
-        a.text = "@Thing class A { void foo() {} }"
+        outputs.snapshot { succeeds "compileJava" }
 
         then:
-        succeeds "compileJava", "--info"
+        file("build/classes/java/main/A.txt").exists()
+        file("build/classes/java/main/B.txt").exists()
 
-        and:
-        outputContains("Full recompilation is required because incremental annotation processors are not allowed to create resources.")
+        when:
+        a.delete()
+        succeeds "compileJava"
+
+        then:
+        !file("build/classes/java/main/A.txt").exists()
+        file("build/classes/java/main/B.txt").exists()
     }
 
     def "an isolating processor is also a valid aggregating processor"() {
@@ -253,20 +253,47 @@ class IsolatingIncrementalAnnotationProcessingIntegrationTest extends AbstractIn
         outputContains("Full recompilation is required because incremental annotation processors are not allowed to read resources.")
     }
 
-    def "processors can't write resources"() {
+    def "generated resources are not deleted on unrelated changes"() {
+        given:
+        withProcessor(new NonIncrementalProcessorFixture().writingResources().withDeclaredType(IncrementalAnnotationProcessorType.ISOLATING))
+        java "@Thing class A {}"
+        def unrelated = java "class Unrelated {}"
+        outputs.snapshot { succeeds "compileJava" }
+
+        when:
+        unrelated.text = "class Unrelated { void foo() {} }"
+        succeeds "compileJava"
+
+        then:
+        outputs.recompiledClasses("Unrelated")
+        file("build/classes/java/main/A.txt").exists()
+    }
+
+    def "generated resources are deleted when annotated file is deleted"() {
         given:
         withProcessor(new NonIncrementalProcessorFixture().writingResources().withDeclaredType(IncrementalAnnotationProcessorType.ISOLATING))
         def a = java "@Thing class A {}"
+        java "@Thing class B {}"
+        def unrelated = java "class Unrelated {}"
+
+        when:
         outputs.snapshot { succeeds "compileJava" }
 
+        then:
+        file("build/classes/java/main/A.txt").exists()
+
         when:
-        a.text = "@Thing class A { void foo() {} }"
+        unrelated.text = "class Unrelated { void foo() {} }"
+        succeeds "compileJava"
+        a.delete()
+        succeeds "compileJava"
 
         then:
-        succeeds "compileJava", "--info"
+        !file("build/classes/java/main/A.txt").exists()
+        file("build/classes/java/main/B.txt").exists()
 
         and:
-        outputContains("Full recompilation is required because incremental annotation processors are not allowed to create resources.")
+        outputs.deletedClasses("A", "AThing")
     }
 
     def "processors cannot provide multiple originating elements"() {
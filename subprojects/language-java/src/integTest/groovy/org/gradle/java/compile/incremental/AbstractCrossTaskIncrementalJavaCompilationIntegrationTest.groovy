@@ -180,8 +180,6 @@ abstract class AbstractCrossTaskIncrementalJavaCompilationIntegrationTest extend
         impl.recompiledClasses("X")
     }
 
-    @NotYetImplemented
-    //  Can re-enable with compiler plugins. See gradle/gradle#1474
     def "changing an unused non-private constant doesn't cause full rebuild"() {
         java api: ["class A {}", "class B { final static int x = 1; }"], impl: ["class ImplA extends A {}", "class ImplB extends B {}"]
         impl.snapshot { run "compileJava" }
@@ -194,22 +192,9 @@ abstract class AbstractCrossTaskIncrementalJavaCompilationIntegrationTest extend
         impl.recompiledClasses('ImplB')
     }
 
-    // This test describes the current behavior, not the intended one, expressed by the test just above
-    def "changing an unused non-private constant causes full rebuild"() {
-        java api: ["class A {}", "class B { final static int x = 1; }"], impl: ["class ImplA extends A {}", "class ImplB extends B {}"]
-        impl.snapshot { run "compileJava" }
-
-        when:
-        java api: ["class B { /* change */ }"]
-        run "impl:compileJava"
-
-        then:
-        impl.recompiledClasses('ImplA', 'ImplB')
-    }
-
     @Unroll
     def "change in an upstream class with non-private constant causes rebuild if same constant is used (#constantType)"() {
-        java api: ["class A {}", "class B { final static $constantType x = $constantValue; }"], impl: ["class ImplA extends A { $constantType foo() { return $constantValue; }}", "class ImplB {int foo() { return 2; }}"]
+        java api: ["class A {}", "class B { final static $constantType x = $constantValue; }"], impl: ["class ImplA extends A { $constantType foo() { return B.x; }}", "class ImplB {int foo() { return 2; }}"]
         impl.snapshot { run "compileJava" }
 
         when:
@@ -217,8 +202,7 @@ abstract class AbstractCrossTaskIncrementalJavaCompilationIntegrationTest extend
         run "impl:compileJava"
 
         then:
-        // impl.recompiledClasses('ImplA') //  Can re-enable with compiler plugins. See gradle/gradle#1474
-        impl.recompiledClasses('ImplA', 'ImplB')
+        impl.recompiledClasses('ImplA')
 
         where:
         constantType | constantValue
@@ -234,10 +218,8 @@ abstract class AbstractCrossTaskIncrementalJavaCompilationIntegrationTest extend
     }
 
     @Unroll
-    @NotYetImplemented
-    //  Can re-enable with compiler plugins. See gradle/gradle#1474
     def "change in an upstream class with non-private constant causes rebuild only if same constant is used and no direct dependency (#constantType)"() {
-        java api: ["class A {}", "class B { final static $constantType x = $constantValue; }"], impl: ["class X { $constantType foo() { return $constantValue; }}", "class Y {int foo() { return -2; }}"]
+        java api: ["class A {}", "class B { final static $constantType x = $constantValue; }"], impl: ["class X { $constantType foo() { return B.x; }}", "class Y {int foo() { return -2; }}"]
         impl.snapshot { run "compileJava" }
 
         when:
@@ -261,10 +243,8 @@ abstract class AbstractCrossTaskIncrementalJavaCompilationIntegrationTest extend
     }
 
     @Unroll
-    @NotYetImplemented
-    //  Can re-enable with compiler plugins. See gradle/gradle#1474
     def "constant value change in an upstream class causes rebuild if previous constant value was used in previous build (#constantType)"() {
-        java api: ["class A {}", "class B { final static $constantType x = $constantValue; }"], impl: ["class X { $constantType foo() { return $constantValue; }}", "class Y {int foo() { return -2; }}"]
+        java api: ["class A {}", "class B { final static $constantType x = $constantValue; }"], impl: ["class X { $constantType foo() { return B.x; }}", "class Y {int foo() { return -2; }}"]
         impl.snapshot { run "compileJava" }
 
         when:
@@ -304,7 +284,7 @@ abstract class AbstractCrossTaskIncrementalJavaCompilationIntegrationTest extend
 
     def "recompiles in case of conflicting changing constant values"() {
         java api: ["class A { final static int x = 3; }", "class B { final static int x = 3; final static int y = -2; }"],
-            impl: ["class X { int foo() { return 3; }}", "class Y {int foo() { return -2; }}"]
+            impl: ["class X { int foo() { return A.x; }}", "class Y {int foo() { return B.y; }}"]
         impl.snapshot { run "compileJava" }
 
         when:
@@ -617,7 +597,7 @@ abstract class AbstractCrossTaskIncrementalJavaCompilationIntegrationTest extend
         run("impl:compileJava")
 
         then:
-        impl.recompiledClasses('B', 'C', 'C$Inner', 'D', 'D$Inner', 'E', 'E$1', 'F', 'F$Inner')
+        impl.recompiledClasses('C', 'C$Inner', 'D', 'D$Inner', 'E', 'E$1', 'F', 'F$Inner')
 
         where:
         visibility << ['public', 'private' , '']
@@ -752,7 +732,7 @@ abstract class AbstractCrossTaskIncrementalJavaCompilationIntegrationTest extend
 
     def "recompiles dependent class in case a constant is switched"() {
         java api: ["class A { public static final int FOO = 10; public static final int BAR = 20; }"],
-            impl: ['class B { void foo() { int x = 10; } }', 'class C { void foo() { int x = 20; } }']
+            impl: ['class B { void foo() { int x = A.FOO; } }', 'class C { void foo() { int x = A.BAR; } }']
         impl.snapshot { run 'compileJava' }
 
         when:
@@ -16,7 +16,6 @@
 
 package org.gradle.java.compile.incremental
 
-import groovy.transform.NotYetImplemented
 import org.gradle.integtests.fixtures.AbstractIntegrationSpec
 import org.gradle.integtests.fixtures.CompilationOutputsFixture
 import org.gradle.util.Requires
@@ -167,7 +166,7 @@ class SourceIncrementalJavaCompilationIntegrationTest extends AbstractIntegratio
         outputs.snapshot { run "compileJava" }
 
         when:
-        java "class A { /* change */ }"
+        java "class A { String change; }"
         run "compileJava"
 
         then:
@@ -182,6 +181,42 @@ class SourceIncrementalJavaCompilationIntegrationTest extends AbstractIntegratio
         outputs.recompiledClasses 'B', 'C'
     }
 
+    def "does not recompile dependents when the ABI of a changed class is unchanged"() {
+        java "class A { int foo() { return 1; } private void bar() {} }", "class B extends A {}", "class C { int c = new A().foo(); }", "class D {}"
+        outputs.snapshot { run "compileJava" }
+
+        when:
+        java "class A { int foo() { return 2; } private void baz() {} }"
+        run "compileJava"
+
+        then:
+        outputs.recompiledClasses 'A'
+    }
+
+    def "recompiles dependents when a package private member of a changed class is added"() {
+        java "class A { void foo() {} }", "class B { void b() { new A().foo(); } }", "class C {}"
+        outputs.snapshot { run "compileJava" }
+
+        when:
+        java "class A { void foo() {} void bar() {} }"
+        run "compileJava"
+
+        then:
+        outputs.recompiledClasses 'A', 'B'
+    }
+
+    def "recompiles dependents when the value of a changed constant changes"() {
+        java "class A { static final int X = 1; }", "class B { int b = A.X; }", "class C {}"
+        outputs.snapshot { run "compileJava" }
+
+        when:
+        java "class A { static final int X = 2; }"
+        run "compileJava"
+
+        then:
+        outputs.recompiledClasses 'A', 'B'
+    }
+
     def "detects transitive dependencies with inner classes"() {
         java "class A {}", "class B extends A {}", "class D {}"
         java """class C extends B {
@@ -191,7 +226,7 @@ class SourceIncrementalJavaCompilationIntegrationTest extends AbstractIntegratio
         outputs.snapshot { run "compileJava" }
 
         when:
-        java "class A { /* change */ }"
+        java "class A { String change; }"
         run "compileJava"
 
         then:
@@ -204,7 +239,7 @@ class SourceIncrementalJavaCompilationIntegrationTest extends AbstractIntegratio
         outputs.snapshot { run "compileJava" }
 
         when:
-        java "class A { /* change */ }"
+        java "class A { String change; }"
         run "compileJava"
 
         then:
@@ -223,7 +258,7 @@ class SourceIncrementalJavaCompilationIntegrationTest extends AbstractIntegratio
         outputs.snapshot { run "compileJava" }
 
         when:
-        annotationClass.text += "/* change */"
+        annotationClass.text = annotationClass.text.replace("{}", "{ String value() default \"\"; }")
         run "compileJava"
 
         then:
@@ -252,7 +287,7 @@ class SourceIncrementalJavaCompilationIntegrationTest extends AbstractIntegratio
         outputs.snapshot { run "compileJava" }
 
         when:
-        a.text += "/* change */"
+        a.text = "class A { String change; }"
         run "compileJava"
 
         then:
@@ -275,7 +310,7 @@ class SourceIncrementalJavaCompilationIntegrationTest extends AbstractIntegratio
         outputs.snapshot { run "compileJava" }
 
         when:
-        a.text += "/* change */"
+        a.text = "class A { String change; }"
         run "compileJava"
 
         then:
@@ -298,7 +333,7 @@ class SourceIncrementalJavaCompilationIntegrationTest extends AbstractIntegratio
         outputs.snapshot { run "compileJava" }
 
         when:
-        a.text += "/* change */"
+        a.text = "enum A { FOO, BAR }"
         run "compileJava"
 
         then:
@@ -322,7 +357,7 @@ class SourceIncrementalJavaCompilationIntegrationTest extends AbstractIntegratio
         outputs.snapshot { run "compileJava" }
 
         when:
-        c.text += "/* change */"
+        c.text = "class C { String change; }"
         run "compileJava"
 
         then:
@@ -341,20 +376,18 @@ class SourceIncrementalJavaCompilationIntegrationTest extends AbstractIntegratio
         outputs.recompiledClasses 'B'
     }
 
-    def "changed class with used non-private constant incurs full rebuild"() {
-        java "class A { int foo() { return 1; } }", "class B { final static int x = 1;}"
+    def "changed class with used non-private constant recompiles the classes using it"() {
+        java "class A { int foo() { return B.x; } }", "class B { final static int x = 1;}", "class C { int foo() { return 1; } }"
         outputs.snapshot { run "compileJava" }
 
         when:
-        java "class B { /* change */ }"
+        java "class B { final static int x = 2;}"
         run "compileJava"
 
         then:
         outputs.recompiledClasses 'B', 'A'
     }
 
-    @NotYetImplemented
-    //  Can re-enable with compiler plugins. See gradle/gradle#1474
     def "changing an unused non-private constant incurs partial rebuild"() {
         java "class A { int foo() { return 2; } }", "class B { final static int x = 1;}"
         outputs.snapshot { run "compileJava" }
@@ -372,7 +405,7 @@ class SourceIncrementalJavaCompilationIntegrationTest extends AbstractIntegratio
         outputs.snapshot { run "compileJava" }
 
         when:
-        java "class A { /* change */ }"
+        java "class A { String change; }"
         run "compileJava"
 
         then:
@@ -392,7 +425,7 @@ class SourceIncrementalJavaCompilationIntegrationTest extends AbstractIntegratio
 
         when:
         outputs.snapshot()
-        java "class A { /* change */ }"
+        java "class A { String change; }"
         run "compileJava"
 
         then:
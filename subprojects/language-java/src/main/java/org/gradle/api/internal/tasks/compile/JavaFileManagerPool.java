@@ -0,0 +1,198 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.compile;
+
+import com.google.common.base.Objects;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.gradle.internal.concurrent.CompositeStoppable;
+import org.gradle.internal.concurrent.Stoppable;
+
+import javax.annotation.Nullable;
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import java.io.File;
+import java.nio.charset.Charset;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+
+/**
+ * Keeps the file managers of finished in-process compilations, so that later compilations in the same build
+ * don't have to open and index the jars on their classpath and the platform classes again.
+ *
+ * A file manager keeps the locations set by the options of its last compilation, so it is only reused by
+ * compilations with the same kinds of options, which all get applied again. All file managers are discarded
+ * as soon as a jar they may have opened changes, and closed when the build finishes.
+ *
+ * Idle file managers keep the jars they opened open until then, which on Windows prevents those jars from being
+ * deleted or replaced by later tasks. This is why the pool is only used when enabled with the {@value #ENABLED_PROPERTY}
+ * system property.
+ */
+public class JavaFileManagerPool implements Stoppable {
+    public static final String ENABLED_PROPERTY = "org.gradle.internal.java.compile.reuse-file-managers";
+
+    private final int maxIdleFileManagers;
+    private final ListMultimap<Key, StandardJavaFileManager> idle = ArrayListMultimap.create();
+    private final Map<StandardJavaFileManager, Lease> leases = new IdentityHashMap<StandardJavaFileManager, Lease>();
+    private final Map<File, ArchiveState> archives = Maps.newHashMap();
+    private int generation;
+    private boolean stopped;
+
+    public JavaFileManagerPool() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    JavaFileManagerPool(int maxIdleFileManagers) {
+        this.maxIdleFileManagers = maxIdleFileManagers;
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(ENABLED_PROPERTY);
+    }
+
+    public synchronized StandardJavaFileManager acquire(JavaCompiler compiler, @Nullable Charset charset, List<String> options, Iterable<File> classpath) {
+        if (archivesChanged(classpath)) {
+            generation++;
+            closeIdleFileManagers();
+        }
+        Key key = new Key(compiler.getClass(), charset, options);
+        List<StandardJavaFileManager> candidates = idle.get(key);
+        StandardJavaFileManager fileManager = candidates.isEmpty() ? compiler.getStandardFileManager(null, null, charset) : candidates.remove(candidates.size() - 1);
+        leases.put(fileManager, new Lease(key, generation));
+        return fileManager;
+    }
+
+    public void release(StandardJavaFileManager fileManager) {
+        synchronized (this) {
+            Lease lease = leases.remove(fileManager);
+            if (lease != null && !stopped && lease.generation == generation && idle.size() < maxIdleFileManagers) {
+                idle.put(lease.key, fileManager);
+                return;
+            }
+        }
+        CompositeStoppable.stoppable(fileManager).stop();
+    }
+
+    @Override
+    public void stop() {
+        synchronized (this) {
+            stopped = true;
+            closeIdleFileManagers();
+            archives.clear();
+        }
+        ResourceCleaningCompilationTask.cleanupZipCache();
+    }
+
+    private boolean archivesChanged(Iterable<File> classpath) {
+        boolean changed = false;
+        for (File file : classpath) {
+            if (!file.isFile()) {
+                // Directories are listed again by every compilation
+                continue;
+            }
+            ArchiveState current = new ArchiveState(file.length(), file.lastModified());
+            ArchiveState previous = archives.put(file, current);
+            if (previous != null && !previous.equals(current)) {
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    private void closeIdleFileManagers() {
+        CompositeStoppable.stoppable(ImmutableList.copyOf(idle.values())).stop();
+        idle.clear();
+    }
+
+    private static class Lease {
+        private final Key key;
+        private final int generation;
+
+        Lease(Key key, int generation) {
+            this.key = key;
+            this.generation = generation;
+        }
+    }
+
+    private static class Key {
+        private final Class<?> compilerType;
+        private final Charset charset;
+        private final Set<String> optionNames;
+
+        Key(Class<?> compilerType, @Nullable Charset charset, List<String> options) {
+            this.compilerType = compilerType;
+            this.charset = charset;
+            SortedSet<String> optionNames = Sets.newTreeSet();
+            for (String option : options) {
+                if (option.startsWith("-")) {
+                    optionNames.add(option);
+                }
+            }
+            this.optionNames = optionNames;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return compilerType.equals(key.compilerType) && Objects.equal(charset, key.charset) && optionNames.equals(key.optionNames);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(compilerType, charset, optionNames);
+        }
+    }
+
+    private static class ArchiveState {
+        private final long length;
+        private final long lastModified;
+
+        ArchiveState(long length, long lastModified) {
+            this.length = length;
+            this.lastModified = lastModified;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ArchiveState that = (ArchiveState) o;
+            return length == that.length && lastModified == that.lastModified;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(length, lastModified);
+        }
+    }
+}
@@ -16,12 +16,14 @@
 
 package org.gradle.api.internal.tasks.compile;
 
+import org.gradle.api.internal.tasks.compile.incremental.constants.ConstantUsageResult;
 import org.gradle.api.internal.tasks.compile.incremental.processing.AnnotationProcessingResult;
 import org.gradle.workers.internal.DefaultWorkResult;
 
 public class JdkJavaCompilerResult extends DefaultWorkResult {
 
     private AnnotationProcessingResult annotationProcessingResult = new AnnotationProcessingResult();
+    private ConstantUsageResult constantUsageResult = new ConstantUsageResult();
 
     JdkJavaCompilerResult() {
         super(true, null);
@@ -30,4 +32,8 @@ public class JdkJavaCompilerResult extends DefaultWorkResult {
     public AnnotationProcessingResult getAnnotationProcessingResult() {
         return annotationProcessingResult;
     }
+
+    public ConstantUsageResult getConstantUsageResult() {
+        return constantUsageResult;
+    }
 }
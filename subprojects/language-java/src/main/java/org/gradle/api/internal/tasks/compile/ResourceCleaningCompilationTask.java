@@ -18,6 +18,7 @@ package org.gradle.api.internal.tasks.compile;
 
 import org.gradle.internal.concurrent.CompositeStoppable;
 
+import javax.annotation.Nullable;
 import javax.annotation.processing.Processor;
 import javax.tools.DiagnosticListener;
 import javax.tools.JavaCompiler;
@@ -27,14 +28,17 @@ import java.util.Locale;
 
 /**
  * Cleans up resources (e.g. file handles) after compilation has finished.
+ * If a {@link JavaFileManagerPool} is given, the file manager is returned to it instead.
  */
 class ResourceCleaningCompilationTask implements JavaCompiler.CompilationTask {
     private final JavaCompiler.CompilationTask delegate;
     private final StandardJavaFileManager fileManager;
+    private final JavaFileManagerPool fileManagerPool;
 
-    ResourceCleaningCompilationTask(JavaCompiler.CompilationTask delegate, StandardJavaFileManager fileManager) {
+    ResourceCleaningCompilationTask(JavaCompiler.CompilationTask delegate, StandardJavaFileManager fileManager, @Nullable JavaFileManagerPool fileManagerPool) {
         this.delegate = delegate;
         this.fileManager = fileManager;
+        this.fileManagerPool = fileManagerPool;
     }
 
     @Override
@@ -56,8 +60,12 @@ class ResourceCleaningCompilationTask implements JavaCompiler.CompilationTask {
         try {
             return delegate.call();
         } finally {
-            CompositeStoppable.stoppable(fileManager).stop();
-            cleanupZipCache();
+            if (fileManagerPool != null) {
+                fileManagerPool.release(fileManager);
+            } else {
+                CompositeStoppable.stoppable(fileManager).stop();
+                cleanupZipCache();
+            }
         }
     }
 
@@ -68,7 +76,7 @@ class ResourceCleaningCompilationTask implements JavaCompiler.CompilationTask {
      * method does not take arguments, so the cache can't be turned off.
      * So instead we clean it ourselves using reflection.
      */
-    private void cleanupZipCache() {
+    static void cleanupZipCache() {
         try {
             Class<?> zipFileIndexCache = Class.forName("com.sun.tools.javac.file.ZipFileIndexCache");
             Object instance = zipFileIndexCache.getMethod("getSharedInstance").invoke(null);
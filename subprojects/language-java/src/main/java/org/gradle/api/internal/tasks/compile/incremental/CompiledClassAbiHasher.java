@@ -0,0 +1,82 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.compile.incremental;
+
+import com.google.common.io.Files;
+import org.gradle.api.UncheckedIOException;
+import org.gradle.api.internal.tasks.compile.ApiClassExtractor;
+import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.hash.Hasher;
+import org.gradle.internal.hash.Hashing;
+import org.objectweb.asm.ClassReader;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Hashes the ABI of the class files compiled from a source file, that is of the top level class and its nested classes.
+ * Method bodies, private members and debug information do not contribute to the hash, constant values do.
+ */
+class CompiledClassAbiHasher {
+    private static final String CLASS_FILE_EXTENSION = ".class";
+
+    private final ApiClassExtractor apiClassExtractor = new ApiClassExtractor(Collections.<String>emptySet());
+
+    /**
+     * Returns the ABI hash of the given class, or null when the destination directory contains no class files for it.
+     */
+    @Nullable
+    public HashCode hash(File destinationDir, String className) {
+        String path = className.replace('.', '/');
+        final String simpleName = path.substring(path.lastIndexOf('/') + 1);
+        File[] classFiles = new File(destinationDir, path).getParentFile().listFiles(new FilenameFilter() {
+            @Override
+            public boolean accept(File dir, String name) {
+                return name.equals(simpleName + CLASS_FILE_EXTENSION) || (name.startsWith(simpleName + "$") && name.endsWith(CLASS_FILE_EXTENSION));
+            }
+        });
+        if (classFiles == null || classFiles.length == 0) {
+            return null;
+        }
+        Arrays.sort(classFiles);
+        Hasher hasher = Hashing.md5().newHasher();
+        for (File classFile : classFiles) {
+            ClassReader reader = new ClassReader(readClassFile(classFile));
+            if (!apiClassExtractor.shouldExtractApiClassFrom(reader)) {
+                continue;
+            }
+            byte[] apiClass = apiClassExtractor.extractApiClassFrom(reader);
+            if (apiClass != null) {
+                hasher.putString(classFile.getName());
+                hasher.putBytes(apiClass);
+            }
+        }
+        return hasher.hash();
+    }
+
+    private static byte[] readClassFile(File classFile) {
+        try {
+            return Files.toByteArray(classFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
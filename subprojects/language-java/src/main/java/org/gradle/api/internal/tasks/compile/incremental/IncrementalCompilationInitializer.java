@@ -22,11 +22,13 @@ import com.google.common.collect.Sets;
 import org.gradle.api.file.FileTree;
 import org.gradle.api.internal.file.FileOperations;
 import org.gradle.api.internal.tasks.compile.JavaCompileSpec;
+import org.gradle.api.internal.tasks.compile.incremental.processing.GeneratedResource;
 import org.gradle.api.internal.tasks.compile.incremental.recomp.RecompilationSpec;
 import org.gradle.api.tasks.util.PatternSet;
 import org.gradle.internal.Factory;
 import org.gradle.language.base.internal.tasks.SimpleStaleClassCleaner;
 
+import javax.annotation.Nullable;
 import java.io.File;
 import java.util.Collection;
 import java.util.Collections;
@@ -59,6 +61,25 @@ class IncrementalCompilationInitializer {
         deleteStaleFilesIn(classesToDelete, spec.getDestinationDir());
         deleteStaleFilesIn(classesToDelete, spec.getCompileOptions().getAnnotationProcessorGeneratedSourcesDirectory());
         deleteStaleFilesIn(classesToDelete, spec.getCompileOptions().getHeaderOutputDirectory());
+        deleteStaleResources(spec, recompilationSpec.getResourcesToDelete());
+    }
+
+    /**
+     * Returns the directory that backs the given output location of the compiler, or null if the compiler has none.
+     */
+    @Nullable
+    static File getLocationDir(JavaCompileSpec spec, GeneratedResource.Location location) {
+        switch (location) {
+            case CLASS_OUTPUT:
+                return spec.getDestinationDir();
+            case SOURCE_OUTPUT:
+                File generatedSourcesDir = spec.getCompileOptions().getAnnotationProcessorGeneratedSourcesDirectory();
+                return generatedSourcesDir != null ? generatedSourcesDir : spec.getDestinationDir();
+            case NATIVE_HEADER_OUTPUT:
+                return spec.getCompileOptions().getHeaderOutputDirectory();
+            default:
+                throw new IllegalArgumentException("Unknown location " + location);
+        }
     }
 
     private Iterable<File> narrowDownSourcesToCompile(FileTree sourceTree, PatternSet sourceToCompile) {
@@ -68,8 +89,10 @@ class IncrementalCompilationInitializer {
     private void includePreviousCompilationOutputOnClasspath(JavaCompileSpec spec) {
         List<File> classpath = Lists.newArrayList(spec.getCompileClasspath());
         File destinationDir = spec.getDestinationDir();
-        classpath.add(destinationDir);
-        spec.setCompileClasspath(classpath);
+        if (!classpath.contains(destinationDir)) {
+            classpath.add(destinationDir);
+            spec.setCompileClasspath(classpath);
+        }
     }
 
     private void addClassesToProcess(JavaCompileSpec spec, RecompilationSpec recompilationSpec) {
@@ -88,6 +111,26 @@ class IncrementalCompilationInitializer {
         cleaner.execute();
     }
 
+    private void deleteStaleResources(JavaCompileSpec spec, Collection<GeneratedResource> resourcesToDelete) {
+        for (GeneratedResource.Location location : GeneratedResource.Location.values()) {
+            File locationDir = getLocationDir(spec, location);
+            if (locationDir == null) {
+                continue;
+            }
+            Set<File> toDelete = Sets.newHashSet();
+            for (GeneratedResource resource : resourcesToDelete) {
+                if (resource.getLocation() == location) {
+                    toDelete.add(new File(locationDir, resource.getPath()));
+                }
+            }
+            if (!toDelete.isEmpty()) {
+                SimpleStaleClassCleaner cleaner = new SimpleStaleClassCleaner(toDelete);
+                cleaner.addDirToClean(locationDir);
+                cleaner.execute();
+            }
+        }
+    }
+
     private void preparePatterns(Collection<String> staleClasses, PatternSet filesToDelete, PatternSet sourceToCompile) {
         for (String staleClass : staleClasses) {
             String path = staleClass.replaceAll("\\.", "/");
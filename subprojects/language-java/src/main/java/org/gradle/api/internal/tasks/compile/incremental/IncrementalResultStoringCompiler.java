@@ -26,14 +26,19 @@ import org.gradle.api.internal.tasks.compile.JavaCompileSpec;
 import org.gradle.api.internal.tasks.compile.JdkJavaCompilerResult;
 import org.gradle.api.internal.tasks.compile.incremental.classpath.ClasspathSnapshotData;
 import org.gradle.api.internal.tasks.compile.incremental.classpath.ClasspathSnapshotProvider;
+import org.gradle.api.internal.tasks.compile.incremental.constants.ConstantUsageData;
+import org.gradle.api.internal.tasks.compile.incremental.constants.ConstantUsageResult;
 import org.gradle.api.internal.tasks.compile.incremental.processing.AnnotationProcessingData;
 import org.gradle.api.internal.tasks.compile.incremental.processing.AnnotationProcessingResult;
+import org.gradle.api.internal.tasks.compile.incremental.processing.GeneratedResource;
 import org.gradle.api.internal.tasks.compile.incremental.recomp.PreviousCompilationData;
+import org.gradle.api.internal.tasks.compile.incremental.recomp.PreviousCompilationStore;
 import org.gradle.api.internal.tasks.compile.processing.AnnotationProcessorDeclaration;
 import org.gradle.api.tasks.WorkResult;
-import org.gradle.cache.internal.Stash;
 import org.gradle.language.base.internal.compile.Compiler;
 
+import javax.annotation.Nullable;
+import java.io.File;
 import java.util.Map;
 import java.util.Set;
 
@@ -44,13 +49,13 @@ class IncrementalResultStoringCompiler implements Compiler<JavaCompileSpec> {
 
     private final Compiler<JavaCompileSpec> delegate;
     private final ClasspathSnapshotProvider classpathSnapshotProvider;
-    private final Stash<PreviousCompilationData> stash;
+    private final PreviousCompilationStore store;
     private final StringInterner interner;
 
-    IncrementalResultStoringCompiler(Compiler<JavaCompileSpec> delegate, ClasspathSnapshotProvider classpathSnapshotProvider, Stash<PreviousCompilationData> stash, StringInterner interner) {
+    IncrementalResultStoringCompiler(Compiler<JavaCompileSpec> delegate, ClasspathSnapshotProvider classpathSnapshotProvider, PreviousCompilationStore store, StringInterner interner) {
         this.delegate = delegate;
         this.classpathSnapshotProvider = classpathSnapshotProvider;
-        this.stash = stash;
+        this.store = store;
         this.interner = interner;
     }
 
@@ -66,28 +71,97 @@ class IncrementalResultStoringCompiler implements Compiler<JavaCompileSpec> {
 
     private void storeResult(JavaCompileSpec spec, WorkResult result) {
         ClasspathSnapshotData classpathSnapshot = classpathSnapshotProvider.getClasspathSnapshot(Iterables.concat(spec.getCompileClasspath(), spec.getModulePath())).getData();
-        AnnotationProcessingData annotationProcessingData = getAnnotationProcessingResult(spec, result);
-        PreviousCompilationData data = new PreviousCompilationData(spec.getDestinationDir(), annotationProcessingData, classpathSnapshot, spec.getAnnotationProcessorPath());
-        stash.put(data);
+        PreviousCompilationData previousData = store.get();
+        AnnotationProcessingData annotationProcessingData = getAnnotationProcessingResult(spec, result, previousData);
+        ConstantUsageData constantUsageData = getConstantUsageData(spec, result, previousData);
+        PreviousCompilationData data = new PreviousCompilationData(spec.getDestinationDir(), annotationProcessingData, classpathSnapshot, spec.getAnnotationProcessorPath(), constantUsageData);
+        store.put(data);
     }
 
-    private AnnotationProcessingData getAnnotationProcessingResult(JavaCompileSpec spec, WorkResult result) {
+    /**
+     * Merges the constant usages of the recompiled classes with the ones of the classes that were not recompiled.
+     * Classes that no longer exist are dropped. If the previous compilation did not track constant usages,
+     * the merged result may not cover all classes, which is detected when the data is used.
+     */
+    @Nullable
+    private ConstantUsageData getConstantUsageData(JavaCompileSpec spec, WorkResult result, @Nullable PreviousCompilationData previousData) {
+        if (!(result instanceof JdkJavaCompilerResult)) {
+            return null;
+        }
+        ConstantUsageResult constantUsageResult = ((JdkJavaCompilerResult) result).getConstantUsageResult();
+        if (!constantUsageResult.isTracked()) {
+            return null;
+        }
+        Map<String, Set<String>> constantOriginsByClass = Maps.newHashMap();
+        if (previousData != null && previousData.getConstantUsageData() != null) {
+            for (Map.Entry<String, Set<String>> entry : previousData.getConstantUsageData().getConstantOriginsByClass().entrySet()) {
+                if (classFileExists(spec.getDestinationDir(), entry.getKey())) {
+                    constantOriginsByClass.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        constantOriginsByClass.putAll(intern(constantUsageResult.getConstantOriginsByClass()));
+        return new ConstantUsageData(constantOriginsByClass);
+    }
+
+    private static boolean classFileExists(File destinationDir, String className) {
+        return new File(destinationDir, className.replace('.', '/') + ".class").isFile();
+    }
+
+    private AnnotationProcessingData getAnnotationProcessingResult(JavaCompileSpec spec, WorkResult result, @Nullable PreviousCompilationData previousData) {
         Set<AnnotationProcessorDeclaration> processors = spec.getEffectiveAnnotationProcessors();
         if (processors == null || processors.isEmpty()) {
             return new AnnotationProcessingData();
         }
         if (result instanceof JdkJavaCompilerResult) {
             AnnotationProcessingResult processingResult = ((JdkJavaCompilerResult) result).getAnnotationProcessingResult();
-            return convertProcessingResult(processingResult);
+            return convertProcessingResult(spec, processingResult, previousData);
         }
         return new AnnotationProcessingData(ImmutableMap.<String, Set<String>>of(), ImmutableSet.<String>of(), ImmutableSet.<String>of(), "the chosen compiler did not support incremental annotation processing");
     }
 
-    private AnnotationProcessingData convertProcessingResult(AnnotationProcessingResult processingResult) {
-        Map<String, Set<String>> generatedTypesByOrigin = processingResult.getGeneratedTypesWithIsolatedOrigin();
+    /**
+     * Only the types that were recompiled or reprocessed show up in the processing result. The types and resources
+     * that isolating processors generated from any other type in a previous compilation are carried over, as long
+     * as they still exist. Everything aggregating processors generate is regenerated on each compilation.
+     */
+    private AnnotationProcessingData convertProcessingResult(JavaCompileSpec spec, AnnotationProcessingResult processingResult, @Nullable PreviousCompilationData previousData) {
+        Map<String, Set<String>> generatedTypesByOrigin = Maps.newHashMap();
+        Map<String, Set<GeneratedResource>> generatedResourcesByOrigin = Maps.newHashMap();
+        if (previousData != null && previousData.getAnnotationProcessingData().getFullRebuildCause() == null) {
+            AnnotationProcessingData previous = previousData.getAnnotationProcessingData();
+            for (Map.Entry<String, Set<String>> entry : previous.getGeneratedTypesByOrigin().entrySet()) {
+                Set<String> existingTypes = Sets.newHashSet();
+                for (String type : entry.getValue()) {
+                    if (classFileExists(spec.getDestinationDir(), type)) {
+                        existingTypes.add(type);
+                    }
+                }
+                if (!existingTypes.isEmpty()) {
+                    generatedTypesByOrigin.put(entry.getKey(), existingTypes);
+                }
+            }
+            for (Map.Entry<String, Set<GeneratedResource>> entry : previous.getGeneratedResourcesByOrigin().entrySet()) {
+                Set<GeneratedResource> existingResources = Sets.newHashSet();
+                for (GeneratedResource resource : entry.getValue()) {
+                    File location = IncrementalCompilationInitializer.getLocationDir(spec, resource.getLocation());
+                    if (location != null && new File(location, resource.getPath()).isFile()) {
+                        existingResources.add(resource);
+                    }
+                }
+                if (!existingResources.isEmpty()) {
+                    generatedResourcesByOrigin.put(entry.getKey(), existingResources);
+                }
+            }
+        }
+        generatedTypesByOrigin.putAll(intern(processingResult.getGeneratedTypesWithIsolatedOrigin()));
+        for (Map.Entry<String, Set<GeneratedResource>> entry : processingResult.getGeneratedResourcesWithIsolatedOrigin().entrySet()) {
+            generatedResourcesByOrigin.put(interner.intern(entry.getKey()), entry.getValue());
+        }
         Set<String> aggregatedTypes = processingResult.getAggregatedTypes();
         Set<String> aggregatingTypes = processingResult.getGeneratedAggregatingTypes();
-        return new AnnotationProcessingData(intern(generatedTypesByOrigin), intern(aggregatedTypes), intern(aggregatingTypes), processingResult.getFullRebuildCause());
+        return new AnnotationProcessingData(generatedTypesByOrigin, intern(aggregatedTypes), intern(aggregatingTypes),
+            generatedResourcesByOrigin, processingResult.getGeneratedAggregatingResources(), processingResult.getFullRebuildCause());
     }
 
     private Set<String> intern(Set<String> types) {
@@ -16,10 +16,19 @@
 
 package org.gradle.api.internal.tasks.compile.incremental;
 
+import com.google.common.base.Objects;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import it.unimi.dsi.fastutil.ints.IntSets;
 import org.gradle.api.internal.tasks.compile.CleaningJavaCompiler;
 import org.gradle.api.internal.tasks.compile.JavaCompileSpec;
+import org.gradle.api.internal.tasks.compile.JdkJavaCompilerResult;
 import org.gradle.api.internal.tasks.compile.incremental.classpath.ClasspathSnapshotProvider;
+import org.gradle.api.internal.tasks.compile.incremental.constants.ConstantUsageResult;
+import org.gradle.api.internal.tasks.compile.incremental.deps.DependentsSet;
+import org.gradle.api.internal.tasks.compile.incremental.processing.AnnotationProcessingResult;
+import org.gradle.api.internal.tasks.compile.incremental.processing.GeneratedResource;
 import org.gradle.api.internal.tasks.compile.incremental.recomp.CurrentCompilation;
 import org.gradle.api.internal.tasks.compile.incremental.recomp.PreviousCompilation;
 import org.gradle.api.internal.tasks.compile.incremental.recomp.RecompilationSpec;
@@ -28,11 +37,17 @@ import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
 import org.gradle.api.tasks.WorkResult;
 import org.gradle.api.tasks.incremental.IncrementalTaskInputs;
+import org.gradle.internal.hash.HashCode;
 import org.gradle.internal.time.Time;
 import org.gradle.internal.time.Timer;
 import org.gradle.language.base.internal.compile.Compiler;
 
+import java.io.File;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 class SelectiveCompiler implements org.gradle.language.base.internal.compile.Compiler<JavaCompileSpec> {
     private static final Logger LOG = Logging.getLogger(SelectiveCompiler.class);
@@ -43,6 +58,7 @@ class SelectiveCompiler implements org.gradle.language.base.internal.compile.Com
     private final RecompilationSpecProvider recompilationSpecProvider;
     private final IncrementalCompilationInitializer incrementalCompilationInitializer;
     private final ClasspathSnapshotProvider classpathSnapshotProvider;
+    private final CompiledClassAbiHasher abiHasher = new CompiledClassAbiHasher();
 
     public SelectiveCompiler(IncrementalTaskInputs inputs, PreviousCompilation previousCompilation, CleaningJavaCompiler cleaningCompiler,
                              Compiler<JavaCompileSpec> rebuildAllCompiler, RecompilationSpecProvider recompilationSpecProvider, IncrementalCompilationInitializer compilationInitializer, ClasspathSnapshotProvider classpathSnapshotProvider) {
@@ -67,19 +83,105 @@ class SelectiveCompiler implements org.gradle.language.base.internal.compile.Com
             return rebuildAllCompiler.execute(spec);
         }
 
+        List<File> compileClasspath = spec.getCompileClasspath();
+        Map<String, HashCode> previousAbis = currentCompilation.isAbiChangeDetectionPossible()
+            ? hashAbis(spec.getDestinationDir(), recompilationSpec.getClassesToCheckForAbiChange())
+            : Collections.<String, HashCode>emptyMap();
         incrementalCompilationInitializer.initializeCompilation(spec, recompilationSpec);
 
-        if (Iterables.isEmpty(spec.getSourceFiles()) && spec.getClasses().isEmpty()) {
+        if (Iterables.isEmpty(spec.getSourceFiles()) && spec.getClasses().isEmpty() && previousAbis.isEmpty()) {
             LOG.info("None of the classes needs to be compiled! Analysis took {}. ", clock.getElapsed());
             return new RecompilationNotNecessary();
         }
 
+        Collection<String> classesToCompile = Sets.newLinkedHashSet(recompilationSpec.getClassesToCompile());
         try {
-            return cleaningCompiler.getCompiler().execute(spec);
+            WorkResult result = compile(spec);
+            RecompilationSpec dependentsSpec = new RecompilationSpec();
+            for (Map.Entry<String, HashCode> entry : previousAbis.entrySet()) {
+                String className = entry.getKey();
+                if (Objects.equal(entry.getValue(), abiHasher.hash(spec.getDestinationDir(), className))) {
+                    continue;
+                }
+                DependentsSet dependents = previousCompilation.getDependents(className, IntSets.EMPTY_SET);
+                if (dependents.isDependencyToAll()) {
+                    String cause = dependents.getDescription() != null ? dependents.getDescription() : "the ABI of " + className + " changed and it declares non-private constants";
+                    LOG.info("Full recompilation is required because {}. Analysis took {}.", cause, clock.getElapsed());
+                    spec.setCompileClasspath(compileClasspath);
+                    return rebuildAllCompiler.execute(spec);
+                }
+                dependentsSpec.getClassesToCompile().addAll(dependents.getDependentClasses());
+            }
+            dependentsSpec.getClassesToCompile().removeAll(classesToCompile);
+            if (dependentsSpec.getClassesToCompile().isEmpty()) {
+                return result;
+            }
+            dependentsSpec.getClassesToProcess().addAll(recompilationSpec.getClassesToProcess());
+            classesToCompile.addAll(dependentsSpec.getClassesToCompile());
+            incrementalCompilationInitializer.initializeCompilation(spec, dependentsSpec);
+            WorkResult dependentsResult = cleaningCompiler.getCompiler().execute(spec);
+            mergeResults(result, dependentsResult);
+            return dependentsResult;
         } finally {
-            Collection<String> classesToCompile = recompilationSpec.getClassesToCompile();
             LOG.info("Incremental compilation of {} classes completed in {}.", classesToCompile.size(), clock.getElapsed());
             LOG.debug("Recompiled classes {}", classesToCompile);
         }
     }
+
+    private WorkResult compile(JavaCompileSpec spec) {
+        if (Iterables.isEmpty(spec.getSourceFiles()) && spec.getClasses().isEmpty()) {
+            // Only deleted sources, the dependents of the deleted classes may still need to be compiled
+            return new RecompilationNotNecessary();
+        }
+        return cleaningCompiler.getCompiler().execute(spec);
+    }
+
+    /**
+     * Adds the constant usages and the annotation processing results of the first pass to the result of the second pass, which is the one that gets stored.
+     */
+    private static void mergeResults(WorkResult firstPass, WorkResult secondPass) {
+        if (!(secondPass instanceof JdkJavaCompilerResult)) {
+            return;
+        }
+        ConstantUsageResult merged = ((JdkJavaCompilerResult) secondPass).getConstantUsageResult();
+        if (firstPass instanceof JdkJavaCompilerResult) {
+            ConstantUsageResult first = ((JdkJavaCompilerResult) firstPass).getConstantUsageResult();
+            for (Map.Entry<String, Set<String>> entry : first.getConstantOriginsByClass().entrySet()) {
+                if (!merged.getConstantOriginsByClass().containsKey(entry.getKey())) {
+                    merged.getConstantOriginsByClass().put(entry.getKey(), entry.getValue());
+                }
+            }
+            merged.setTracked(merged.isTracked() && first.isTracked());
+            mergeAnnotationProcessingResults(((JdkJavaCompilerResult) firstPass).getAnnotationProcessingResult(), ((JdkJavaCompilerResult) secondPass).getAnnotationProcessingResult());
+        } else if (!(firstPass instanceof RecompilationNotNecessary)) {
+            merged.setTracked(false);
+        }
+    }
+
+    private static void mergeAnnotationProcessingResults(AnnotationProcessingResult first, AnnotationProcessingResult merged) {
+        for (Map.Entry<String, Set<String>> entry : first.getGeneratedTypesWithIsolatedOrigin().entrySet()) {
+            for (String generatedType : entry.getValue()) {
+                merged.addGeneratedType(generatedType, Collections.singleton(entry.getKey()));
+            }
+        }
+        for (Map.Entry<String, Set<GeneratedResource>> entry : first.getGeneratedResourcesWithIsolatedOrigin().entrySet()) {
+            for (GeneratedResource generatedResource : entry.getValue()) {
+                merged.addGeneratedResource(generatedResource, Collections.singleton(entry.getKey()));
+            }
+        }
+        merged.getAggregatedTypes().addAll(first.getAggregatedTypes());
+        merged.getGeneratedAggregatingTypes().addAll(first.getGeneratedAggregatingTypes());
+        merged.getGeneratedAggregatingResources().addAll(first.getGeneratedAggregatingResources());
+        if (merged.getFullRebuildCause() == null) {
+            merged.setFullRebuildCause(first.getFullRebuildCause());
+        }
+    }
+
+    private Map<String, HashCode> hashAbis(File destinationDir, Collection<String> classNames) {
+        Map<String, HashCode> abis = Maps.newLinkedHashMap();
+        for (String className : classNames) {
+            abis.put(className, abiHasher.hash(destinationDir, className));
+        }
+        return abis;
+    }
 }
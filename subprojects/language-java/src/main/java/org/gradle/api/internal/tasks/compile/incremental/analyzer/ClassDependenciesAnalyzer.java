@@ -22,4 +22,9 @@ import org.gradle.internal.hash.HashCode;
 
 public interface ClassDependenciesAnalyzer {
     ClassAnalysis getClassAnalysis(HashCode classFileHash, FileTreeElement classFile);
+
+    /**
+     * Analyzes a class file that has already been read into memory, like an entry of a jar that is no longer open.
+     */
+    ClassAnalysis getClassAnalysis(HashCode classFileHash, byte[] classFile);
 }
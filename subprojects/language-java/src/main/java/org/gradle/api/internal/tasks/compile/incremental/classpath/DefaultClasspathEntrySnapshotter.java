@@ -15,7 +15,11 @@
  */
 package org.gradle.api.internal.tasks.compile.incremental.classpath;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.io.ByteStreams;
+import org.gradle.api.Action;
+import org.gradle.api.file.FileTreeElement;
 import org.gradle.api.file.FileVisitDetails;
 import org.gradle.api.file.FileVisitor;
 import org.gradle.api.internal.file.FileOperations;
@@ -25,29 +29,45 @@ import org.gradle.api.internal.tasks.compile.incremental.deps.ClassDependentsAcc
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
 import org.gradle.internal.IoActions;
+import org.gradle.internal.UncheckedException;
 import org.gradle.internal.hash.FileHasher;
 import org.gradle.internal.hash.HashCode;
 import org.gradle.internal.hash.StreamHasher;
+import org.gradle.internal.operations.BuildOperationContext;
+import org.gradle.internal.operations.BuildOperationDescriptor;
+import org.gradle.internal.operations.BuildOperationExecutor;
+import org.gradle.internal.operations.BuildOperationQueue;
+import org.gradle.internal.operations.RunnableBuildOperation;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.util.List;
 import java.util.Map;
 
 import static org.gradle.internal.FileUtils.hasExtension;
 
+/**
+ * Analyzes the classes of a classpath entry. The classes are read and hashed while visiting the entry,
+ * and analyzed in parallel batches. The results are accumulated in the order the classes were found.
+ */
 public class DefaultClasspathEntrySnapshotter {
     private static final Logger LOGGER = Logging.getLogger(DefaultClasspathEntrySnapshotter.class);
+    private static final int BATCH_SIZE = 200;
 
     private final FileHasher fileHasher;
     private final StreamHasher hasher;
     private final ClassDependenciesAnalyzer analyzer;
     private final FileOperations fileOperations;
+    private final BuildOperationExecutor buildOperationExecutor;
 
-    public DefaultClasspathEntrySnapshotter(FileHasher fileHasher, StreamHasher streamHasher, ClassDependenciesAnalyzer analyzer, FileOperations fileOperations) {
+    public DefaultClasspathEntrySnapshotter(FileHasher fileHasher, StreamHasher streamHasher, ClassDependenciesAnalyzer analyzer, FileOperations fileOperations, BuildOperationExecutor buildOperationExecutor) {
         this.fileHasher = fileHasher;
         this.hasher = streamHasher;
         this.analyzer = analyzer;
         this.fileOperations = fileOperations;
+        this.buildOperationExecutor = buildOperationExecutor;
     }
 
     public ClasspathEntrySnapshot createSnapshot(HashCode hash, File classpathEntry) {
@@ -55,7 +75,9 @@ public class DefaultClasspathEntrySnapshotter {
         final ClassDependentsAccumulator accumulator = new ClassDependentsAccumulator();
 
         try {
-            visit(classpathEntry, hashes, accumulator);
+            for (AnalyzeClasses batch : analyze(classpathEntry)) {
+                batch.addResultsTo(accumulator, hashes);
+            }
         } catch (Exception e) {
             accumulator.fullRebuildNeeded(classpathEntry + " could not be analyzed for incremental compilation. See the debug log for more details");
             if (LOGGER.isDebugEnabled()) {
@@ -66,22 +88,38 @@ public class DefaultClasspathEntrySnapshotter {
         return new ClasspathEntrySnapshot(new ClasspathEntrySnapshotData(hash, hashes, accumulator.getAnalysis()));
     }
 
-    private void visit(File classpathEntry, Map<String, HashCode> hashes, ClassDependentsAccumulator accumulator) {
-        if (hasExtension(classpathEntry, ".jar")) {
-            fileOperations.zipTree(classpathEntry).visit(new JarEntryVisitor(accumulator, hashes));
-        }
-        if (classpathEntry.isDirectory()) {
-            fileOperations.fileTree(classpathEntry).visit(new DirectoryEntryVisitor(accumulator, hashes));
-        }
+    private List<AnalyzeClasses> analyze(final File classpathEntry) {
+        final List<AnalyzeClasses> batches = Lists.newArrayList();
+        buildOperationExecutor.runAll(new Action<BuildOperationQueue<AnalyzeClasses>>() {
+            @Override
+            public void execute(BuildOperationQueue<AnalyzeClasses> queue) {
+                EntryVisitor visitor = null;
+                if (hasExtension(classpathEntry, ".jar")) {
+                    visitor = new JarEntryVisitor(classpathEntry, queue, batches);
+                    fileOperations.zipTree(classpathEntry).visit(visitor);
+                }
+                if (classpathEntry.isDirectory()) {
+                    visitor = new DirectoryEntryVisitor(classpathEntry, queue, batches);
+                    fileOperations.fileTree(classpathEntry).visit(visitor);
+                }
+                if (visitor != null) {
+                    visitor.submitBatch();
+                }
+            }
+        });
+        return batches;
     }
 
     private abstract class EntryVisitor implements FileVisitor {
-        private final ClassDependentsAccumulator accumulator;
-        private final Map<String, HashCode> hashes;
+        private final File classpathEntry;
+        private final BuildOperationQueue<AnalyzeClasses> queue;
+        private final List<AnalyzeClasses> batches;
+        private AnalyzeClasses batch;
 
-        public EntryVisitor(ClassDependentsAccumulator accumulator, Map<String, HashCode> hashes) {
-            this.accumulator = accumulator;
-            this.hashes = hashes;
+        public EntryVisitor(File classpathEntry, BuildOperationQueue<AnalyzeClasses> queue, List<AnalyzeClasses> batches) {
+            this.classpathEntry = classpathEntry;
+            this.queue = queue;
+            this.batches = batches;
         }
 
         public void visitDir(FileVisitDetails dirDetails) {
@@ -91,35 +129,43 @@ public class DefaultClasspathEntrySnapshotter {
             if (!fileDetails.getName().endsWith(".class")) {
                 return;
             }
+            if (batch == null) {
+                batch = new AnalyzeClasses(classpathEntry);
+            }
+            addClassFile(batch, fileDetails);
+            if (batch.size() == BATCH_SIZE) {
+                submitBatch();
+            }
+        }
 
-            HashCode classFileHash = getHashCode(fileDetails);
-
-            try {
-                ClassAnalysis analysis = analyzer.getClassAnalysis(classFileHash, fileDetails);
-                accumulator.addClass(analysis);
-                hashes.put(analysis.getClassName(), classFileHash);
-            } catch (Exception e) {
-                accumulator.fullRebuildNeeded(fileDetails.getName() + " could not be analyzed for incremental compilation. See the debug log for more details");
-                if (LOGGER.isDebugEnabled()) {
-                    LOGGER.debug("Could not analyze " + fileDetails.getName() + " for incremental compilation", e);
-                }
+        void submitBatch() {
+            if (batch != null) {
+                batches.add(batch);
+                queue.add(batch);
+                batch = null;
             }
         }
 
-        protected abstract HashCode getHashCode(FileVisitDetails fileDetails);
+        protected abstract void addClassFile(AnalyzeClasses batch, FileVisitDetails fileDetails);
     }
 
     private class JarEntryVisitor extends EntryVisitor {
 
-        public JarEntryVisitor(ClassDependentsAccumulator accumulator, Map<String, HashCode> hashes) {
-            super(accumulator, hashes);
+        public JarEntryVisitor(File classpathEntry, BuildOperationQueue<AnalyzeClasses> queue, List<AnalyzeClasses> batches) {
+            super(classpathEntry, queue, batches);
         }
 
+        /**
+         * Jar entries can only be read while the jar is being visited, so their content is read right away.
+         */
         @Override
-        protected HashCode getHashCode(FileVisitDetails fileDetails) {
+        protected void addClassFile(AnalyzeClasses batch, FileVisitDetails fileDetails) {
             InputStream inputStream = fileDetails.open();
             try {
-                return hasher.hash(inputStream);
+                byte[] content = ByteStreams.toByteArray(inputStream);
+                batch.add(new ReadClassFile(fileDetails.getName(), hasher.hash(new ByteArrayInputStream(content)), content));
+            } catch (IOException e) {
+                throw UncheckedException.throwAsUncheckedException(e);
             } finally {
                 IoActions.closeQuietly(inputStream);
             }
@@ -128,14 +174,112 @@ public class DefaultClasspathEntrySnapshotter {
 
     private class DirectoryEntryVisitor extends EntryVisitor {
 
-        public DirectoryEntryVisitor(ClassDependentsAccumulator accumulator, Map<String, HashCode> hashes) {
-            super(accumulator, hashes);
+        public DirectoryEntryVisitor(File classpathEntry, BuildOperationQueue<AnalyzeClasses> queue, List<AnalyzeClasses> batches) {
+            super(classpathEntry, queue, batches);
+        }
+
+        @Override
+        protected void addClassFile(AnalyzeClasses batch, FileVisitDetails fileDetails) {
+            batch.add(new VisitedClassFile(fileHasher.hash(fileDetails), fileDetails));
+        }
+    }
+
+    /**
+     * Analyzes a batch of classes. The class files are released once they are analyzed, so only the results are kept until all batches are done.
+     */
+    private class AnalyzeClasses implements RunnableBuildOperation {
+        private final File classpathEntry;
+        private final List<ClassFile> classFiles = Lists.newArrayListWithCapacity(BATCH_SIZE);
+        private final String[] classFileNames = new String[BATCH_SIZE];
+        private final HashCode[] classFileHashes = new HashCode[BATCH_SIZE];
+        private final ClassAnalysis[] analyses = new ClassAnalysis[BATCH_SIZE];
+        private final Exception[] failures = new Exception[BATCH_SIZE];
+        private int size;
+
+        AnalyzeClasses(File classpathEntry) {
+            this.classpathEntry = classpathEntry;
+        }
+
+        void add(ClassFile classFile) {
+            classFileNames[size] = classFile.name;
+            classFileHashes[size] = classFile.hash;
+            classFiles.add(classFile);
+            size++;
+        }
+
+        int size() {
+            return size;
+        }
+
+        @Override
+        public void run(BuildOperationContext context) {
+            for (int i = 0; i < size; i++) {
+                try {
+                    analyses[i] = classFiles.get(i).analyze();
+                } catch (Exception e) {
+                    failures[i] = e;
+                }
+            }
+            classFiles.clear();
+        }
+
+        void addResultsTo(ClassDependentsAccumulator accumulator, Map<String, HashCode> hashes) {
+            for (int i = 0; i < size; i++) {
+                if (failures[i] != null) {
+                    accumulator.fullRebuildNeeded(classFileNames[i] + " could not be analyzed for incremental compilation. See the debug log for more details");
+                    if (LOGGER.isDebugEnabled()) {
+                        LOGGER.debug("Could not analyze " + classFileNames[i] + " for incremental compilation", failures[i]);
+                    }
+                    continue;
+                }
+                accumulator.addClass(analyses[i]);
+                hashes.put(analyses[i].getClassName(), classFileHashes[i]);
+            }
+        }
+
+        @Override
+        public BuildOperationDescriptor.Builder description() {
+            return BuildOperationDescriptor.displayName("Analyze " + size + " classes of " + classpathEntry);
+        }
+    }
+
+    private abstract static class ClassFile {
+        final String name;
+        final HashCode hash;
+
+        ClassFile(String name, HashCode hash) {
+            this.name = name;
+            this.hash = hash;
+        }
+
+        abstract ClassAnalysis analyze();
+    }
+
+    private class VisitedClassFile extends ClassFile {
+        private final FileTreeElement file;
+
+        VisitedClassFile(HashCode hash, FileTreeElement file) {
+            super(file.getName(), hash);
+            this.file = file;
         }
 
         @Override
-        protected HashCode getHashCode(FileVisitDetails fileDetails) {
-            return fileHasher.hash(fileDetails);
+        ClassAnalysis analyze() {
+            return analyzer.getClassAnalysis(hash, file);
         }
     }
 
+    private class ReadClassFile extends ClassFile {
+        private final byte[] content;
+
+        ReadClassFile(String name, HashCode hash, byte[] content) {
+            super(name, hash);
+            this.content = content;
+        }
+
+        @Override
+        ClassAnalysis analyze() {
+            return analyzer.getClassAnalysis(hash, content);
+        }
+    }
 }
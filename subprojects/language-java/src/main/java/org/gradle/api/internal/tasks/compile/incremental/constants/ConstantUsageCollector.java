@@ -0,0 +1,130 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.compile.incremental.constants;
+
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.util.JavacTask;
+import com.sun.source.util.TaskEvent;
+import com.sun.source.util.TaskListener;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.TreePathScanner;
+import com.sun.source.util.Trees;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.util.Elements;
+import javax.tools.JavaCompiler;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Records which constants each compiled class refers to, grouped by the top-level class declaring them.
+ * Constants are inlined by javac, so these references are not visible in the byte code.
+ *
+ * This class is loaded into the class loader of the compiler, see {@link ConstantUsageTracking}.
+ * It must only depend on the JDK.
+ */
+public class ConstantUsageCollector implements TaskListener {
+
+    private final Trees trees;
+    private final Elements elements;
+    private final Map<String, Set<String>> constantOriginsByClass;
+
+    private ConstantUsageCollector(Trees trees, Elements elements, Map<String, Set<String>> constantOriginsByClass) {
+        this.trees = trees;
+        this.elements = elements;
+        this.constantOriginsByClass = constantOriginsByClass;
+    }
+
+    /**
+     * Registers a collector with the given task. Returns false if the task is not a javac task.
+     */
+    public static boolean install(JavaCompiler.CompilationTask task, Map<String, Set<String>> constantOriginsByClass) {
+        if (!(task instanceof JavacTask)) {
+            return false;
+        }
+        JavacTask javacTask = (JavacTask) task;
+        javacTask.addTaskListener(new ConstantUsageCollector(Trees.instance(javacTask), javacTask.getElements(), constantOriginsByClass));
+        return true;
+    }
+
+    @Override
+    public void started(TaskEvent e) {
+    }
+
+    @Override
+    public void finished(TaskEvent e) {
+        if (e.getKind() != TaskEvent.Kind.ANALYZE || e.getTypeElement() == null) {
+            return;
+        }
+        String className = topLevelClassName(e.getTypeElement());
+        Set<String> origins = constantOriginsByClass.get(className);
+        if (origins == null) {
+            origins = new HashSet<String>();
+            constantOriginsByClass.put(className, origins);
+        }
+        TreePath path = trees.getPath(e.getTypeElement());
+        if (path != null) {
+            new ConstantReferenceScanner(className, origins).scan(path, null);
+        }
+    }
+
+    private String topLevelClassName(Element element) {
+        Element current = element;
+        while (current.getEnclosingElement() != null && current.getEnclosingElement().getKind() != ElementKind.PACKAGE) {
+            current = current.getEnclosingElement();
+        }
+        return elements.getBinaryName((TypeElement) current).toString();
+    }
+
+    private class ConstantReferenceScanner extends TreePathScanner<Void, Void> {
+        private final String className;
+        private final Set<String> origins;
+
+        ConstantReferenceScanner(String className, Set<String> origins) {
+            this.className = className;
+            this.origins = origins;
+        }
+
+        @Override
+        public Void visitIdentifier(IdentifierTree node, Void p) {
+            recordConstantReference();
+            return super.visitIdentifier(node, p);
+        }
+
+        @Override
+        public Void visitMemberSelect(MemberSelectTree node, Void p) {
+            recordConstantReference();
+            return super.visitMemberSelect(node, p);
+        }
+
+        private void recordConstantReference() {
+            Element element = trees.getElement(getCurrentPath());
+            if (element == null || element.getKind() != ElementKind.FIELD || ((VariableElement) element).getConstantValue() == null) {
+                return;
+            }
+            String origin = topLevelClassName(element.getEnclosingElement());
+            if (!origin.equals(className)) {
+                origins.add(origin);
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.compile.incremental.constants;
+
+import com.google.common.collect.ImmutableMap;
+import org.gradle.api.internal.cache.StringInterner;
+import org.gradle.internal.serialize.AbstractSerializer;
+import org.gradle.internal.serialize.Decoder;
+import org.gradle.internal.serialize.Encoder;
+import org.gradle.internal.serialize.InterningStringSerializer;
+import org.gradle.internal.serialize.MapSerializer;
+import org.gradle.internal.serialize.SetSerializer;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The constants referenced by the top-level classes of a previous compilation, grouped by the top-level class declaring them.
+ */
+public class ConstantUsageData {
+    private final Map<String, Set<String>> constantOriginsByClass;
+
+    public ConstantUsageData(Map<String, Set<String>> constantOriginsByClass) {
+        this.constantOriginsByClass = ImmutableMap.copyOf(constantOriginsByClass);
+    }
+
+    public Map<String, Set<String>> getConstantOriginsByClass() {
+        return constantOriginsByClass;
+    }
+
+    public static final class Serializer extends AbstractSerializer<ConstantUsageData> {
+        private final MapSerializer<String, Set<String>> constantOriginsSerializer;
+
+        public Serializer(StringInterner interner) {
+            InterningStringSerializer stringSerializer = new InterningStringSerializer(interner);
+            constantOriginsSerializer = new MapSerializer<String, Set<String>>(stringSerializer, new SetSerializer<String>(stringSerializer));
+        }
+
+        @Override
+        public ConstantUsageData read(Decoder decoder) throws Exception {
+            return new ConstantUsageData(constantOriginsSerializer.read(decoder));
+        }
+
+        @Override
+        public void write(Encoder encoder, ConstantUsageData value) throws Exception {
+            constantOriginsSerializer.write(encoder, value.constantOriginsByClass);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.compile.incremental.constants;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Contains the constants referenced by the compiled classes, grouped by the top-level class declaring them.
+ */
+public class ConstantUsageResult implements Serializable {
+
+    private HashMap<String, Set<String>> constantOriginsByClass = new HashMap<String, Set<String>>();
+    private boolean tracked;
+
+    /**
+     * Contains an entry for each compiled top-level class, mapping it to the classes whose constants it references.
+     */
+    public Map<String, Set<String>> getConstantOriginsByClass() {
+        return constantOriginsByClass;
+    }
+
+    /**
+     * Whether the compiler supported tracking constant usages. If not, the result is empty.
+     */
+    public boolean isTracked() {
+        return tracked;
+    }
+
+    public void setTracked(boolean tracked) {
+        this.tracked = tracked;
+    }
+}
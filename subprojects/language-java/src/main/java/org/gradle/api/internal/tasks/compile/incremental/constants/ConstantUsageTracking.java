@@ -0,0 +1,93 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.compile.incremental.constants;
+
+import com.google.common.io.ByteStreams;
+import org.gradle.internal.UncheckedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.tools.JavaCompiler;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Installs a {@link ConstantUsageCollector} into a compilation task.
+ *
+ * The compiler API used by the collector is not visible to Gradle's class loaders. The collector
+ * is therefore defined in a class loader that delegates to the class loader of the compiler.
+ * If that fails, for instance because the compiler is not javac, constant usages are not tracked.
+ */
+public class ConstantUsageTracking {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConstantUsageTracking.class);
+    private static final String COLLECTOR_CLASS_NAME = "org.gradle.api.internal.tasks.compile.incremental.constants.ConstantUsageCollector";
+
+    private ConstantUsageTracking() {
+    }
+
+    public static void install(JavaCompiler.CompilationTask task, ConstantUsageResult result) {
+        try {
+            Class<?> collectorClass = new CollectorClassLoader(task.getClass().getClassLoader()).loadClass(COLLECTOR_CLASS_NAME);
+            Object installed = collectorClass.getMethod("install", JavaCompiler.CompilationTask.class, Map.class).invoke(null, task, result.getConstantOriginsByClass());
+            result.setTracked((Boolean) installed);
+        } catch (Exception e) {
+            LOGGER.debug("Could not track constant usages of the compiler.", e);
+        } catch (LinkageError e) {
+            LOGGER.debug("Could not track constant usages of the compiler.", e);
+        }
+    }
+
+    private static class CollectorClassLoader extends ClassLoader {
+        CollectorClassLoader(ClassLoader compilerClassLoader) {
+            super(compilerClassLoader);
+        }
+
+        @Override
+        protected synchronized Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.equals(COLLECTOR_CLASS_NAME) && !name.startsWith(COLLECTOR_CLASS_NAME + "$")) {
+                return super.loadClass(name, resolve);
+            }
+            Class<?> collectorClass = findLoadedClass(name);
+            if (collectorClass == null) {
+                byte[] bytes = readClassFile(name);
+                collectorClass = defineClass(name, bytes, 0, bytes.length);
+            }
+            if (resolve) {
+                resolveClass(collectorClass);
+            }
+            return collectorClass;
+        }
+
+        private static byte[] readClassFile(String name) throws ClassNotFoundException {
+            InputStream inputStream = ConstantUsageTracking.class.getClassLoader().getResourceAsStream(name.replace('.', '/') + ".class");
+            if (inputStream == null) {
+                throw new ClassNotFoundException(name);
+            }
+            try {
+                try {
+                    return ByteStreams.toByteArray(inputStream);
+                } finally {
+                    inputStream.close();
+                }
+            } catch (IOException e) {
+                throw UncheckedException.throwAsUncheckedException(e);
+            }
+        }
+    }
+}
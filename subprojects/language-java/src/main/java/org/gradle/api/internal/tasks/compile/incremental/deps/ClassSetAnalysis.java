@@ -20,8 +20,13 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.collect.Sets;
 import it.unimi.dsi.fastutil.ints.IntSet;
+import org.gradle.api.internal.tasks.compile.incremental.constants.ConstantUsageData;
 import org.gradle.api.internal.tasks.compile.incremental.processing.AnnotationProcessingData;
 
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -31,14 +36,22 @@ public class ClassSetAnalysis {
     private final ClassSetAnalysisData classAnalysis;
     private final AnnotationProcessingData annotationProcessingData;
     private final ImmutableSetMultimap<String, String> dependenciesFromAnnotationProcessing;
+    private final ConstantUsageData constantUsageData;
+    private final ImmutableSetMultimap<String, String> constantDependents;
 
     public ClassSetAnalysis(ClassSetAnalysisData classAnalysis) {
-        this(classAnalysis, new AnnotationProcessingData());
+        this(classAnalysis, new AnnotationProcessingData(), null);
     }
 
     public ClassSetAnalysis(ClassSetAnalysisData classAnalysis, AnnotationProcessingData annotationProcessingData) {
+        this(classAnalysis, annotationProcessingData, null);
+    }
+
+    public ClassSetAnalysis(ClassSetAnalysisData classAnalysis, AnnotationProcessingData annotationProcessingData, @Nullable ConstantUsageData constantUsageData) {
         this.classAnalysis = classAnalysis;
         this.annotationProcessingData = annotationProcessingData;
+        this.constantUsageData = constantUsageData;
+        this.constantDependents = constantUsageData != null && coversAllClasses(constantUsageData) ? invert(constantUsageData.getConstantOriginsByClass()) : null;
         ImmutableSetMultimap.Builder<String, String> dependenciesFromAnnotationProcessing = ImmutableSetMultimap.builder();
         for (Map.Entry<String, Set<String>> entry : annotationProcessingData.getGeneratedTypesByOrigin().entrySet()) {
             for (String generated : entry.getValue()) {
@@ -51,7 +64,31 @@ public class ClassSetAnalysis {
     }
 
     public ClassSetAnalysis withAnnotationProcessingData(AnnotationProcessingData annotationProcessingData) {
-        return new ClassSetAnalysis(classAnalysis, annotationProcessingData);
+        return new ClassSetAnalysis(classAnalysis, annotationProcessingData, constantUsageData);
+    }
+
+    public ClassSetAnalysis withConstantUsageData(@Nullable ConstantUsageData constantUsageData) {
+        return new ClassSetAnalysis(classAnalysis, annotationProcessingData, constantUsageData);
+    }
+
+    private boolean coversAllClasses(ConstantUsageData constantUsageData) {
+        Set<String> trackedClasses = constantUsageData.getConstantOriginsByClass().keySet();
+        for (String className : classAnalysis.getClasses()) {
+            if (!isNestedClass(className) && !className.endsWith(ClassSetAnalysisData.PACKAGE_INFO) && !className.equals("module-info") && !trackedClasses.contains(className)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static ImmutableSetMultimap<String, String> invert(Map<String, Set<String>> constantOriginsByClass) {
+        ImmutableSetMultimap.Builder<String, String> constantDependents = ImmutableSetMultimap.builder();
+        for (Map.Entry<String, Set<String>> entry : constantOriginsByClass.entrySet()) {
+            for (String origin : entry.getValue()) {
+                constantDependents.put(origin, entry.getKey());
+            }
+        }
+        return constantDependents.build();
     }
 
     public DependentsSet getRelevantDependents(Iterable<String> classes, IntSet constants) {
@@ -82,20 +119,49 @@ public class ClassSetAnalysis {
         if (deps.isDependencyToAll()) {
             return deps;
         }
+        Set<String> dependentsOfConstants = Collections.emptySet();
         if (!constants.isEmpty()) {
-            return DependentsSet.dependencyToAll();
+            dependentsOfConstants = getDependentsOfConstants(className);
+            if (dependentsOfConstants == null) {
+                return DependentsSet.dependencyToAll();
+            }
         }
         Set<String> dependingOnAllOthers = annotationProcessingData.getGeneratedTypesDependingOnAllOthers();
-        if (deps.getDependentClasses().isEmpty() && dependingOnAllOthers.isEmpty()) {
+        if (deps.getDependentClasses().isEmpty() && dependingOnAllOthers.isEmpty() && dependentsOfConstants.isEmpty()) {
             return deps;
         }
         Set<String> result = new HashSet<String>();
         recurseDependents(new HashSet<String>(), result, deps.getDependentClasses());
         recurseDependents(new HashSet<String>(), result, dependingOnAllOthers);
+        result.addAll(dependentsOfConstants);
         result.remove(className);
         return DependentsSet.dependents(result);
     }
 
+    /**
+     * Returns the classes that inlined constants of the given class, either directly or through constants of their own.
+     * Returns null if the constant usages of some classes are unknown.
+     */
+    @Nullable
+    private Set<String> getDependentsOfConstants(String className) {
+        if (constantDependents == null) {
+            return null;
+        }
+        int nestedClassSeparator = className.indexOf('$');
+        String origin = nestedClassSeparator < 0 ? className : className.substring(0, nestedClassSeparator);
+        Set<String> result = new HashSet<String>();
+        Deque<String> queue = new ArrayDeque<String>();
+        queue.add(origin);
+        while (!queue.isEmpty()) {
+            for (String dependent : constantDependents.get(queue.poll())) {
+                if (result.add(dependent)) {
+                    queue.add(dependent);
+                }
+            }
+        }
+        return result;
+    }
+
     public Set<String> getTypesToReprocess() {
         return annotationProcessingData.getAggregatedTypes();
     }
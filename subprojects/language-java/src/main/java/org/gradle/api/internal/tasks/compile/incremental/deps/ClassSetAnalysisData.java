@@ -51,6 +51,10 @@ public class ClassSetAnalysisData {
         this.fullRebuildCause = fullRebuildCause;
     }
 
+    public Set<String> getClasses() {
+        return classes;
+    }
+
     public DependentsSet getDependents(String className) {
         if (fullRebuildCause != null) {
             return DependentsSet.dependencyToAll(fullRebuildCause);
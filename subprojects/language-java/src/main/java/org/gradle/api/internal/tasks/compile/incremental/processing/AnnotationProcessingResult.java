@@ -32,6 +32,8 @@ public class AnnotationProcessingResult implements Serializable {
     private HashMap<String, Set<String>> generatedTypesByOrigin = new LinkedHashMap<String, Set<String>>();
     private Set<String> aggregatedTypes = new HashSet<String>();
     private Set<String> generatedTypesDependingOnAllOthers = new HashSet<String>();
+    private HashMap<String, Set<GeneratedResource>> generatedResourcesByOrigin = new LinkedHashMap<String, Set<GeneratedResource>>();
+    private Set<GeneratedResource> generatedResourcesDependingOnAllOthers = new HashSet<GeneratedResource>();
     private String fullRebuildCause;
 
     public void addGeneratedType(String name, Set<String> originatingElements) {
@@ -45,6 +47,17 @@ public class AnnotationProcessingResult implements Serializable {
         }
     }
 
+    public void addGeneratedResource(GeneratedResource resource, Set<String> originatingElements) {
+        for (String originatingElement : originatingElements) {
+            Set<GeneratedResource> derived = generatedResourcesByOrigin.get(originatingElement);
+            if (derived == null) {
+                derived = new LinkedHashSet<GeneratedResource>();
+                generatedResourcesByOrigin.put(originatingElement, derived);
+            }
+            derived.add(resource);
+        }
+    }
+
     /**
      * Contains the types generated by isolating annotation processors, grouped by the type they were generated from.
      */
@@ -68,6 +81,21 @@ public class AnnotationProcessingResult implements Serializable {
         return generatedTypesDependingOnAllOthers;
     }
 
+    /**
+     * Contains the resources generated by isolating annotation processors, grouped by the type they were generated from.
+     */
+    public Map<String, Set<GeneratedResource>> getGeneratedResourcesWithIsolatedOrigin() {
+        return generatedResourcesByOrigin;
+    }
+
+    /**
+     * Contains the resources that aggregating annotation processors generated.
+     * These resources are deleted before every incremental compilation, since all aggregated types are reprocessed and will generate them again.
+     */
+    public Set<GeneratedResource> getGeneratedAggregatingResources() {
+        return generatedResourcesDependingOnAllOthers;
+    }
+
     public void setFullRebuildCause(String fullRebuildCause) {
         this.fullRebuildCause = fullRebuildCause;
     }
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.compile.incremental.processing;
+
+import org.gradle.internal.serialize.AbstractSerializer;
+import org.gradle.internal.serialize.Decoder;
+import org.gradle.internal.serialize.Encoder;
+
+import javax.annotation.Nullable;
+import javax.tools.JavaFileManager;
+import javax.tools.StandardLocation;
+import java.io.Serializable;
+
+/**
+ * A resource that an incremental annotation processor created in one of the output locations of the compiler.
+ */
+public final class GeneratedResource implements Serializable {
+
+    /**
+     * The output locations incremental annotation processors are allowed to create resources in.
+     */
+    public enum Location {
+        CLASS_OUTPUT,
+        SOURCE_OUTPUT,
+        NATIVE_HEADER_OUTPUT;
+
+        @Nullable
+        public static Location from(JavaFileManager.Location location) {
+            if (location == StandardLocation.CLASS_OUTPUT) {
+                return CLASS_OUTPUT;
+            }
+            if (location == StandardLocation.SOURCE_OUTPUT) {
+                return SOURCE_OUTPUT;
+            }
+            if (location == StandardLocation.NATIVE_HEADER_OUTPUT) {
+                return NATIVE_HEADER_OUTPUT;
+            }
+            return null;
+        }
+    }
+
+    private final Location location;
+    private final String path;
+
+    public GeneratedResource(Location location, CharSequence pkg, CharSequence relativeName) {
+        this(location, pkg.length() == 0 ? relativeName.toString() : pkg.toString().replace('.', '/') + '/' + relativeName);
+    }
+
+    public GeneratedResource(Location location, String path) {
+        this.location = location;
+        this.path = path;
+    }
+
+    public Location getLocation() {
+        return location;
+    }
+
+    /**
+     * The path of this resource, relative to its location.
+     */
+    public String getPath() {
+        return path;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        GeneratedResource that = (GeneratedResource) o;
+        return location == that.location && path.equals(that.path);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * location.hashCode() + path.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return location + "/" + path;
+    }
+
+    public static final class Serializer extends AbstractSerializer<GeneratedResource> {
+        private static final Location[] LOCATIONS = Location.values();
+
+        @Override
+        public GeneratedResource read(Decoder decoder) throws Exception {
+            return new GeneratedResource(LOCATIONS[decoder.readSmallInt()], decoder.readString());
+        }
+
+        @Override
+        public void write(Encoder encoder, GeneratedResource value) throws Exception {
+            encoder.writeSmallInt(value.location.ordinal());
+            encoder.writeString(value.path);
+        }
+    }
+}
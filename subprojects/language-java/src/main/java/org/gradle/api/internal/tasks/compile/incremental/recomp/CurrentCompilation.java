@@ -47,6 +47,14 @@ public class CurrentCompilation {
         return spec.getAnnotationProcessorPath();
     }
 
+    /**
+     * Whether the dependents of a class with changed source only need to be recompiled when the ABI of the class changes.
+     * This is not the case when annotation processors run, as they can generate code from more than the ABI of a class.
+     */
+    public boolean isAbiChangeDetectionPossible() {
+        return spec.getAnnotationProcessorPath().isEmpty();
+    }
+
     public void visitChanges(Action<InputFileDetails> action) {
         inputs.outOfDate(action);
         inputs.removed(action);
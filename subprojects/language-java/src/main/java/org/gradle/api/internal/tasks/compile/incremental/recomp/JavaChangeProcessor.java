@@ -24,15 +24,27 @@ class JavaChangeProcessor {
 
     private final SourceToNameConverter sourceToNameConverter;
     private final PreviousCompilation previousCompilation;
+    private final boolean abiChangeDetection;
 
-    public JavaChangeProcessor(PreviousCompilation previousCompilation, SourceToNameConverter sourceToNameConverter) {
+    public JavaChangeProcessor(PreviousCompilation previousCompilation, SourceToNameConverter sourceToNameConverter, boolean abiChangeDetection) {
         this.previousCompilation = previousCompilation;
         this.sourceToNameConverter = sourceToNameConverter;
+        this.abiChangeDetection = abiChangeDetection;
     }
 
     public void processChange(InputFileDetails input, RecompilationSpec spec) {
         String className = sourceToNameConverter.getClassName(input.getFile());
         spec.getClassesToCompile().add(className);
+        if (abiChangeDetection) {
+            // The dependents are only compiled when the ABI of the recompiled class changes, which also covers changed constants
+            DependentsSet dependents = previousCompilation.getDependentsIgnoringConstants(className);
+            if (dependents.isDependencyToAll()) {
+                spec.setFullRebuildCause(dependents.getDescription(), input.getFile());
+                return;
+            }
+            spec.getClassesToCheckForAbiChange().add(className);
+            return;
+        }
         DependentsSet actualDependents = previousCompilation.getDependents(className, IntSets.EMPTY_SET);
         if (actualDependents.isDependencyToAll()) {
             spec.setFullRebuildCause(actualDependents.getDescription(), input.getFile());
@@ -18,14 +18,19 @@ package org.gradle.api.internal.tasks.compile.incremental.recomp;
 
 import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.ints.IntSet;
+import it.unimi.dsi.fastutil.ints.IntSets;
 import org.gradle.api.internal.tasks.compile.incremental.classpath.ClasspathEntrySnapshot;
 import org.gradle.api.internal.tasks.compile.incremental.classpath.ClasspathEntrySnapshotCache;
 import org.gradle.api.internal.tasks.compile.incremental.classpath.ClasspathSnapshotData;
 import org.gradle.api.internal.tasks.compile.incremental.deps.ClassSetAnalysis;
 import org.gradle.api.internal.tasks.compile.incremental.deps.DependentsSet;
+import org.gradle.api.internal.tasks.compile.incremental.processing.AnnotationProcessingData;
+import org.gradle.api.internal.tasks.compile.incremental.processing.GeneratedResource;
 
 import java.io.File;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -51,7 +56,8 @@ public class PreviousCompilation {
 
     private ClassSetAnalysis getClassAnalysis() {
         if (classAnalysis == null) {
-            classAnalysis = previousCompilationOutputAnalyzer.getAnalysis(data.getDestinationDir()).withAnnotationProcessingData(data.getAnnotationProcessingData());
+            classAnalysis = previousCompilationOutputAnalyzer.getAnalysis(data.getDestinationDir()).withAnnotationProcessingData(data.getAnnotationProcessingData())
+                .withConstantUsageData(data.getConstantUsageData());
         }
         return classAnalysis;
     }
@@ -79,10 +85,32 @@ public class PreviousCompilation {
         return getClassAnalysis().getRelevantDependents(className, constants);
     }
 
+    /**
+     * Returns the dependents of the given class without taking the constants it declares into account.
+     */
+    public DependentsSet getDependentsIgnoringConstants(String className) {
+        return getClassAnalysis().getRelevantDependents(className, IntSets.EMPTY_SET);
+    }
+
     public Set<String> getTypesToReprocess() {
         return getClassAnalysis().getTypesToReprocess();
     }
 
+    /**
+     * Returns the resources that annotation processors generated from the given types, as well as all resources generated by aggregating processors.
+     */
+    public Set<GeneratedResource> getGeneratedResources(Collection<String> originatingTypes) {
+        AnnotationProcessingData processingData = data.getAnnotationProcessingData();
+        Set<GeneratedResource> resources = new LinkedHashSet<GeneratedResource>(processingData.getGeneratedResourcesDependingOnAllOthers());
+        for (String type : originatingTypes) {
+            Set<GeneratedResource> generated = processingData.getGeneratedResourcesByOrigin().get(type);
+            if (generated != null) {
+                resources.addAll(generated);
+            }
+        }
+        return resources;
+    }
+
 
     public List<File> getAnnotationProcessorPath() {
         return data.getAnnotationProcessorPath();
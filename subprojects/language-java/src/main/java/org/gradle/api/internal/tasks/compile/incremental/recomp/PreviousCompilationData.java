@@ -19,6 +19,7 @@ package org.gradle.api.internal.tasks.compile.incremental.recomp;
 import org.gradle.api.internal.cache.StringInterner;
 import org.gradle.api.internal.tasks.compile.incremental.classpath.ClasspathSnapshotData;
 import org.gradle.api.internal.tasks.compile.incremental.classpath.ClasspathSnapshotDataSerializer;
+import org.gradle.api.internal.tasks.compile.incremental.constants.ConstantUsageData;
 import org.gradle.api.internal.tasks.compile.incremental.processing.AnnotationProcessingData;
 import org.gradle.internal.serialize.AbstractSerializer;
 import org.gradle.internal.serialize.BaseSerializerFactory;
@@ -26,6 +27,7 @@ import org.gradle.internal.serialize.Decoder;
 import org.gradle.internal.serialize.Encoder;
 import org.gradle.internal.serialize.ListSerializer;
 
+import javax.annotation.Nullable;
 import java.io.File;
 import java.util.List;
 
@@ -34,12 +36,14 @@ public class PreviousCompilationData {
     private final AnnotationProcessingData annotationProcessingData;
     private final ClasspathSnapshotData classpathSnapshot;
     private final List<File> annotationProcessorPath;
+    private final ConstantUsageData constantUsageData;
 
-    public PreviousCompilationData(File destinationDir, AnnotationProcessingData annotationProcessingData, ClasspathSnapshotData classpathSnapshot, List<File> annotationProcessorPath) {
+    public PreviousCompilationData(File destinationDir, AnnotationProcessingData annotationProcessingData, ClasspathSnapshotData classpathSnapshot, List<File> annotationProcessorPath, @Nullable ConstantUsageData constantUsageData) {
         this.destinationDir = destinationDir;
         this.annotationProcessingData = annotationProcessingData;
         this.classpathSnapshot = classpathSnapshot;
         this.annotationProcessorPath = annotationProcessorPath;
+        this.constantUsageData = constantUsageData;
     }
 
     public File getDestinationDir() {
@@ -58,15 +62,25 @@ public class PreviousCompilationData {
         return annotationProcessorPath;
     }
 
+    /**
+     * The constant usages of the compiled classes, or null if the compiler did not track them.
+     */
+    @Nullable
+    public ConstantUsageData getConstantUsageData() {
+        return constantUsageData;
+    }
+
     public static class Serializer extends AbstractSerializer<PreviousCompilationData> {
         private final ClasspathSnapshotDataSerializer classpathSnapshotDataSerializer;
         private final ListSerializer<File> processorPathSerializer;
         private final AnnotationProcessingData.Serializer annotationProcessingDataSerializer;
+        private final ConstantUsageData.Serializer constantUsageDataSerializer;
 
         public Serializer(StringInterner interner) {
             classpathSnapshotDataSerializer = new ClasspathSnapshotDataSerializer();
             processorPathSerializer = new ListSerializer<File>(BaseSerializerFactory.FILE_SERIALIZER);
             annotationProcessingDataSerializer = new AnnotationProcessingData.Serializer(interner);
+            constantUsageDataSerializer = new ConstantUsageData.Serializer(interner);
         }
 
         @Override
@@ -75,7 +89,8 @@ public class PreviousCompilationData {
             ClasspathSnapshotData classpathSnapshot = classpathSnapshotDataSerializer.read(decoder);
             List<File> processorPath = processorPathSerializer.read(decoder);
             AnnotationProcessingData annotationProcessingData = annotationProcessingDataSerializer.read(decoder);
-            return new PreviousCompilationData(destinationDir, annotationProcessingData, classpathSnapshot, processorPath);
+            ConstantUsageData constantUsageData = decoder.readBoolean() ? constantUsageDataSerializer.read(decoder) : null;
+            return new PreviousCompilationData(destinationDir, annotationProcessingData, classpathSnapshot, processorPath, constantUsageData);
         }
 
         @Override
@@ -84,6 +99,10 @@ public class PreviousCompilationData {
             classpathSnapshotDataSerializer.write(encoder, value.classpathSnapshot);
             processorPathSerializer.write(encoder, value.annotationProcessorPath);
             annotationProcessingDataSerializer.write(encoder, value.annotationProcessingData);
+            encoder.writeBoolean(value.constantUsageData != null);
+            if (value.constantUsageData != null) {
+                constantUsageDataSerializer.write(encoder, value.constantUsageData);
+            }
         }
     }
 }
@@ -16,6 +16,8 @@
 
 package org.gradle.api.internal.tasks.compile.incremental.recomp;
 
+import org.gradle.api.internal.tasks.compile.incremental.processing.GeneratedResource;
+
 import java.io.File;
 import java.util.Collection;
 import java.util.LinkedHashSet;
@@ -24,6 +26,8 @@ public class RecompilationSpec {
 
     private final Collection<String> classesToCompile = new NormalizingClassNamesSet();
     private final Collection<String> classesToProcess = new NormalizingClassNamesSet();
+    private final Collection<String> classesToCheckForAbiChange = new NormalizingClassNamesSet();
+    private final Collection<GeneratedResource> resourcesToDelete = new LinkedHashSet<GeneratedResource>();
     private String fullRebuildCause;
 
     public Collection<String> getClassesToCompile() {
@@ -34,6 +38,20 @@ public class RecompilationSpec {
         return classesToProcess;
     }
 
+    /**
+     * The classes with changed sources whose dependents were not added to the classes to compile. Their dependents only need to be compiled when the ABI of these classes changes.
+     */
+    public Collection<String> getClassesToCheckForAbiChange() {
+        return classesToCheckForAbiChange;
+    }
+
+    /**
+     * The resources generated by annotation processors that are stale, because the types they were generated from are recompiled or reprocessed.
+     */
+    public Collection<GeneratedResource> getResourcesToDelete() {
+        return resourcesToDelete;
+    }
+
     public boolean isBuildNeeded() {
         return isFullRebuildNeeded() || !classesToCompile.isEmpty() || !classesToProcess.isEmpty();
     }
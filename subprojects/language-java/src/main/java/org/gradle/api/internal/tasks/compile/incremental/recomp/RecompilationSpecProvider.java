@@ -39,7 +39,13 @@ public class RecompilationSpecProvider {
         RecompilationSpec spec = new RecompilationSpec();
         processClasspathChanges(current, previous, spec);
         processOtherChanges(current, previous, spec);
+        // An aggregating processor only sees the types of the current compilation, and a recompiled source may have gained one of its annotations.
+        // That is only known once the source is processed, so all previously aggregated types are reprocessed, though not recompiled.
         spec.getClassesToProcess().addAll(previous.getTypesToReprocess());
+        if (!spec.isFullRebuildNeeded()) {
+            spec.getResourcesToDelete().addAll(previous.getGeneratedResources(spec.getClassesToCompile()));
+            spec.getResourcesToDelete().addAll(previous.getGeneratedResources(spec.getClassesToProcess()));
+        }
         return spec;
     }
 
@@ -77,7 +83,7 @@ public class RecompilationSpecProvider {
     }
 
     private void processOtherChanges(CurrentCompilation current, PreviousCompilation previous, RecompilationSpec spec) {
-        JavaChangeProcessor javaChangeProcessor = new JavaChangeProcessor(previous, sourceToNameConverter);
+        JavaChangeProcessor javaChangeProcessor = new JavaChangeProcessor(previous, sourceToNameConverter, current.isAbiChangeDetectionPossible());
         AnnotationProcessorChangeProcessor annotationProcessorChangeProcessor = new AnnotationProcessorChangeProcessor(current, previous);
         InputChangeAction action = new InputChangeAction(spec, javaChangeProcessor, annotationProcessorChangeProcessor);
         current.visitChanges(action);
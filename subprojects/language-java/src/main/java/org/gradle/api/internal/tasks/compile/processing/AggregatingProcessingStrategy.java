@@ -17,6 +17,7 @@
 package org.gradle.api.internal.tasks.compile.processing;
 
 import org.gradle.api.internal.tasks.compile.incremental.processing.AnnotationProcessingResult;
+import org.gradle.api.internal.tasks.compile.incremental.processing.GeneratedResource;
 
 import javax.annotation.processing.RoundEnvironment;
 import javax.lang.model.element.Element;
@@ -67,4 +68,9 @@ class AggregatingProcessingStrategy extends IncrementalProcessingStrategy {
     public void recordGeneratedType(CharSequence name, Element[] originatingElements) {
         result.getGeneratedAggregatingTypes().add(name.toString());
     }
+
+    @Override
+    public void recordGeneratedResource(GeneratedResource resource, Element[] originatingElements) {
+        result.getGeneratedAggregatingResources().add(resource);
+    }
 }
@@ -17,6 +17,7 @@
 package org.gradle.api.internal.tasks.compile.processing;
 
 import org.gradle.api.internal.tasks.compile.incremental.processing.AnnotationProcessingResult;
+import org.gradle.api.internal.tasks.compile.incremental.processing.GeneratedResource;
 
 import javax.annotation.processing.RoundEnvironment;
 import javax.lang.model.element.Element;
@@ -55,4 +56,9 @@ public class DynamicProcessingStrategy extends IncrementalProcessingStrategy {
     public void recordGeneratedType(CharSequence name, Element[] originatingElements) {
         delegate.recordGeneratedType(name, originatingElements);
     }
+
+    @Override
+    public void recordGeneratedResource(GeneratedResource resource, Element[] originatingElements) {
+        delegate.recordGeneratedResource(resource, originatingElements);
+    }
 }
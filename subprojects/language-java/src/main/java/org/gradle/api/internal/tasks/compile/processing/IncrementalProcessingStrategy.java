@@ -17,6 +17,7 @@
 package org.gradle.api.internal.tasks.compile.processing;
 
 import org.gradle.api.internal.tasks.compile.incremental.processing.AnnotationProcessingResult;
+import org.gradle.api.internal.tasks.compile.incremental.processing.GeneratedResource;
 
 import javax.annotation.processing.RoundEnvironment;
 import javax.lang.model.element.Element;
@@ -39,9 +40,16 @@ abstract class IncrementalProcessingStrategy {
     public abstract void recordGeneratedType(CharSequence name, Element[] originatingElements);
 
     public final void recordGeneratedResource(JavaFileManager.Location location, CharSequence pkg, CharSequence relativeName, Element[] originatingElements) {
-        result.setFullRebuildCause("incremental annotation processors are not allowed to create resources");
+        GeneratedResource.Location resourceLocation = GeneratedResource.Location.from(location);
+        if (resourceLocation == null) {
+            result.setFullRebuildCause("incremental annotation processors are not allowed to create resources in " + location.getName());
+            return;
+        }
+        recordGeneratedResource(new GeneratedResource(resourceLocation, pkg, relativeName), originatingElements);
     }
 
+    public abstract void recordGeneratedResource(GeneratedResource resource, Element[] originatingElements);
+
     public final void recordAccessedResource(JavaFileManager.Location location, CharSequence pkg, CharSequence relativeName) {
         result.setFullRebuildCause("incremental annotation processors are not allowed to read resources");
     }
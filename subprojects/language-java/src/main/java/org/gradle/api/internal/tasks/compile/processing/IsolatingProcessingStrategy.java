@@ -17,6 +17,7 @@
 package org.gradle.api.internal.tasks.compile.processing;
 
 import org.gradle.api.internal.tasks.compile.incremental.processing.AnnotationProcessingResult;
+import org.gradle.api.internal.tasks.compile.incremental.processing.GeneratedResource;
 
 import javax.annotation.processing.RoundEnvironment;
 import javax.lang.model.element.Element;
@@ -52,4 +53,14 @@ class IsolatingProcessingStrategy extends IncrementalProcessingStrategy {
         }
         result.addGeneratedType(generatedType, originatingTypes);
     }
+
+    @Override
+    public void recordGeneratedResource(GeneratedResource resource, Element[] originatingElements) {
+        Set<String> originatingTypes = ElementUtils.getTopLevelTypeNames(originatingElements);
+        int size = originatingTypes.size();
+        if (size != 1) {
+            result.setFullRebuildCause("the generated resource '" + resource.getPath() + "' must have exactly one originating element, but had " + size);
+        }
+        result.addGeneratedResource(resource, originatingTypes);
+    }
 }
@@ -17,6 +17,7 @@
 package org.gradle.api.internal.tasks.compile.processing;
 
 import org.gradle.api.internal.tasks.compile.incremental.processing.AnnotationProcessingResult;
+import org.gradle.api.internal.tasks.compile.incremental.processing.GeneratedResource;
 
 import javax.annotation.processing.RoundEnvironment;
 import javax.lang.model.element.Element;
@@ -46,4 +47,8 @@ public class NonIncrementalProcessingStrategy extends IncrementalProcessingStrat
     public void recordGeneratedType(CharSequence name, Element[] originatingElements) {
 
     }
+
+    @Override
+    public void recordGeneratedResource(GeneratedResource resource, Element[] originatingElements) {
+    }
 }
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.compile
+
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+import javax.tools.JavaCompiler
+import javax.tools.StandardJavaFileManager
+import java.nio.charset.Charset
+
+class JavaFileManagerPoolTest extends Specification {
+    @Rule
+    final TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider()
+
+    def compiler = Stub(JavaCompiler) {
+        getStandardFileManager(_, _, _) >> { Mock(StandardJavaFileManager) }
+    }
+    def pool = new JavaFileManagerPool(2)
+    def jar = tmpDir.file("lib.jar").createFile()
+
+    def "reuses file manager of finished compilation with the same kinds of options"() {
+        def fileManager = pool.acquire(compiler, null, ["-classpath", "a.jar", "-d", "out"], [jar])
+
+        when:
+        pool.release(fileManager)
+
+        then:
+        0 * fileManager.close()
+        pool.acquire(compiler, null, ["-d", "other", "-classpath", "b.jar"], [jar]).is(fileManager)
+    }
+
+    def "does not reuse file manager while it is in use"() {
+        def fileManager = pool.acquire(compiler, null, ["-d", "out"], [])
+
+        expect:
+        !pool.acquire(compiler, null, ["-d", "out"], []).is(fileManager)
+    }
+
+    def "does not reuse file manager for compilations with other options or encoding"() {
+        def fileManager = pool.acquire(compiler, null, ["-d", "out"], [])
+        pool.release(fileManager)
+
+        expect:
+        !pool.acquire(compiler, null, ["-d", "out", "-bootclasspath", "rt.jar"], []).is(fileManager)
+        !pool.acquire(compiler, Charset.forName("UTF-16"), ["-d", "out"], []).is(fileManager)
+    }
+
+    def "discards file managers when a jar on the classpath changes"() {
+        def fileManager = pool.acquire(compiler, null, ["-d", "out"], [jar])
+        pool.release(fileManager)
+
+        when:
+        jar << "changed"
+        def other = pool.acquire(compiler, null, ["-d", "out"], [jar])
+
+        then:
+        1 * fileManager.close()
+        !other.is(fileManager)
+    }
+
+    def "closes file managers that were in use when a jar changed once they are released"() {
+        def fileManager = pool.acquire(compiler, null, ["-d", "out"], [jar])
+        jar << "changed"
+        pool.acquire(compiler, null, ["-d", "out"], [jar])
+
+        when:
+        pool.release(fileManager)
+
+        then:
+        1 * fileManager.close()
+    }
+
+    def "keeps a limited number of idle file managers"() {
+        def fileManagers = (1..3).collect { pool.acquire(compiler, null, ["-d", "out"], []) }
+
+        when:
+        fileManagers.each { pool.release(it) }
+
+        then:
+        0 * fileManagers[0].close()
+        0 * fileManagers[1].close()
+        1 * fileManagers[2].close()
+    }
+
+    def "closes all file managers when stopped"() {
+        def idle = pool.acquire(compiler, null, ["-d", "out"], [])
+        def inUse = pool.acquire(compiler, null, ["-d", "out"], [])
+        pool.release(idle)
+
+        when:
+        pool.stop()
+
+        then:
+        1 * idle.close()
+
+        when:
+        pool.release(inUse)
+
+        then:
+        1 * inUse.close()
+    }
+}
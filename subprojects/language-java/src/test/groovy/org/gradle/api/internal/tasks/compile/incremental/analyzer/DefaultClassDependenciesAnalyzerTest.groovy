@@ -33,6 +33,7 @@ import org.gradle.api.internal.tasks.compile.incremental.test.SomeClass
 import org.gradle.api.internal.tasks.compile.incremental.test.SomeOtherClass
 import org.gradle.api.internal.tasks.compile.incremental.test.UsedByNonPrivateConstantsClass
 import org.gradle.api.internal.tasks.compile.incremental.test.YetAnotherClass
+import org.gradle.internal.hash.HashCode
 import spock.lang.Specification
 import spock.lang.Subject
 
@@ -56,6 +57,14 @@ class DefaultClassDependenciesAnalyzerTest extends Specification {
         analyze(SomeOtherClass).classDependencies == [YetAnotherClass.name, SomeClass.name] as Set
     }
 
+    def "analyzes a class file that was read into memory"() {
+        def analysis = analyzer.getClassAnalysis(HashCode.fromInt(123), classStream(SomeOtherClass).bytes)
+
+        expect:
+        analysis.className == SomeOtherClass.name
+        analysis.classDependencies == [YetAnotherClass.name, SomeClass.name] as Set
+    }
+
     def "knows basic class dependencies of a groovy class"() {
         def deps = analyze(DefaultClassDependenciesAnalyzerTest).classDependencies
 
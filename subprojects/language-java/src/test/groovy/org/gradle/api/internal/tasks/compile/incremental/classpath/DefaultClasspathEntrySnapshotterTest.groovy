@@ -18,7 +18,10 @@
 
 package org.gradle.api.internal.tasks.compile.incremental.classpath
 
+import it.unimi.dsi.fastutil.ints.IntSets
 import org.gradle.api.file.ConfigurableFileTree
+import org.gradle.api.file.FileTree
+import org.gradle.api.file.FileVisitDetails
 import org.gradle.api.file.FileVisitor
 import org.gradle.api.internal.file.DefaultFileVisitDetails
 import org.gradle.api.internal.file.FileOperations
@@ -27,6 +30,7 @@ import org.gradle.api.internal.tasks.compile.incremental.deps.ClassAnalysis
 import org.gradle.internal.hash.FileHasher
 import org.gradle.internal.hash.HashCode
 import org.gradle.internal.hash.StreamHasher
+import org.gradle.internal.operations.TestBuildOperationExecutor
 import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
 import org.gradle.util.UsesNativeServices
 import org.junit.Rule
@@ -42,7 +46,7 @@ class DefaultClasspathEntrySnapshotterTest extends Specification {
     def streamHasher = Mock(StreamHasher)
     def classDependenciesAnalyzer = Mock(ClassDependenciesAnalyzer)
     def fileOperations = Mock(FileOperations)
-    @Subject snapshotter = new DefaultClasspathEntrySnapshotter(fileHasher, streamHasher, classDependenciesAnalyzer, fileOperations)
+    @Subject snapshotter = new DefaultClasspathEntrySnapshotter(fileHasher, streamHasher, classDependenciesAnalyzer, fileOperations, new TestBuildOperationExecutor())
 
     def "creates snapshot for an empty entry"() {
         expect:
@@ -87,4 +91,39 @@ class DefaultClasspathEntrySnapshotterTest extends Specification {
         snapshot.hashes == ["Foo": f1Hash, "com.Foo2": f2Hash]
         snapshot.classAnalysis
     }
+
+    def "reads jar entries while visiting and analyzes them in batches"() {
+        def jar = temp.createFile("lib.jar")
+        def fileTree = Mock(FileTree)
+        def classes = (1..250).collect { i ->
+            Stub(FileVisitDetails) {
+                getName() >> "Foo${i}.class"
+                getPath() >> "Foo${i}.class"
+                open() >> new ByteArrayInputStream([(byte) i] as byte[])
+            }
+        }
+
+        when:
+        def snapshot = snapshotter.createSnapshot(HashCode.fromInt(123), jar)
+
+        then:
+        1 * fileOperations.zipTree(jar) >> fileTree
+        1 * fileTree.visit(_) >> { FileVisitor visitor ->
+            classes.each { visitor.visitFile(it) }
+        }
+        250 * streamHasher.hash(_) >> { InputStream input -> HashCode.fromInt(input.read()) }
+        250 * classDependenciesAnalyzer.getClassAnalysis(_, _ as byte[]) >> { HashCode hash, byte[] classFile ->
+            def content = classFile[0]
+            assert hash == HashCode.fromInt(content)
+            Stub(ClassAnalysis) {
+                getClassName() >> "Foo" + content
+                getConstants() >> IntSets.EMPTY_SET
+            }
+        }
+        0 * _._
+
+        and:
+        snapshot.hashes.size() == 250
+        snapshot.hashes["Foo250"] == HashCode.fromInt(250)
+    }
 }
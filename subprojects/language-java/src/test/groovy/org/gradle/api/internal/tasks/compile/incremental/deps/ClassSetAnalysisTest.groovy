@@ -17,7 +17,9 @@
 package org.gradle.api.internal.tasks.compile.incremental.deps
 
 import it.unimi.dsi.fastutil.ints.IntSet
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet
 import it.unimi.dsi.fastutil.ints.IntSets
+import org.gradle.api.internal.tasks.compile.incremental.constants.ConstantUsageData
 import org.gradle.api.internal.tasks.compile.incremental.processing.AnnotationProcessingData
 import spock.lang.Specification
 
@@ -204,6 +206,35 @@ class ClassSetAnalysisTest extends Specification {
         a.isDependencyToAll("DoesNotMatter")
     }
 
+    def "constant changes are a dependency to all if constant usages are unknown"() {
+        def a = analysis(["A": dependents("B"), "B": dependents()])
+
+        expect:
+        a.getRelevantDependents("A", constant(1)).dependencyToAll
+    }
+
+    def "constant changes affect the classes that inlined the constants"() {
+        def a = analysis(["A": dependents("B"), "B": dependents(), "C": dependents(), "D": dependents()])
+            .withConstantUsageData(new ConstantUsageData(["A": [] as Set, "B": [] as Set, "C": ["A"] as Set, "D": ["C"] as Set]))
+
+        expect:
+        a.getRelevantDependents("A", constant(1)).dependentClasses == ["B", "C", "D"] as Set
+        a.getRelevantDependents("A", IntSets.EMPTY_SET).dependentClasses == ["B"] as Set
+        a.getRelevantDependents('A$Inner', constant(1)).dependentClasses == ["C", "D"] as Set
+    }
+
+    def "constant changes are a dependency to all if some classes were not tracked"() {
+        def a = analysis(["A": dependents(), "B": dependents(), 'B$Inner': dependents()])
+            .withConstantUsageData(new ConstantUsageData(["A": [] as Set]))
+
+        expect:
+        a.getRelevantDependents("A", constant(1)).dependencyToAll
+    }
+
+    private static IntSet constant(int hash) {
+        new IntOpenHashSet([hash])
+    }
+
     private static DependentsSet dependentSet(boolean dependencyToAll, Collection<String> dependentClasses) {
         dependencyToAll ? DependentsSet.dependencyToAll() : dependents(dependentClasses as Set)
     }
@@ -17,6 +17,9 @@
 package org.gradle.api.internal.tasks.compile.processing
 
 import org.gradle.api.internal.tasks.compile.incremental.processing.AnnotationProcessingResult
+import org.gradle.api.internal.tasks.compile.incremental.processing.GeneratedResource
+
+import javax.tools.StandardLocation
 
 class AggregatingFilerTest extends IncrementalFilerTest {
 
@@ -50,4 +53,14 @@ class AggregatingFilerTest extends IncrementalFilerTest {
         result.generatedTypesWithIsolatedOrigin.isEmpty()
         result.generatedAggregatingTypes == ["Foo", "Bar"] as Set
     }
+
+    def "adds generated resources to the processing result"() {
+        when:
+        filer.createResource(StandardLocation.CLASS_OUTPUT, "", "META-INF/services/Foo", type("A"), type("B"))
+
+        then:
+        !result.fullRebuildCause
+        result.generatedResourcesWithIsolatedOrigin.isEmpty()
+        result.generatedAggregatingResources == [new GeneratedResource(GeneratedResource.Location.CLASS_OUTPUT, "META-INF/services/Foo")] as Set
+    }
 }
@@ -45,12 +45,12 @@ abstract class IncrementalFilerTest extends Specification {
         result.fullRebuildCause == "incremental annotation processors are not allowed to read resources"
     }
 
-    def "does a full rebuild  when trying to write resources"() {
+    def "does a full rebuild when trying to write resources outside of the output locations"() {
         when:
-        filer.createResource(StandardLocation.SOURCE_OUTPUT, "", "foo.txt")
+        filer.createResource(StandardLocation.SOURCE_PATH, "", "foo.txt", type("A"))
 
         then:
-        result.fullRebuildCause == "incremental annotation processors are not allowed to create resources"
+        result.fullRebuildCause == "incremental annotation processors are not allowed to create resources in SOURCE_PATH"
     }
 
     PackageElement pkg(String packageName) {
@@ -17,6 +17,9 @@
 package org.gradle.api.internal.tasks.compile.processing
 
 import org.gradle.api.internal.tasks.compile.incremental.processing.AnnotationProcessingResult
+import org.gradle.api.internal.tasks.compile.incremental.processing.GeneratedResource
+
+import javax.tools.StandardLocation
 
 class IsolatingFilerTest extends IncrementalFilerTest {
 
@@ -69,4 +72,23 @@ class IsolatingFilerTest extends IncrementalFilerTest {
         result.generatedTypesWithIsolatedOrigin["pkg.package-info"] == ["Foo"] as Set
         result.generatedTypesWithIsolatedOrigin["B"] == ["Foo", "Bar"] as Set
     }
+
+    def "does a full rebuild when a resource has no originating elements"() {
+        when:
+        filer.createResource(StandardLocation.CLASS_OUTPUT, "", "foo.txt")
+
+        then:
+        result.fullRebuildCause == "the generated resource 'foo.txt' must have exactly one originating element, but had 0"
+    }
+
+    def "adds generated resources to the processing result"() {
+        when:
+        filer.createResource(StandardLocation.CLASS_OUTPUT, "com.foo", "A.txt", type("A"))
+        filer.createResource(StandardLocation.SOURCE_OUTPUT, "", "B.txt", methodInside("B"))
+
+        then:
+        !result.fullRebuildCause
+        result.generatedResourcesWithIsolatedOrigin["A"] == [new GeneratedResource(GeneratedResource.Location.CLASS_OUTPUT, "com/foo/A.txt")] as Set
+        result.generatedResourcesWithIsolatedOrigin["B"] == [new GeneratedResource(GeneratedResource.Location.SOURCE_OUTPUT, "B.txt")] as Set
+    }
 }
@@ -23,10 +23,9 @@ import groovy.transform.CompileStatic
  * incremental compilation:
  *
  *  - reading resources
- *  - writing resources
  *  - generating files without originating elements
  *
- *  Useful for testing error reporting.
+ *  Useful for testing error reporting. It can also write a resource for each annotated type.
  */
 @CompileStatic
 class NonIncrementalProcessorFixture extends AnnotationProcessorFixture {
@@ -76,11 +75,23 @@ for (Element element : elements) {
     }
     try {
         ${readsResources ? 'filer.getResource(StandardLocation.SOURCE_OUTPUT, "", "thing.txt");' : ""}
-        ${writesResources ? 'filer.createResource(StandardLocation.SOURCE_OUTPUT, "", "thing.txt");' : ""}
+        ${writesResources ? resourceWriterCode : ""}
     } catch (Exception e) {
-        messager.printMessage(Diagnostic.Kind.ERROR, "Failed to generate resource file thing.txt");
+        messager.printMessage(Diagnostic.Kind.ERROR, "Failed to generate resource file " + className + ".txt");
     }
 }
+"""
+    }
+
+    private String getResourceWriterCode() {
+        """
+FileObject resource = filer.createResource(StandardLocation.CLASS_OUTPUT, "", className + ".txt"${providesNoOriginatingElements ? "" : ", element"});
+Writer resourceWriter = resource.openWriter();
+try {
+    resourceWriter.write("Hello World");
+} finally {
+    resourceWriter.close();
+}
 """
     }
 }
@@ -115,6 +115,10 @@ public class BuildActionSerializer {
             encoder.writeBoolean(startParameter.isBuildCacheEnabled());
             encoder.writeBoolean(startParameter.isBuildCacheDebugLogging());
             encoder.writeBoolean(startParameter.isConfigureOnDemand());
+            encoder.writeBoolean(startParameter.isTaskSelectionCache());
+            encoder.writeBoolean(startParameter.isParallelProjectConfiguration());
+            encoder.writeBoolean(startParameter.isParallelScriptCompilation());
+            encoder.writeBoolean(startParameter.isScriptBuildCache());
             encoder.writeBoolean(startParameter.isContinuous());
             encoder.writeBoolean(startParameter.isBuildScan());
             encoder.writeBoolean(startParameter.isNoBuildScan());
@@ -187,6 +191,10 @@ public class BuildActionSerializer {
             startParameter.setBuildCacheEnabled(decoder.readBoolean());
             startParameter.setBuildCacheDebugLogging(decoder.readBoolean());
             startParameter.setConfigureOnDemand(decoder.readBoolean());
+            startParameter.setTaskSelectionCache(decoder.readBoolean());
+            startParameter.setParallelProjectConfiguration(decoder.readBoolean());
+            startParameter.setParallelScriptCompilation(decoder.readBoolean());
+            startParameter.setScriptBuildCache(decoder.readBoolean());
             startParameter.setContinuous(decoder.readBoolean());
             startParameter.setBuildScan(decoder.readBoolean());
             startParameter.setNoBuildScan(decoder.readBoolean());
@@ -35,6 +35,10 @@ class PropertiesToStartParameterConverterTest extends Specification {
         converter.convert([(StartParameterBuildOptions.BuildCacheOption.GRADLE_PROPERTY): "true"], new StartParameterInternal()).buildCacheEnabled
         converter.convert([(StartParameterBuildOptions.ConfigureOnDemandOption.GRADLE_PROPERTY): "TRUE"], new StartParameterInternal()).configureOnDemand
         !converter.convert([(StartParameterBuildOptions.ConfigureOnDemandOption.GRADLE_PROPERTY): "xxx"], new StartParameterInternal()).configureOnDemand
+        converter.convert([(StartParameterBuildOptions.TaskSelectionCacheOption.GRADLE_PROPERTY): "true"], new StartParameterInternal()).taskSelectionCache
+        converter.convert([(StartParameterBuildOptions.ParallelProjectConfigurationOption.GRADLE_PROPERTY): "true"], new StartParameterInternal()).parallelProjectConfiguration
+        converter.convert([(StartParameterBuildOptions.ParallelScriptCompilationOption.GRADLE_PROPERTY): "true"], new StartParameterInternal()).parallelScriptCompilation
+        converter.convert([(StartParameterBuildOptions.ScriptBuildCacheOption.GRADLE_PROPERTY): "true"], new StartParameterInternal()).scriptBuildCache
     }
 
     def invalidMaxWorkersProperty() {
@@ -128,7 +128,7 @@ public class MavenPlugin implements Plugin<ProjectInternal> {
     }
 
     private void configureUploadTasks(final DefaultDeployerFactory deployerFactory) {
-        project.getTasks().withType(Upload.class, new Action<Upload>() {
+        project.getTasks().withType(Upload.class).configureEach(new Action<Upload>() {
             public void execute(Upload upload) {
                 RepositoryHandler repositories = upload.getRepositories();
                 DefaultRepositoryHandler handler = (DefaultRepositoryHandler) repositories;
@@ -195,12 +195,16 @@ public class MavenPlugin implements Plugin<ProjectInternal> {
                 Conf2ScopeMappingContainer.PROVIDED);
     }
 
-    private void configureInstall(Project project) {
-        Upload installUpload = project.getTasks().create(INSTALL_TASK_NAME, Upload.class);
-        Configuration configuration = project.getConfigurations().getByName(Dependency.ARCHIVES_CONFIGURATION);
-        installUpload.setConfiguration(configuration);
-        MavenRepositoryHandlerConvention repositories = new DslObject(installUpload.getRepositories()).getConvention().getPlugin(MavenRepositoryHandlerConvention.class);
-        repositories.mavenInstaller();
-        installUpload.setDescription("Installs the 'archives' artifacts into the local Maven repository.");
+    private void configureInstall(final Project project) {
+        project.getTasks().register(INSTALL_TASK_NAME, Upload.class, new Action<Upload>() {
+            @Override
+            public void execute(Upload installUpload) {
+                Configuration configuration = project.getConfigurations().getByName(Dependency.ARCHIVES_CONFIGURATION);
+                installUpload.setConfiguration(configuration);
+                MavenRepositoryHandlerConvention repositories = new DslObject(installUpload.getRepositories()).getConvention().getPlugin(MavenRepositoryHandlerConvention.class);
+                repositories.mavenInstaller();
+                installUpload.setDescription("Installs the 'archives' artifacts into the local Maven repository.");
+            }
+        });
     }
 }
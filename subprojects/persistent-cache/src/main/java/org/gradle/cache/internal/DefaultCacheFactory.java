@@ -15,6 +15,7 @@
  */
 package org.gradle.cache.internal;
 
+import com.google.common.util.concurrent.Uninterruptibles;
 import org.gradle.api.Action;
 import org.gradle.cache.CacheBuilder;
 import org.gradle.cache.CacheOpenException;
@@ -40,6 +41,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -64,12 +66,41 @@ public class DefaultCacheFactory implements CacheFactory, Closeable {
 
     @Override
     public PersistentCache open(File cacheDir, String displayName, @Nullable CacheValidator cacheValidator, Map<String, ?> properties, CacheBuilder.LockTarget lockTarget, LockOptions lockOptions, Action<? super PersistentCache> initializer, CleanupAction cleanup) throws CacheOpenException {
+        File canonicalDir = FileUtils.canonicalize(cacheDir);
+        DirCacheReference dirCacheReference;
+        ReferenceTrackingCache reference;
+        boolean created = false;
         lock.lock();
         try {
-            return doOpen(cacheDir, displayName, cacheValidator, properties, lockTarget, lockOptions, initializer, cleanup);
+            dirCacheReference = dirCaches.get(canonicalDir);
+            if (dirCacheReference == null) {
+                dirCacheReference = new DirCacheReference(create(canonicalDir, displayName, cacheValidator, properties, lockTarget, lockOptions, initializer, cleanup), properties, lockTarget, lockOptions);
+                dirCaches.put(canonicalDir, dirCacheReference);
+                created = true;
+            } else {
+                if (!lockOptions.equals(dirCacheReference.lockOptions)) {
+                    throw new IllegalStateException(String.format("Cache '%s' is already open with different lock options.", cacheDir));
+                }
+                if (lockTarget != dirCacheReference.lockTarget) {
+                    throw new IllegalStateException(String.format("Cache '%s' is already open with different lock target.", cacheDir));
+                }
+                if (!properties.equals(dirCacheReference.properties)) {
+                    throw new IllegalStateException(String.format("Cache '%s' is already open with different properties.", cacheDir));
+                }
+            }
+            reference = new ReferenceTrackingCache(dirCacheReference);
         } finally {
             lock.unlock();
         }
+
+        // Open, and possibly initialize, the cache without holding the factory lock, so that different caches can be initialized concurrently.
+        // Any other opener of the same cache waits for it to be opened
+        if (created) {
+            dirCacheReference.open();
+        } else {
+            dirCacheReference.awaitOpened();
+        }
+        return reference;
     }
 
     public void close() {
@@ -82,31 +113,12 @@ public class DefaultCacheFactory implements CacheFactory, Closeable {
         }
     }
 
-    private PersistentCache doOpen(File cacheDir, String displayName, @Nullable CacheValidator validator, Map<String, ?> properties, CacheBuilder.LockTarget lockTarget, LockOptions lockOptions, @Nullable Action<? super PersistentCache> initializer, @Nullable CleanupAction cleanup) {
-        File canonicalDir = FileUtils.canonicalize(cacheDir);
-        DirCacheReference dirCacheReference = dirCaches.get(canonicalDir);
-        if (dirCacheReference == null) {
-            ReferencablePersistentCache cache;
-            if (!properties.isEmpty() || validator != null || initializer != null) {
-                cache = new DefaultPersistentDirectoryCache(canonicalDir, displayName, validator, properties, lockTarget, lockOptions, initializer, cleanup, lockManager, executorFactory, progressLoggerFactory);
-            } else {
-                cache = new DefaultPersistentDirectoryStore(canonicalDir, displayName, lockTarget, lockOptions, cleanup, lockManager, executorFactory, progressLoggerFactory);
-            }
-            cache.open();
-            dirCacheReference = new DirCacheReference(cache, properties, lockTarget, lockOptions);
-            dirCaches.put(canonicalDir, dirCacheReference);
+    private ReferencablePersistentCache create(File canonicalDir, String displayName, @Nullable CacheValidator validator, Map<String, ?> properties, CacheBuilder.LockTarget lockTarget, LockOptions lockOptions, @Nullable Action<? super PersistentCache> initializer, @Nullable CleanupAction cleanup) {
+        if (!properties.isEmpty() || validator != null || initializer != null) {
+            return new DefaultPersistentDirectoryCache(canonicalDir, displayName, validator, properties, lockTarget, lockOptions, initializer, cleanup, lockManager, executorFactory, progressLoggerFactory);
         } else {
-            if (!lockOptions.equals(dirCacheReference.lockOptions)) {
-                throw new IllegalStateException(String.format("Cache '%s' is already open with different lock options.", cacheDir));
-            }
-            if (lockTarget != dirCacheReference.lockTarget) {
-                throw new IllegalStateException(String.format("Cache '%s' is already open with different lock target.", cacheDir));
-            }
-            if (!properties.equals(dirCacheReference.properties)) {
-                throw new IllegalStateException(String.format("Cache '%s' is already open with different properties.", cacheDir));
-            }
+            return new DefaultPersistentDirectoryStore(canonicalDir, displayName, lockTarget, lockOptions, cleanup, lockManager, executorFactory, progressLoggerFactory);
         }
-        return new ReferenceTrackingCache(dirCacheReference);
     }
 
     private class DirCacheReference implements Closeable {
@@ -115,13 +127,40 @@ public class DefaultCacheFactory implements CacheFactory, Closeable {
         private final LockOptions lockOptions;
         private final ReferencablePersistentCache cache;
         private final Set<ReferenceTrackingCache> references = new HashSet<ReferenceTrackingCache>();
+        private final CountDownLatch opened = new CountDownLatch(1);
+        private volatile RuntimeException failure;
 
         DirCacheReference(ReferencablePersistentCache cache, Map<String, ?> properties, CacheBuilder.LockTarget lockTarget, LockOptions lockOptions) {
             this.cache = cache;
             this.properties = properties;
             this.lockTarget = lockTarget;
             this.lockOptions = lockOptions;
-            onOpen(cache);
+        }
+
+        void open() {
+            try {
+                cache.open();
+                onOpen(cache);
+            } catch (RuntimeException e) {
+                failure = e;
+                lock.lock();
+                try {
+                    dirCaches.values().remove(this);
+                    references.clear();
+                } finally {
+                    lock.unlock();
+                }
+                throw e;
+            } finally {
+                opened.countDown();
+            }
+        }
+
+        void awaitOpened() {
+            Uninterruptibles.awaitUninterruptibly(opened);
+            if (failure != null) {
+                throw new CacheOpenException(String.format("Could not open %s.", cache), failure);
+            }
         }
 
         public void addReference(ReferenceTrackingCache cache) {
@@ -18,6 +18,7 @@ package org.gradle.cache.internal
 import org.gradle.api.Action
 import org.gradle.cache.CacheBuilder
 import org.gradle.cache.CacheValidator
+import org.gradle.cache.PersistentCache
 import org.gradle.cache.internal.locklistener.NoOpFileLockContentionHandler
 import org.gradle.internal.concurrent.ExecutorFactory
 import org.gradle.internal.progress.NoOpProgressLoggerFactory
@@ -25,6 +26,10 @@ import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
 import org.junit.Rule
 import spock.lang.Specification
 
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
 import static org.gradle.cache.FileLockManager.LockMode.Exclusive
 import static org.gradle.cache.FileLockManager.LockMode.Shared
 import static org.gradle.cache.internal.filelock.LockOptionsBuilder.mode
@@ -222,4 +227,40 @@ class DefaultCacheFactoryTest extends Specification {
         cleanup:
         factory.close()
     }
+
+    void "can open a cache while another cache is being initialized"() {
+        def executor = Executors.newSingleThreadExecutor()
+
+        when:
+        def cache = factory.open(tmpDir.file("first"), null, null, [prop: 'value'], CacheBuilder.LockTarget.DefaultTarget, mode(Exclusive), { PersistentCache c ->
+            def other = executor.submit({
+                factory.open(tmpDir.file("second"), null, null, [prop: 'value'], CacheBuilder.LockTarget.DefaultTarget, mode(Exclusive), null, null)
+            } as Callable)
+            assert other.get(10, TimeUnit.SECONDS) != null
+        } as Action, null)
+
+        then:
+        cache.baseDir == tmpDir.file("first")
+
+        cleanup:
+        executor.shutdownNow()
+        factory.close()
+    }
+
+    void "can open cache again after its initialization failed"() {
+        when:
+        factory.open(tmpDir.testDirectory, null, null, [prop: 'value'], CacheBuilder.LockTarget.DefaultTarget, mode(Exclusive), { throw new RuntimeException("broken") } as Action, null)
+
+        then:
+        thrown(RuntimeException)
+
+        when:
+        def cache = factory.open(tmpDir.testDirectory, null, null, [prop: 'value'], CacheBuilder.LockTarget.DefaultTarget, mode(Exclusive), null, null)
+
+        then:
+        cache.baseDir == tmpDir.testDirectory
+
+        cleanup:
+        factory.close()
+    }
 }
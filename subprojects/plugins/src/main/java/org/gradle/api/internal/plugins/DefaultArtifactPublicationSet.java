@@ -15,44 +15,104 @@
  */
 package org.gradle.api.internal.plugins;
 
+import com.google.common.collect.Sets;
 import org.gradle.api.artifacts.PublishArtifact;
 import org.gradle.api.artifacts.PublishArtifactSet;
+import org.gradle.api.internal.provider.AbstractProvider;
+import org.gradle.api.internal.provider.CollectionProviderInternal;
+
+import javax.annotation.Nullable;
+import java.util.Set;
 
 /**
  * The policy for which artifacts should be published by default when none are explicitly declared.
+ *
+ * <p>The candidates are only queried for their type once the artifacts are used, so that the tasks that produce them are not created until then.</p>
  */
 public class DefaultArtifactPublicationSet {
     private final PublishArtifactSet artifacts;
-    private PublishArtifact defaultArtifact;
+    private DefaultArtifactProvider defaultArtifactProvider;
 
     public DefaultArtifactPublicationSet(PublishArtifactSet artifacts) {
         this.artifacts = artifacts;
     }
 
     public void addCandidate(PublishArtifact artifact) {
-        String thisType = artifact.getType();
+        if (defaultArtifactProvider == null) {
+            defaultArtifactProvider = new DefaultArtifactProvider();
+            artifacts.addAllLater(defaultArtifactProvider);
+        }
+        defaultArtifactProvider.addCandidate(artifact);
+    }
 
-        if (defaultArtifact == null) {
-            artifacts.add(artifact);
-            defaultArtifact = artifact;
-            return;
+    private class DefaultArtifactProvider extends AbstractProvider<Set<PublishArtifact>> implements CollectionProviderInternal<PublishArtifact, Set<PublishArtifact>> {
+        private final Set<PublishArtifact> candidates = Sets.newLinkedHashSet();
+        private Set<PublishArtifact> defaultArtifacts;
+        private PublishArtifact defaultArtifact;
+
+        void addCandidate(PublishArtifact artifact) {
+            if (!candidates.add(artifact)) {
+                return;
+            }
+            if (defaultArtifacts != null) {
+                // The default artifacts have already been added to the set, so apply the policy to the set directly
+                select(artifact, artifacts);
+            }
         }
 
-        String currentType = defaultArtifact.getType();
-        if (thisType.equals("ear")) {
-            replaceCurrent(artifact);
-        } else if (thisType.equals("war")) {
-            if (currentType.equals("jar")) {
-                replaceCurrent(artifact);
+        private void select(PublishArtifact artifact, Set<PublishArtifact> selected) {
+            String thisType = artifact.getType();
+
+            if (defaultArtifact == null) {
+                selected.add(artifact);
+                defaultArtifact = artifact;
+                return;
+            }
+
+            String currentType = defaultArtifact.getType();
+            if (thisType.equals("ear")) {
+                replaceCurrent(artifact, selected);
+            } else if (thisType.equals("war")) {
+                if (currentType.equals("jar")) {
+                    replaceCurrent(artifact, selected);
+                }
+            } else if (!thisType.equals("jar")) {
+                selected.add(artifact);
             }
-        } else if (!thisType.equals("jar")) {
-            artifacts.add(artifact);
         }
-    }
 
-    private void replaceCurrent(PublishArtifact artifact) {
-        artifacts.remove(defaultArtifact);
-        artifacts.add(artifact);
-        defaultArtifact = artifact;
+        private void replaceCurrent(PublishArtifact artifact, Set<PublishArtifact> selected) {
+            selected.remove(defaultArtifact);
+            selected.add(artifact);
+            defaultArtifact = artifact;
+        }
+
+        @Nullable
+        @Override
+        public Class<Set<PublishArtifact>> getType() {
+            return null;
+        }
+
+        @Override
+        public Class<? extends PublishArtifact> getElementType() {
+            return PublishArtifact.class;
+        }
+
+        @Override
+        public int size() {
+            return get().size();
+        }
+
+        @Override
+        public Set<PublishArtifact> getOrNull() {
+            if (defaultArtifacts == null) {
+                Set<PublishArtifact> selected = Sets.newLinkedHashSet();
+                for (PublishArtifact candidate : candidates) {
+                    select(candidate, selected);
+                }
+                defaultArtifacts = selected;
+            }
+            return defaultArtifacts;
+        }
     }
 }
@@ -19,11 +19,12 @@ package org.gradle.api.plugins;
 import org.gradle.api.Incubating;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
+import org.gradle.api.Task;
 import org.gradle.api.distribution.internal.DefaultDistributionContainer;
 import org.gradle.api.distribution.plugins.DistributionPlugin;
 import org.gradle.api.file.CopySpec;
 import org.gradle.api.internal.project.ProjectInternal;
-import org.gradle.api.tasks.bundling.Jar;
+import org.gradle.api.tasks.TaskProvider;
 
 /**
  * A {@link Plugin} which package a Java project as a distribution including the JAR and runtime dependencies.
@@ -41,7 +42,7 @@ public class JavaLibraryDistributionPlugin implements Plugin<ProjectInternal> {
         DefaultDistributionContainer defaultDistributionContainer =
             (DefaultDistributionContainer) project.getExtensions().findByName("distributions");
         CopySpec contentSpec = defaultDistributionContainer.getByName(DistributionPlugin.MAIN_DISTRIBUTION_NAME).getContents();
-        Jar jar = (Jar) project.getTasks().getByName(JavaPlugin.JAR_TASK_NAME);
+        TaskProvider<Task> jar = project.getTasks().named(JavaPlugin.JAR_TASK_NAME);
 
         CopySpec childSpec = project.copySpec();
         childSpec.from(jar);
@@ -15,13 +15,19 @@
  */
 package org.gradle.api.internal.plugins
 
-import spock.lang.Specification
-import org.gradle.api.artifacts.PublishArtifactSet
 import org.gradle.api.artifacts.PublishArtifact
+import org.gradle.api.artifacts.PublishArtifactSet
+import org.gradle.api.provider.Provider
+import spock.lang.Specification
 
 class DefaultArtifactPublicationSetTest extends Specification {
     final PublishArtifactSet publications = Mock()
     final DefaultArtifactPublicationSet publication = new DefaultArtifactPublicationSet(publications)
+    Provider<Set<PublishArtifact>> defaultArtifacts
+
+    def setup() {
+        _ * publications.addAllLater(_) >> { Provider<Set<PublishArtifact>> provider -> defaultArtifacts = provider }
+    }
 
     def "adds jar artifact to publication"() {
         def artifact = artifact("jar")
@@ -30,7 +36,7 @@ class DefaultArtifactPublicationSetTest extends Specification {
         publication.addCandidate(artifact)
 
         then:
-        1 * publications.add(artifact)
+        defaultArtifacts.get() == [artifact] as Set
     }
 
     def "adds war artifact to publication"() {
@@ -40,7 +46,7 @@ class DefaultArtifactPublicationSetTest extends Specification {
         publication.addCandidate(artifact)
 
         then:
-        1 * publications.add(artifact)
+        defaultArtifacts.get() == [artifact] as Set
     }
 
     def "adds ear artifact to publication"() {
@@ -50,78 +56,92 @@ class DefaultArtifactPublicationSetTest extends Specification {
         publication.addCandidate(artifact)
 
         then:
-        1 * publications.add(artifact)
+        defaultArtifacts.get() == [artifact] as Set
     }
 
     def "prefers war over jar artifact"() {
         def jar = artifact("jar")
         def war = artifact("war")
 
-        given:
-        publication.addCandidate(jar)
-
         when:
+        publication.addCandidate(jar)
         publication.addCandidate(war)
-
-        then:
-        1 * publications.remove(jar)
-        1 * publications.add(war)
-
-        when:
         publication.addCandidate(jar)
 
         then:
-        0 * publications._
+        defaultArtifacts.get() == [war] as Set
     }
 
     def "prefers ear over jar artifact"() {
         def jar = artifact("jar")
         def ear = artifact("ear")
 
-        given:
+        when:
         publication.addCandidate(jar)
+        publication.addCandidate(ear)
+        publication.addCandidate(jar)
+
+        then:
+        defaultArtifacts.get() == [ear] as Set
+    }
+
+    def "prefers ear over war artifact"() {
+        def war = artifact("war")
+        def ear = artifact("ear")
 
         when:
+        publication.addCandidate(war)
         publication.addCandidate(ear)
+        publication.addCandidate(war)
 
         then:
-        1 * publications.remove(jar)
-        1 * publications.add(ear)
+        defaultArtifacts.get() == [ear] as Set
+    }
+
+    def "adds other types of artifacts"() {
+        def jar = artifact("jar")
+        def exe = artifact("exe")
 
         when:
         publication.addCandidate(jar)
+        publication.addCandidate(exe)
 
         then:
-        0 * publications._
+        defaultArtifacts.get() == [jar, exe] as Set
     }
 
-    def "prefers ear over war artifact"() {
-        def war = artifact("war")
-        def ear = artifact("ear")
-
-        given:
-        publication.addCandidate(war)
+    def "does not query the type of candidates until the artifacts are used"() {
+        PublishArtifact jar = Mock()
 
         when:
-        publication.addCandidate(ear)
+        publication.addCandidate(jar)
 
         then:
-        1 * publications.remove(war)
-        1 * publications.add(ear)
+        0 * jar._
 
         when:
-        publication.addCandidate(war)
+        def artifacts = defaultArtifacts.get()
 
         then:
-        0 * publications._
+        _ * jar.type >> "jar"
+        artifacts == [jar] as Set
     }
 
-    def "adds other types of artifacts"() {
+    def "applies policy to publication once the artifacts have been used"() {
         def jar = artifact("jar")
+        def war = artifact("war")
         def exe = artifact("exe")
 
         given:
         publication.addCandidate(jar)
+        defaultArtifacts.get()
+
+        when:
+        publication.addCandidate(war)
+
+        then:
+        1 * publications.remove(jar)
+        1 * publications.add(war)
 
         when:
         publication.addCandidate(exe)
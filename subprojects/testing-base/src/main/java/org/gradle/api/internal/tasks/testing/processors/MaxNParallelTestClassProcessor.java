@@ -16,9 +16,14 @@
 
 package org.gradle.api.internal.tasks.testing.processors;
 
+import org.gradle.api.internal.tasks.testing.DefaultTestClassDescriptor;
 import org.gradle.api.internal.tasks.testing.TestClassProcessor;
 import org.gradle.api.internal.tasks.testing.TestClassRunInfo;
+import org.gradle.api.internal.tasks.testing.TestCompleteEvent;
+import org.gradle.api.internal.tasks.testing.TestDescriptorInternal;
 import org.gradle.api.internal.tasks.testing.TestResultProcessor;
+import org.gradle.api.internal.tasks.testing.TestStartEvent;
+import org.gradle.api.tasks.testing.TestOutputEvent;
 import org.gradle.internal.Factory;
 import org.gradle.internal.UncheckedException;
 import org.gradle.internal.actor.Actor;
@@ -26,29 +31,52 @@ import org.gradle.internal.actor.ActorFactory;
 import org.gradle.internal.concurrent.CompositeStoppable;
 import org.gradle.internal.dispatch.DispatchException;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
- * Manages a set of parallel TestClassProcessors. Uses a simple round-robin algorithm to assign test classes to
- * processors.
+ * Manages a set of parallel TestClassProcessors. Test classes are handed out on demand: each processor is given a
+ * small number of test classes and receives the next waiting test class when it reports that one of them has
+ * completed. This way a processor that is stuck on a slow test class does not build up a backlog while the others
+ * sit idle. Test classes that are still waiting when processing is stopped are distributed over the processors,
+ * for test frameworks that only run their test classes at the end.
+ *
+ * <p>The first processor can be started as soon as processing starts, so that it gets ready while test classes are still being found.</p>
  */
 public class MaxNParallelTestClassProcessor implements TestClassProcessor {
+    /**
+     * More than one, so that a worker can start with its next test class while the completion of the previous one is reported.
+     */
+    private static final int MAX_TEST_CLASSES_IN_FLIGHT = 2;
+
     private final int maxProcessors;
     private final Factory<TestClassProcessor> factory;
     private final ActorFactory actorFactory;
+    private final boolean startFirstProcessorEagerly;
+    private final Object lock = new Object();
+    private final Deque<TestClassRunInfo> waitingTestClasses = new ArrayDeque<TestClassRunInfo>();
     private TestResultProcessor resultProcessor;
-    private int pos;
     private List<TestClassProcessor> processors = new ArrayList<TestClassProcessor>();
     private List<TestClassProcessor> rawProcessors = new ArrayList<TestClassProcessor>();
+    private List<ProcessorState> processorStates = new ArrayList<ProcessorState>();
     private List<Actor> actors = new ArrayList<Actor>();
     private Actor resultProcessorActor;
+    private boolean stopped;
     private volatile boolean stoppedNow;
 
     public MaxNParallelTestClassProcessor(int maxProcessors, Factory<TestClassProcessor> factory, ActorFactory actorFactory) {
+        this(maxProcessors, factory, actorFactory, false);
+    }
+
+    public MaxNParallelTestClassProcessor(int maxProcessors, Factory<TestClassProcessor> factory, ActorFactory actorFactory, boolean startFirstProcessorEagerly) {
         this.maxProcessors = maxProcessors;
         this.factory = factory;
         this.actorFactory = actorFactory;
+        this.startFirstProcessorEagerly = startFirstProcessorEagerly;
     }
 
     @Override
@@ -56,6 +84,11 @@ public class MaxNParallelTestClassProcessor implements TestClassProcessor {
         // Create a processor that processes events in its own thread
         resultProcessorActor = actorFactory.createActor(resultProcessor);
         this.resultProcessor = resultProcessorActor.getProxy(TestResultProcessor.class);
+        if (startFirstProcessorEagerly) {
+            synchronized (lock) {
+                startProcessor();
+            }
+        }
     }
 
     @Override
@@ -64,24 +97,61 @@ public class MaxNParallelTestClassProcessor implements TestClassProcessor {
             return;
         }
 
-        TestClassProcessor processor;
-        if (processors.size() < maxProcessors) {
-            processor = factory.create();
-            rawProcessors.add(processor);
-            Actor actor = actorFactory.createActor(processor);
-            processor = actor.getProxy(TestClassProcessor.class);
-            actors.add(actor);
-            processors.add(processor);
-            processor.startProcessing(resultProcessor);
-        } else {
-            processor = processors.get(pos);
-            pos = (pos + 1) % processors.size();
-        }
-        processor.processTestClass(testClass);
+        synchronized (lock) {
+            ProcessorState state = processorStates.isEmpty() ? null : leastBusyProcessor();
+            if (state == null || (state.inFlight > 0 && processors.size() < maxProcessors)) {
+                state = startProcessor();
+            }
+            if (state.inFlight < MAX_TEST_CLASSES_IN_FLIGHT) {
+                state.dispatch(testClass);
+            } else {
+                waitingTestClasses.add(testClass);
+            }
+        }
+    }
+
+    private ProcessorState startProcessor() {
+        TestClassProcessor processor = factory.create();
+        rawProcessors.add(processor);
+        Actor actor = actorFactory.createActor(processor);
+        processor = actor.getProxy(TestClassProcessor.class);
+        actors.add(actor);
+        processors.add(processor);
+        ProcessorState state = new ProcessorState(processor);
+        processorStates.add(state);
+        processor.startProcessing(new TestClassCompletionTracker(state, resultProcessor));
+        return state;
+    }
+
+    private ProcessorState leastBusyProcessor() {
+        ProcessorState leastBusy = processorStates.get(0);
+        for (ProcessorState state : processorStates) {
+            if (state.inFlight < leastBusy.inFlight) {
+                leastBusy = state;
+            }
+        }
+        return leastBusy;
+    }
+
+    private void testClassCompleted(ProcessorState state) {
+        synchronized (lock) {
+            if (state.inFlight > 0) {
+                state.inFlight--;
+            }
+            if (!stopped && !stoppedNow && !waitingTestClasses.isEmpty()) {
+                state.dispatch(waitingTestClasses.poll());
+            }
+        }
     }
 
     @Override
     public void stop() {
+        synchronized (lock) {
+            stopped = true;
+            while (!waitingTestClasses.isEmpty()) {
+                leastBusyProcessor().dispatch(waitingTestClasses.poll());
+            }
+        }
         try {
             CompositeStoppable.stoppable(processors).add(actors).add(resultProcessorActor).stop();
         } catch (DispatchException e) {
@@ -92,8 +162,71 @@ public class MaxNParallelTestClassProcessor implements TestClassProcessor {
     @Override
     public void stopNow() {
         stoppedNow = true;
+        synchronized (lock) {
+            waitingTestClasses.clear();
+        }
         for (TestClassProcessor processor : rawProcessors) {
             processor.stopNow();
         }
     }
+
+    private static class ProcessorState {
+        private final TestClassProcessor processor;
+        private int inFlight;
+
+        ProcessorState(TestClassProcessor processor) {
+            this.processor = processor;
+        }
+
+        void dispatch(TestClassRunInfo testClass) {
+            inFlight++;
+            processor.processTestClass(testClass);
+        }
+    }
+
+    /**
+     * Forwards the results of a single processor and notices when it completes one of its test classes.
+     */
+    private class TestClassCompletionTracker implements TestResultProcessor {
+        private final ProcessorState state;
+        private final TestResultProcessor delegate;
+        private final Set<Object> runningTestClasses = new HashSet<Object>();
+
+        TestClassCompletionTracker(ProcessorState state, TestResultProcessor delegate) {
+            this.state = state;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void started(TestDescriptorInternal test, TestStartEvent event) {
+            if (test instanceof DefaultTestClassDescriptor) {
+                synchronized (runningTestClasses) {
+                    runningTestClasses.add(test.getId());
+                }
+            }
+            delegate.started(test, event);
+        }
+
+        @Override
+        public void completed(Object testId, TestCompleteEvent event) {
+            delegate.completed(testId, event);
+            boolean testClassCompleted;
+            synchronized (runningTestClasses) {
+                testClassCompleted = runningTestClasses.remove(testId);
+            }
+            if (testClassCompleted) {
+                testClassCompleted(state);
+            }
+        }
+
+        @Override
+        public void output(Object testId, TestOutputEvent event) {
+            delegate.output(testId, event);
+        }
+
+        @Override
+        public void failure(Object testId, Throwable result) {
+            delegate.failure(testId, result);
+        }
+    }
 }
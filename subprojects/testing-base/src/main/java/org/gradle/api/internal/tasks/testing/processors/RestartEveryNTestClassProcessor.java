@@ -24,19 +24,32 @@ import org.gradle.internal.Factory;
 public class RestartEveryNTestClassProcessor implements TestClassProcessor {
     private final Factory<TestClassProcessor> factory;
     private final long restartEvery;
+    private final boolean startEagerly;
     private long testCount;
     private TestResultProcessor resultProcessor;
     private volatile boolean stoppedNow;
     private volatile TestClassProcessor processor;
 
     public RestartEveryNTestClassProcessor(Factory<TestClassProcessor> factory, long restartEvery) {
+        this(factory, restartEvery, false);
+    }
+
+    /**
+     * @param startEagerly when true, the first delegate is started when processing starts rather than when the first test class is received.
+     */
+    public RestartEveryNTestClassProcessor(Factory<TestClassProcessor> factory, long restartEvery, boolean startEagerly) {
         this.factory = factory;
         this.restartEvery = restartEvery;
+        this.startEagerly = startEagerly;
     }
 
     @Override
     public void startProcessing(TestResultProcessor resultProcessor) {
         this.resultProcessor = resultProcessor;
+        if (startEagerly) {
+            // Start the first batch right away, so that a delegate can get ready while test classes are still being found
+            startBatch();
+        }
     }
 
     @Override
@@ -46,8 +59,7 @@ public class RestartEveryNTestClassProcessor implements TestClassProcessor {
         }
 
         if (processor == null) {
-            processor = factory.create();
-            processor.startProcessing(resultProcessor);
+            startBatch();
         }
         processor.processTestClass(testClass);
         testCount++;
@@ -72,6 +84,11 @@ public class RestartEveryNTestClassProcessor implements TestClassProcessor {
         }
     }
 
+    private void startBatch() {
+        processor = factory.create();
+        processor.startProcessing(resultProcessor);
+    }
+
     private void endBatch() {
         try {
             processor.stop();
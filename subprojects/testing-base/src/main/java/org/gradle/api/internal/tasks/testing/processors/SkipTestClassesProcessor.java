@@ -0,0 +1,116 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.processors;
+
+import org.gradle.api.internal.tasks.testing.DefaultTestClassDescriptor;
+import org.gradle.api.internal.tasks.testing.DefaultTestMethodDescriptor;
+import org.gradle.api.internal.tasks.testing.TestClassProcessor;
+import org.gradle.api.internal.tasks.testing.TestClassRunInfo;
+import org.gradle.api.internal.tasks.testing.TestCompleteEvent;
+import org.gradle.api.internal.tasks.testing.TestResultProcessor;
+import org.gradle.api.internal.tasks.testing.TestStartEvent;
+import org.gradle.api.internal.tasks.testing.filter.DefaultTestFilter;
+import org.gradle.api.internal.tasks.testing.filter.TestSelectionMatcher;
+import org.gradle.api.tasks.testing.TestResult;
+import org.gradle.internal.id.CompositeIdGenerator;
+import org.gradle.internal.id.IdGenerator;
+import org.gradle.internal.id.LongIdGenerator;
+import org.gradle.internal.time.Clock;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Does not pass the given test classes on to the delegate. Instead, their tests from the previous run are reported as skipped,
+ * so that they still show up in the results and count as matching tests.
+ *
+ * <p>A test class is passed on as usual when none of its previous tests match the test filter, as there is no previous result to report for it.</p>
+ */
+public class SkipTestClassesProcessor implements TestClassProcessor {
+    private final Map<String, List<String>> skippedTestClasses;
+    private final TestSelectionMatcher testSelectionMatcher;
+    private final Clock clock;
+    private final TestClassProcessor delegate;
+    private final IdGenerator<?> idGenerator = new CompositeIdGenerator("skipped", new LongIdGenerator());
+    private final Map<String, List<String>> testsToReport = new LinkedHashMap<String, List<String>>();
+    private TestResultProcessor resultProcessor;
+
+    public SkipTestClassesProcessor(Map<String, List<String>> skippedTestClasses, DefaultTestFilter testFilter, Clock clock, TestClassProcessor delegate) {
+        this.skippedTestClasses = skippedTestClasses;
+        this.testSelectionMatcher = new TestSelectionMatcher(testFilter.getIncludePatterns(), testFilter.getCommandLineIncludePatterns());
+        this.clock = clock;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void startProcessing(TestResultProcessor resultProcessor) {
+        this.resultProcessor = resultProcessor;
+        delegate.startProcessing(resultProcessor);
+    }
+
+    @Override
+    public void processTestClass(TestClassRunInfo testClass) {
+        String className = testClass.getTestClassName();
+        List<String> skippedTests = matchingTests(className);
+        if (skippedTests.isEmpty()) {
+            delegate.processTestClass(testClass);
+        } else {
+            testsToReport.put(className, skippedTests);
+        }
+    }
+
+    private List<String> matchingTests(String className) {
+        List<String> matchingTests = new ArrayList<String>();
+        List<String> previousTests = skippedTestClasses.get(className);
+        if (previousTests != null) {
+            for (String testName : previousTests) {
+                if (testSelectionMatcher.matchesTest(className, testName)) {
+                    matchingTests.add(testName);
+                }
+            }
+        }
+        return matchingTests;
+    }
+
+    @Override
+    public void stop() {
+        delegate.stop();
+        // The delegate has delivered all of its results by now, so the result processor is no longer used concurrently
+        for (Map.Entry<String, List<String>> entry : testsToReport.entrySet()) {
+            reportSkipped(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void reportSkipped(String className, List<String> testNames) {
+        long now = clock.getCurrentTime();
+        Object classId = idGenerator.generateId();
+        resultProcessor.started(new DefaultTestClassDescriptor(classId, className), new TestStartEvent(now));
+        for (String testName : testNames) {
+            Object testId = idGenerator.generateId();
+            resultProcessor.started(new DefaultTestMethodDescriptor(testId, className, testName), new TestStartEvent(now, classId));
+            resultProcessor.completed(testId, new TestCompleteEvent(now, TestResult.ResultType.SKIPPED));
+        }
+        resultProcessor.completed(classId, new TestCompleteEvent(now));
+    }
+
+    @Override
+    public void stopNow() {
+        delegate.stopNow();
+    }
+}
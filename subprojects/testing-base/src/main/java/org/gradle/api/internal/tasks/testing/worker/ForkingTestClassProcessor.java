@@ -47,6 +47,7 @@ public class ForkingTestClassProcessor implements TestClassProcessor {
     private final Iterable<File> classPath;
     private final Action<WorkerProcessBuilder> buildConfigAction;
     private final ModuleRegistry moduleRegistry;
+    private final boolean startWorkerEagerly;
     private final Lock lock = new ReentrantLock();
     private RemoteTestClassProcessor remoteProcessor;
     private WorkerProcess workerProcess;
@@ -56,6 +57,13 @@ public class ForkingTestClassProcessor implements TestClassProcessor {
     private boolean stoppedNow;
 
     public ForkingTestClassProcessor(WorkerLeaseRegistry.WorkerLease parentWorkerLease, WorkerProcessFactory workerFactory, WorkerTestClassProcessorFactory processorFactory, JavaForkOptions options, Iterable<File> classPath, Action<WorkerProcessBuilder> buildConfigAction, ModuleRegistry moduleRegistry, DocumentationRegistry documentationRegistry) {
+        this(parentWorkerLease, workerFactory, processorFactory, options, classPath, buildConfigAction, moduleRegistry, documentationRegistry, false);
+    }
+
+    /**
+     * @param startWorkerEagerly when true, the worker process is forked when processing starts rather than when the first test class is received.
+     */
+    public ForkingTestClassProcessor(WorkerLeaseRegistry.WorkerLease parentWorkerLease, WorkerProcessFactory workerFactory, WorkerTestClassProcessorFactory processorFactory, JavaForkOptions options, Iterable<File> classPath, Action<WorkerProcessBuilder> buildConfigAction, ModuleRegistry moduleRegistry, DocumentationRegistry documentationRegistry, boolean startWorkerEagerly) {
         this.currentWorkerLease = parentWorkerLease;
         this.workerFactory = workerFactory;
         this.processorFactory = processorFactory;
@@ -64,11 +72,23 @@ public class ForkingTestClassProcessor implements TestClassProcessor {
         this.buildConfigAction = buildConfigAction;
         this.moduleRegistry = moduleRegistry;
         this.documentationRegistry = documentationRegistry;
+        this.startWorkerEagerly = startWorkerEagerly;
     }
 
     @Override
     public void startProcessing(TestResultProcessor resultProcessor) {
         this.resultProcessor = resultProcessor;
+        if (!startWorkerEagerly) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (!stoppedNow) {
+                startWorkerProcess();
+            }
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
@@ -79,18 +99,21 @@ public class ForkingTestClassProcessor implements TestClassProcessor {
                 return;
             }
 
-            if (remoteProcessor == null) {
-                completion = currentWorkerLease.startChild();
-                JULRedirector.checkDeprecatedProperty(options);
-                remoteProcessor = forkProcess();
-            }
-
+            startWorkerProcess();
             remoteProcessor.processTestClass(testClass);
         } finally {
             lock.unlock();
         }
     }
 
+    private void startWorkerProcess() {
+        if (remoteProcessor == null) {
+            completion = currentWorkerLease.startChild();
+            JULRedirector.checkDeprecatedProperty(options);
+            remoteProcessor = forkProcess();
+        }
+    }
+
     RemoteTestClassProcessor forkProcess() {
         WorkerProcessBuilder builder = workerFactory.create(new TestWorker(processorFactory));
         builder.setBaseName("Gradle Test Executor");
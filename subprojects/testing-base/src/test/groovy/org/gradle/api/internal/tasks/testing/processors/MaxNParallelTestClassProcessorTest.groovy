@@ -16,9 +16,13 @@
 
 package org.gradle.api.internal.tasks.testing.processors
 
+import org.gradle.api.internal.tasks.testing.DefaultTestClassDescriptor
+import org.gradle.api.internal.tasks.testing.DefaultTestDescriptor
 import org.gradle.api.internal.tasks.testing.TestClassProcessor
 import org.gradle.api.internal.tasks.testing.TestClassRunInfo
+import org.gradle.api.internal.tasks.testing.TestCompleteEvent
 import org.gradle.api.internal.tasks.testing.TestResultProcessor
+import org.gradle.api.internal.tasks.testing.TestStartEvent
 import org.gradle.internal.actor.Actor
 import org.gradle.internal.actor.ActorFactory
 import spock.lang.Specification
@@ -73,7 +77,7 @@ class MaxNParallelTestClassProcessorTest extends Specification {
         1 * factory.create() >> processor1
         1 * actorFactory.createActor(processor1) >> actor1
         1 * actor1.getProxy(TestClassProcessor) >> asyncProcessor1
-        1 * asyncProcessor1.startProcessing(asyncResultProcessor)
+        1 * asyncProcessor1.startProcessing(_ as TestResultProcessor)
         1 * asyncProcessor1.processTestClass(test)
 
         when:
@@ -85,6 +89,39 @@ class MaxNParallelTestClassProcessorTest extends Specification {
         1 * resultProcessorActor.stop()
     }
 
+    def forwardsResultsOfProcessorsToResultProcessor() {
+        TestClassRunInfo test = Mock()
+        TestClassProcessor processor1 = Mock()
+        TestClassProcessor asyncProcessor1 = Mock()
+        Actor actor1 = Mock()
+        TestResultProcessor processorResults = null
+        def testClass = new DefaultTestClassDescriptor(1, "SomeTest")
+        def startEvent = new TestStartEvent(0)
+        def completeEvent = new TestCompleteEvent(0)
+        def failure = new RuntimeException()
+
+        startProcessor()
+
+        when:
+        processor.processTestClass(test)
+
+        then:
+        1 * factory.create() >> processor1
+        1 * actorFactory.createActor(processor1) >> actor1
+        1 * actor1.getProxy(TestClassProcessor) >> asyncProcessor1
+        1 * asyncProcessor1.startProcessing(_) >> { TestResultProcessor results -> processorResults = results }
+
+        when:
+        processorResults.started(testClass, startEvent)
+        processorResults.failure(1, failure)
+        processorResults.completed(1, completeEvent)
+
+        then:
+        1 * asyncResultProcessor.started(testClass, startEvent)
+        1 * asyncResultProcessor.failure(1, failure)
+        1 * asyncResultProcessor.completed(1, completeEvent)
+    }
+
     def startsMultipleProcessorsOnDemandAndStopsAtEnd() {
         TestClassRunInfo test = Mock()
         TestClassProcessor processor1 = Mock()
@@ -103,7 +140,7 @@ class MaxNParallelTestClassProcessorTest extends Specification {
         1 * factory.create() >> processor1
         1 * actorFactory.createActor(processor1) >> actor1
         1 * actor1.getProxy(TestClassProcessor) >> asyncProcessor1
-        1 * asyncProcessor1.startProcessing(asyncResultProcessor)
+        1 * asyncProcessor1.startProcessing(_ as TestResultProcessor)
         1 * asyncProcessor1.processTestClass(test)
 
         when:
@@ -113,7 +150,7 @@ class MaxNParallelTestClassProcessorTest extends Specification {
         1 * factory.create() >> processor2
         1 * actorFactory.createActor(processor2) >> actor2
         1 * actor2.getProxy(TestClassProcessor) >> asyncProcessor2
-        1 * asyncProcessor2.startProcessing(asyncResultProcessor)
+        1 * asyncProcessor2.startProcessing(_ as TestResultProcessor)
         1 * asyncProcessor2.processTestClass(test)
 
         when:
@@ -124,7 +161,7 @@ class MaxNParallelTestClassProcessorTest extends Specification {
         1 * asyncProcessor2.stop()
     }
 
-    def roundRobinsTestClassesToProcessors() {
+    def "hands out test classes to processors as they complete test classes"() {
         TestClassRunInfo test = Mock()
         TestClassProcessor processor1 = Mock()
         TestClassProcessor processor2 = Mock()
@@ -132,40 +169,92 @@ class MaxNParallelTestClassProcessorTest extends Specification {
         TestClassProcessor asyncProcessor2 = Mock()
         Actor actor1 = Mock()
         Actor actor2 = Mock()
+        TestResultProcessor processor2Results = null
 
         startProcessor()
 
         when:
         processor.processTestClass(test)
+        processor.processTestClass(test)
 
         then:
         1 * factory.create() >> processor1
         1 * actorFactory.createActor(processor1) >> actor1
         1 * actor1.getProxy(TestClassProcessor) >> asyncProcessor1
-        1 * asyncProcessor1.startProcessing(asyncResultProcessor)
         1 * asyncProcessor1.processTestClass(test)
+        1 * factory.create() >> processor2
+        1 * actorFactory.createActor(processor2) >> actor2
+        1 * actor2.getProxy(TestClassProcessor) >> asyncProcessor2
+        1 * asyncProcessor2.startProcessing(_) >> { TestResultProcessor results -> processor2Results = results }
+        1 * asyncProcessor2.processTestClass(test)
 
         when:
         processor.processTestClass(test)
+        processor.processTestClass(test)
 
         then:
-        1 * factory.create() >> processor2
-        1 * actorFactory.createActor(processor2) >> actor2
-        1 * actor2.getProxy(TestClassProcessor) >> asyncProcessor2
-        1 * asyncProcessor2.startProcessing(asyncResultProcessor)
+        1 * asyncProcessor1.processTestClass(test)
         1 * asyncProcessor2.processTestClass(test)
 
         when:
         processor.processTestClass(test)
+        processor.processTestClass(test)
+
+        then:
+        0 * asyncProcessor1.processTestClass(_)
+        0 * asyncProcessor2.processTestClass(_)
+
+        when:
+        processor2Results.started(new DefaultTestClassDescriptor(1, "SomeTest"), new TestStartEvent(0))
+        processor2Results.started(new DefaultTestDescriptor(2, "SomeTest", "someMethod"), new TestStartEvent(0))
+        processor2Results.completed(2, new TestCompleteEvent(0))
+
+        then:
+        0 * asyncProcessor1.processTestClass(_)
+        0 * asyncProcessor2.processTestClass(_)
+
+        when:
+        processor2Results.completed(1, new TestCompleteEvent(0))
+
+        then:
+        0 * asyncProcessor1.processTestClass(_)
+        1 * asyncProcessor2.processTestClass(test)
+
+        when:
+        processor.stop()
 
         then:
         1 * asyncProcessor1.processTestClass(test)
 
+        then:
+        1 * asyncProcessor1.stop()
+        1 * asyncProcessor2.stop()
+    }
+
+    def "starts first processor when processing starts if test classes are expected"() {
+        TestClassRunInfo test = Mock()
+        TestClassProcessor processor1 = Mock()
+        TestClassProcessor asyncProcessor1 = Mock()
+        Actor actor1 = Mock()
+        def processor = new MaxNParallelTestClassProcessor(2, factory, actorFactory, true)
+
+        when:
+        processor.startProcessing(resultProcessor)
+
+        then:
+        1 * actorFactory.createActor(resultProcessor) >> resultProcessorActor
+        1 * resultProcessorActor.getProxy(TestResultProcessor) >> asyncResultProcessor
+        1 * factory.create() >> processor1
+        1 * actorFactory.createActor(processor1) >> actor1
+        1 * actor1.getProxy(TestClassProcessor) >> asyncProcessor1
+        1 * asyncProcessor1.startProcessing(_ as TestResultProcessor)
+
         when:
         processor.processTestClass(test)
 
         then:
-        1 * asyncProcessor2.processTestClass(test)
+        0 * factory.create()
+        1 * asyncProcessor1.processTestClass(test)
     }
 
     def "stopNow propagates to factory created processors"() {
@@ -116,6 +116,31 @@ class RestartEveryNTestClassProcessorTest extends Specification {
         processor.stop()
     }
 
+    def 'does not create delegate processor when processing starts'() {
+        when:
+        processor.startProcessing(resultProcessor)
+        processor.stop()
+
+        then:
+        0 * _._
+    }
+
+    def 'starts delegate processor when processing starts if requested'() {
+        processor = new RestartEveryNTestClassProcessor(factory, 2, true)
+
+        when:
+        processor.startProcessing(resultProcessor)
+        processor.stop()
+
+        then:
+        1 * factory.create() >> delegate
+        then:
+        1 * delegate.startProcessing(resultProcessor)
+        then:
+        1 * delegate.stop()
+        0 * _._
+    }
+
     def 'does nothing on end of processing when on nth test'() {
         when:
         processor.startProcessing(resultProcessor)
@@ -46,4 +46,66 @@ class RunPreviousFailedFirstTestClassProcessorTest extends Specification {
         then:
         1 * delegate.stop()
     }
+
+    def 'test classes that took longest in the previous run are passed to delegate first'() {
+        given:
+        processor = new RunPreviousFailedFirstTestClassProcessor(['Class4'] as Set, [Class1: 10L, Class2: 300L, Class3: 20L, Class4: 5L, Class6: 20L], delegate)
+
+        when:
+        processor.startProcessing(testResultProcessor)
+        ['Class1', 'Class2', 'Class3', 'Class4', 'Class5', 'Class6'].each { processor.processTestClass(new DefaultTestClassRunInfo(it)) }
+        processor.stop()
+
+        then:
+        1 * delegate.processTestClass(new DefaultTestClassRunInfo('Class4'))
+        then:
+        1 * delegate.processTestClass(new DefaultTestClassRunInfo('Class5'))
+        then:
+        1 * delegate.processTestClass(new DefaultTestClassRunInfo('Class2'))
+        then:
+        1 * delegate.processTestClass(new DefaultTestClassRunInfo('Class3'))
+        then:
+        1 * delegate.processTestClass(new DefaultTestClassRunInfo('Class6'))
+        then:
+        1 * delegate.processTestClass(new DefaultTestClassRunInfo('Class1'))
+        then:
+        1 * delegate.stop()
+    }
+
+    def 'replaying previous durations with longest test classes first shortens the run on parallel forks'() {
+        given:
+        def random = new Random(42)
+        def durations = [:]
+        (1..200).each { durations["Class$it".toString()] = (long) (random.nextDouble() < 0.05 ? 20000 + random.nextInt(40000) : random.nextInt(2000)) }
+        def forks = 16
+        def order = []
+        TestClassProcessor recorder = Stub() {
+            processTestClass(_) >> { args -> order << args[0].testClassName }
+        }
+        processor = new RunPreviousFailedFirstTestClassProcessor([] as Set, durations, recorder)
+
+        when:
+        processor.startProcessing(testResultProcessor)
+        durations.keySet().each { processor.processTestClass(new DefaultTestClassRunInfo(it)) }
+        processor.stop()
+
+        then:
+        def ideal = Math.max((long) (durations.values().sum() / forks), (long) durations.values().max())
+        def previous = simulateRun(durations.keySet() as List, durations, forks)
+        def current = simulateRun(order, durations, forks)
+        current <= previous
+        current <= ideal * 4 / 3
+    }
+
+    /**
+     * Replays test classes in the given order against forks that each pick up the next test class when they become idle, returns the total run time.
+     */
+    private static long simulateRun(List<String> order, Map<String, Long> durations, int forks) {
+        List<Long> busyUntil = [0L] * forks
+        order.each { testClass ->
+            def fork = (0..<forks).min { busyUntil[it] }
+            busyUntil[fork] += durations[testClass]
+        }
+        return busyUntil.max()
+    }
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.processors
+
+import org.gradle.api.internal.tasks.testing.DefaultTestClassRunInfo
+import org.gradle.api.internal.tasks.testing.TestClassProcessor
+import org.gradle.api.internal.tasks.testing.TestCompleteEvent
+import org.gradle.api.internal.tasks.testing.TestDescriptorInternal
+import org.gradle.api.internal.tasks.testing.TestResultProcessor
+import org.gradle.api.internal.tasks.testing.TestStartEvent
+import org.gradle.api.internal.tasks.testing.filter.DefaultTestFilter
+import org.gradle.api.tasks.testing.TestResult
+import org.gradle.internal.time.Clock
+import spock.lang.Specification
+
+class SkipTestClassesProcessorTest extends Specification {
+    TestClassProcessor delegate = Mock()
+    TestResultProcessor testResultProcessor = Mock()
+    Clock clock = Stub() {
+        getCurrentTime() >> 100L
+    }
+    DefaultTestFilter filter = new DefaultTestFilter()
+
+    def 'skipped test classes are reported as skipped after the delegate stopped'() {
+        given:
+        def processor = new SkipTestClassesProcessor([Class2: ['test1', 'test2']], filter, clock, delegate)
+
+        when:
+        processor.startProcessing(testResultProcessor)
+        ['Class1', 'Class2'].each { processor.processTestClass(new DefaultTestClassRunInfo(it)) }
+        processor.stop()
+
+        then:
+        1 * delegate.startProcessing(testResultProcessor)
+        1 * delegate.processTestClass(new DefaultTestClassRunInfo('Class1'))
+        0 * delegate.processTestClass(_)
+        then:
+        1 * delegate.stop()
+        then:
+        1 * testResultProcessor.started({ it.className == 'Class2' && it.composite } as TestDescriptorInternal, { it.parentId == null } as TestStartEvent)
+        then:
+        1 * testResultProcessor.started({ it.name == 'test1' } as TestDescriptorInternal, _)
+        1 * testResultProcessor.completed(_, { it.resultType == TestResult.ResultType.SKIPPED } as TestCompleteEvent)
+        then:
+        1 * testResultProcessor.started({ it.name == 'test2' } as TestDescriptorInternal, _)
+        1 * testResultProcessor.completed(_, { it.resultType == TestResult.ResultType.SKIPPED } as TestCompleteEvent)
+        then:
+        1 * testResultProcessor.completed(_, { it.resultType == null } as TestCompleteEvent)
+    }
+
+    def 'only reports previous tests which match the filter'() {
+        given:
+        filter.commandLineIncludePatterns = ['Class2.test2']
+        def processor = new SkipTestClassesProcessor([Class2: ['test1', 'test2']], filter, clock, delegate)
+
+        when:
+        processor.startProcessing(testResultProcessor)
+        processor.processTestClass(new DefaultTestClassRunInfo('Class2'))
+        processor.stop()
+
+        then:
+        0 * delegate.processTestClass(_)
+        1 * testResultProcessor.started({ it.name == 'test2' } as TestDescriptorInternal, _)
+        0 * testResultProcessor.started({ it.name == 'test1' } as TestDescriptorInternal, _)
+    }
+
+    def 'passes on skipped test classes when none of their previous tests match the filter'() {
+        given:
+        filter.commandLineIncludePatterns = ['Class2.test3']
+        def processor = new SkipTestClassesProcessor([Class2: ['test1', 'test2']], filter, clock, delegate)
+
+        when:
+        processor.startProcessing(testResultProcessor)
+        processor.processTestClass(new DefaultTestClassRunInfo('Class2'))
+        processor.stop()
+
+        then:
+        1 * delegate.processTestClass(new DefaultTestClassRunInfo('Class2'))
+        0 * testResultProcessor._
+    }
+}
@@ -21,6 +21,7 @@ import org.gradle.api.internal.DocumentationRegistry
 import org.gradle.api.internal.classpath.Module
 import org.gradle.api.internal.classpath.ModuleRegistry
 import org.gradle.api.internal.tasks.testing.TestClassRunInfo
+import org.gradle.api.internal.tasks.testing.TestResultProcessor
 import org.gradle.api.internal.tasks.testing.WorkerTestClassProcessorFactory
 import org.gradle.internal.classpath.ClassPath
 import org.gradle.internal.remote.ObjectConnection
@@ -70,6 +71,37 @@ class ForkingTestClassProcessorTest extends Specification {
         0 * remoteProcessor._
     }
 
+    def "acquires worker lease and starts worker process when processing starts if requested"() {
+        def test1 = Mock(TestClassRunInfo)
+        def remoteProcessor = Mock(RemoteTestClassProcessor)
+        processor = Spy(ForkingTestClassProcessor, constructorArgs: [workerLease, workerProcessFactory, Mock(WorkerTestClassProcessorFactory), options, [new File("classpath.jar")], Mock(Action), moduleRegistry, documentationRegistry, true])
+
+        when:
+        processor.startProcessing(Mock(TestResultProcessor))
+
+        then:
+        1 * workerLease.startChild()
+        1 * processor.forkProcess() >> remoteProcessor
+        0 * remoteProcessor._
+
+        when:
+        processor.processTestClass(test1)
+
+        then:
+        0 * workerLease.startChild()
+        0 * processor.forkProcess()
+        1 * remoteProcessor.processTestClass(test1)
+    }
+
+    def "does not start worker process when processing starts"() {
+        when:
+        processor.startProcessing(Mock(TestResultProcessor))
+
+        then:
+        0 * workerLease.startChild()
+        0 * processor.forkProcess()
+    }
+
     def "starts process with a limited implementation classpath"() {
         setup:
         1 * workerProcess.getConnection() >> Stub(ObjectConnection) { addOutgoing(_) >> Stub(RemoteTestClassProcessor) }
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.testing
+
+import org.gradle.integtests.fixtures.AbstractIntegrationSpec
+import org.gradle.integtests.fixtures.DefaultTestExecutionResult
+
+class SkipUnaffectedTestClassesIntegrationTest extends AbstractIntegrationSpec {
+
+    def setup() {
+        buildFile << """
+            apply plugin: 'java'
+            ${mavenCentralRepository()}
+            dependencies { testCompile 'junit:junit:4.12' }
+            test.skipUnaffectedTestClasses = true
+        """
+        file("src/main/java/Foo.java") << "public class Foo { public int value() { return 1; } }"
+        file("src/main/java/Bar.java") << "public class Bar { public int value() { return 2; } }"
+        file("src/test/java/FooTest.java") << """
+            public class FooTest {
+                @org.junit.Test public void foo() { org.junit.Assert.assertEquals(1, new Foo().value()); }
+            }
+        """
+        file("src/test/java/BarTest.java") << """
+            public class BarTest {
+                @org.junit.Test public void bar() { org.junit.Assert.assertEquals(2, new Bar().value()); }
+            }
+        """
+    }
+
+    def "reports unaffected test classes as skipped"() {
+        given:
+        succeeds "test"
+        new DefaultTestExecutionResult(testDirectory).testClass("FooTest").assertTestPassed("foo")
+
+        when:
+        file("src/main/java/Bar.java").text = "public class Bar { public int value() { return 2; } public int other() { return 3; } }"
+        succeeds "test"
+
+        then:
+        def result = new DefaultTestExecutionResult(testDirectory)
+        result.assertTestClassesExecuted("FooTest", "BarTest")
+        result.testClass("FooTest").assertTestSkipped("foo")
+        result.testClass("BarTest").assertTestPassed("bar")
+    }
+
+    def "does not fail filtered run when every matching test class is unaffected"() {
+        given:
+        succeeds "test"
+
+        when:
+        file("src/main/java/Bar.java").text = "public class Bar { public int value() { return 2; } public int other() { return 3; } }"
+        succeeds "test", "--tests", "FooTest"
+
+        then:
+        def result = new DefaultTestExecutionResult(testDirectory)
+        result.assertTestClassesExecuted("FooTest")
+        result.testClass("FooTest").assertTestSkipped("foo")
+    }
+
+    def "runs test classes again once they are affected"() {
+        given:
+        succeeds "test"
+        file("src/main/java/Bar.java").text = "public class Bar { public int value() { return 2; } public int other() { return 3; } }"
+        succeeds "test"
+
+        when:
+        file("src/main/java/Foo.java").text = "public class Foo { public int value() { return 1; } public int other() { return 3; } }"
+        succeeds "test"
+
+        then:
+        def result = new DefaultTestExecutionResult(testDirectory)
+        result.testClass("FooTest").assertTestPassed("foo")
+        result.testClass("BarTest").assertTestSkipped("bar")
+    }
+}
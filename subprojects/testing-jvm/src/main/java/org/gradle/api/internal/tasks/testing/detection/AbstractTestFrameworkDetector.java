@@ -31,20 +31,24 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.InputStream;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static org.gradle.internal.FileUtils.hasExtension;
 
+/**
+ * Detects test classes by inspecting their class files and those of their super classes.
+ * Test class files can be processed concurrently.
+ */
 public abstract class AbstractTestFrameworkDetector<T extends TestClassVisitor> implements TestFrameworkDetector {
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractTestFrameworkDetector.class);
     private static final String JAVA_LANG_OBJECT = "java/lang/Object";
 
-    private List<File> testClassDirectories;
+    private volatile List<File> testClassDirectories;
     private final ClassFileExtractionManager classFileExtractionManager;
-    private final Map<File, Boolean> superClasses;
+    private final ConcurrentMap<File, Boolean> superClasses;
     private TestClassProcessor testClassProcessor;
 
     private Set<File> testClassesDirectories;
@@ -53,19 +57,18 @@ public abstract class AbstractTestFrameworkDetector<T extends TestClassVisitor>
     protected AbstractTestFrameworkDetector(ClassFileExtractionManager classFileExtractionManager) {
         assert classFileExtractionManager != null;
         this.classFileExtractionManager = classFileExtractionManager;
-        this.superClasses = new HashMap<File, Boolean>();
+        this.superClasses = new ConcurrentHashMap<File, Boolean>();
     }
 
     protected abstract T createClassVisitor();
 
     private File getSuperTestClassFile(String superClassName) {
-        prepareClasspath();
         if (StringUtils.isEmpty(superClassName)) {
             throw new IllegalArgumentException("superClassName is empty!");
         }
 
         File superTestClassFile = null;
-        for (File testClassDirectory : testClassDirectories) {
+        for (File testClassDirectory : getTestClassDirectories()) {
             File candidate = new File(testClassDirectory, superClassName + ".class");
             if (candidate.exists()) {
                 superTestClassFile = candidate;
@@ -83,12 +86,20 @@ public abstract class AbstractTestFrameworkDetector<T extends TestClassVisitor>
         }
     }
 
-    private void prepareClasspath() {
+    private List<File> getTestClassDirectories() {
+        List<File> testClassDirectories = this.testClassDirectories;
+        if (testClassDirectories == null) {
+            testClassDirectories = prepareClasspath();
+        }
+        return testClassDirectories;
+    }
+
+    private synchronized List<File> prepareClasspath() {
         if (testClassDirectories != null) {
-            return;
+            return testClassDirectories;
         }
 
-        testClassDirectories = new ArrayList<File>();
+        List<File> testClassDirectories = new ArrayList<File>();
 
         if (testClassesDirectories != null) {
             testClassDirectories.addAll(testClassesDirectories);
@@ -102,6 +113,8 @@ public abstract class AbstractTestFrameworkDetector<T extends TestClassVisitor>
                 }
             }
         }
+        this.testClassDirectories = testClassDirectories;
+        return testClassDirectories;
     }
 
     @Override
@@ -176,6 +189,7 @@ public abstract class AbstractTestFrameworkDetector<T extends TestClassVisitor>
         Boolean isSuperTest = superClasses.get(testClassFile);
 
         if (isSuperTest == null) {
+            // Another thread may be scanning the same super class, which is harmless
             isTest = processTestClass(testClassFile, true);
 
             superClasses.put(testClassFile, isTest);
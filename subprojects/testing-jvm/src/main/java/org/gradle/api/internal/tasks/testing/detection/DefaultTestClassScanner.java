@@ -16,30 +16,54 @@
 
 package org.gradle.api.internal.tasks.testing.detection;
 
+import org.gradle.api.Action;
 import org.gradle.api.file.EmptyFileVisitor;
 import org.gradle.api.file.FileTree;
 import org.gradle.api.file.FileVisitDetails;
 import org.gradle.api.internal.tasks.testing.DefaultTestClassRunInfo;
 import org.gradle.api.internal.tasks.testing.TestClassProcessor;
 import org.gradle.api.internal.tasks.testing.TestClassRunInfo;
+import org.gradle.api.internal.tasks.testing.TestResultProcessor;
+import org.gradle.internal.operations.BuildOperationContext;
+import org.gradle.internal.operations.BuildOperationDescriptor;
+import org.gradle.internal.operations.BuildOperationExecutor;
+import org.gradle.internal.operations.BuildOperationQueue;
+import org.gradle.internal.operations.RunnableBuildOperation;
 
+import javax.annotation.Nullable;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.regex.Pattern;
 
 /**
  * The default test class scanner. Depending on the availability of a test framework detector,
  * a detection or filename scan is performed to find test classes.
+ *
+ * <p>When a build operation executor is available, the class files are inspected by the detector in parallel batches.
+ * The detected test classes are still passed on in the order in which their class files were found.</p>
  */
 public class DefaultTestClassScanner implements Runnable {
     private static final Pattern ANONYMOUS_CLASS_NAME = Pattern.compile(".*\\$\\d+");
+    private static final int CLASS_FILES_PER_OPERATION = 250;
     private final FileTree candidateClassFiles;
     private final TestFrameworkDetector testFrameworkDetector;
     private final TestClassProcessor testClassProcessor;
+    private final BuildOperationExecutor buildOperationExecutor;
 
     public DefaultTestClassScanner(FileTree candidateClassFiles, TestFrameworkDetector testFrameworkDetector,
                                    TestClassProcessor testClassProcessor) {
+        this(candidateClassFiles, testFrameworkDetector, testClassProcessor, null);
+    }
+
+    public DefaultTestClassScanner(FileTree candidateClassFiles, TestFrameworkDetector testFrameworkDetector,
+                                   TestClassProcessor testClassProcessor, @Nullable BuildOperationExecutor buildOperationExecutor) {
         this.candidateClassFiles = candidateClassFiles;
         this.testFrameworkDetector = testFrameworkDetector;
         this.testClassProcessor = testClassProcessor;
+        this.buildOperationExecutor = buildOperationExecutor;
     }
 
     @Override
@@ -52,12 +76,52 @@ public class DefaultTestClassScanner implements Runnable {
     }
 
     private void detectionScan() {
-        testFrameworkDetector.startDetection(testClassProcessor);
+        if (buildOperationExecutor == null) {
+            testFrameworkDetector.startDetection(testClassProcessor);
+            candidateClassFiles.visit(new ClassFileVisitor() {
+                public void visitClassFile(FileVisitDetails fileDetails) {
+                    testFrameworkDetector.processTestClass(fileDetails.getFile());
+                }
+            });
+            return;
+        }
+
+        final List<File> classFiles = new ArrayList<File>();
+        final List<String> classNames = new ArrayList<String>();
         candidateClassFiles.visit(new ClassFileVisitor() {
             public void visitClassFile(FileVisitDetails fileDetails) {
-                testFrameworkDetector.processTestClass(fileDetails.getFile());
+                classFiles.add(fileDetails.getFile());
+                classNames.add(getClassName(fileDetails));
+            }
+        });
+        if (classFiles.size() <= CLASS_FILES_PER_OPERATION) {
+            testFrameworkDetector.startDetection(testClassProcessor);
+            for (File classFile : classFiles) {
+                testFrameworkDetector.processTestClass(classFile);
+            }
+            return;
+        }
+
+        DetectedTestClasses detectedTestClasses = new DetectedTestClasses();
+        testFrameworkDetector.startDetection(detectedTestClasses);
+        buildOperationExecutor.runAll(new Action<BuildOperationQueue<RunnableBuildOperation>>() {
+            @Override
+            public void execute(BuildOperationQueue<RunnableBuildOperation> queue) {
+                for (int start = 0; start < classFiles.size(); start += CLASS_FILES_PER_OPERATION) {
+                    queue.add(new DetectTestClasses(classFiles.subList(start, Math.min(start + CLASS_FILES_PER_OPERATION, classFiles.size()))));
+                }
             }
         });
+        for (String className : classNames) {
+            TestClassRunInfo testClass = detectedTestClasses.testClasses.remove(className);
+            if (testClass != null) {
+                testClassProcessor.processTestClass(testClass);
+            }
+        }
+        // Test classes whose name does not match the location of their class file
+        for (TestClassRunInfo testClass : detectedTestClasses.testClasses.values()) {
+            testClassProcessor.processTestClass(testClass);
+        }
     }
 
     private void filenameScan() {
@@ -91,4 +155,48 @@ public class DefaultTestClassScanner implements Runnable {
     private String getClassName(FileVisitDetails fileDetails) {
         return fileDetails.getRelativePath().getPathString().replaceAll("\\.class", "").replace('/', '.');
     }
+
+    private class DetectTestClasses implements RunnableBuildOperation {
+        private final List<File> classFiles;
+
+        DetectTestClasses(List<File> classFiles) {
+            this.classFiles = classFiles;
+        }
+
+        @Override
+        public void run(BuildOperationContext context) {
+            for (File classFile : classFiles) {
+                testFrameworkDetector.processTestClass(classFile);
+            }
+        }
+
+        @Override
+        public BuildOperationDescriptor.Builder description() {
+            return BuildOperationDescriptor.displayName("Detect test classes in " + classFiles.size() + " class files");
+        }
+    }
+
+    /**
+     * Collects the test classes found by concurrently running detections.
+     */
+    private static class DetectedTestClasses implements TestClassProcessor {
+        private final Map<String, TestClassRunInfo> testClasses = new ConcurrentSkipListMap<String, TestClassRunInfo>();
+
+        @Override
+        public void startProcessing(TestResultProcessor resultProcessor) {
+        }
+
+        @Override
+        public void processTestClass(TestClassRunInfo testClass) {
+            testClasses.put(testClass.getTestClassName(), testClass);
+        }
+
+        @Override
+        public void stop() {
+        }
+
+        @Override
+        public void stopNow() {
+        }
+    }
 }
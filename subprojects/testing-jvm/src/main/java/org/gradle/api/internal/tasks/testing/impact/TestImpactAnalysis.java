@@ -0,0 +1,414 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.impact;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.io.ByteStreams;
+import org.gradle.api.UncheckedIOException;
+import org.gradle.api.internal.cache.StringInterner;
+import org.gradle.api.internal.changedetection.state.ValueSnapshotter;
+import org.gradle.api.internal.tasks.compile.incremental.analyzer.DefaultClassDependenciesAnalyzer;
+import org.gradle.api.internal.tasks.compile.incremental.deps.ClassAnalysis;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.caching.internal.DefaultBuildCacheHasher;
+import org.gradle.internal.hash.FileHasher;
+import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.hash.Hasher;
+import org.gradle.internal.hash.Hashing;
+import org.gradle.util.GFileUtils;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Decides which test classes can be skipped because neither they nor any class they depend on changed since they last passed.
+ *
+ * <p>Class files in directories and in jars inside the build are tracked one by one, and the dependencies between them are
+ * taken from their byte code. Everything else on the test runtime classpath (external jars, resources) and the input properties
+ * of the test task are only tracked as a whole: when any of them changes, every test class runs.</p>
+ *
+ * <p>Dependencies that do not show up in byte code, like classes loaded by reflection or resources, are not tracked.
+ * This is why the analysis is only used when enabled on the test task.</p>
+ */
+public class TestImpactAnalysis {
+    private static final Logger LOGGER = Logging.getLogger(TestImpactAnalysis.class);
+    private static final String CLASS_FILE_EXTENSION = ".class";
+
+    private final File stateFile;
+    private final File buildRootDir;
+    private final FileHasher fileHasher;
+    private final ValueSnapshotter valueSnapshotter;
+    private final DefaultClassDependenciesAnalyzer analyzer;
+
+    public TestImpactAnalysis(File stateFile, File buildRootDir, FileHasher fileHasher, ValueSnapshotter valueSnapshotter, StringInterner interner) {
+        this.stateFile = stateFile;
+        this.buildRootDir = buildRootDir;
+        this.fileHasher = fileHasher;
+        this.valueSnapshotter = valueSnapshotter;
+        this.analyzer = new DefaultClassDependenciesAnalyzer(interner);
+    }
+
+    /**
+     * Compares the given classpath and input properties with the ones of the last run.
+     */
+    public Result analyze(Iterable<File> classpath, Map<String, Object> inputProperties) {
+        Hasher configurationHasher = Hashing.md5().newHasher();
+        Map<String, HashCode> classHashes = Maps.newHashMap();
+        visitClasspath(classpath, new HashingVisitor(configurationHasher, classHashes));
+        HashCode inputPropertiesHash = hashInputProperties(inputProperties);
+        if (inputPropertiesHash == null) {
+            LOGGER.info("Running all test classes as the test task inputs cannot be tracked.");
+            return new Result(null, classHashes, Collections.<String, Long>emptyMap(), Collections.<String>emptySet());
+        }
+        configurationHasher.putHash(inputPropertiesHash);
+        HashCode configurationHash = configurationHasher.hash();
+
+        TestImpactState previousState = TestImpactState.read(stateFile);
+        if (previousState == null) {
+            LOGGER.info("Running all test classes as there is no test impact state from a previous run.");
+            return new Result(configurationHash, classHashes, Collections.<String, Long>emptyMap(), Collections.<String>emptySet());
+        }
+        Map<String, Long> previousDurations = previousState.getPassingTestClassDurations();
+        if (!previousState.getConfigurationHash().equals(configurationHash)) {
+            LOGGER.info("Running all test classes as the test runtime classpath or the test task inputs changed since the previous run.");
+            return new Result(configurationHash, classHashes, previousDurations, Collections.<String>emptySet());
+        }
+
+        Set<String> changedClasses = changedClasses(previousState.getClassHashes(), classHashes);
+        Set<String> candidates = Sets.newHashSet(Sets.intersection(previousDurations.keySet(), classHashes.keySet()));
+        if (!changedClasses.isEmpty()) {
+            Map<String, ClassAnalysis> analyses = Maps.newHashMap();
+            visitClasspath(classpath, new AnalyzingVisitor(analyses));
+            for (String changedClass : changedClasses) {
+                ClassAnalysis analysis = analyses.get(changedClass);
+                if (analysis != null && analysis.isDependencyToAll()) {
+                    LOGGER.info("Running all test classes as {} changed and may affect every class.", changedClass);
+                    return new Result(configurationHash, classHashes, previousDurations, Collections.<String>emptySet());
+                }
+            }
+            candidates.removeAll(affectedClasses(changedClasses, analyses.values()));
+        }
+        LOGGER.info("Skipping {} test classes that are not affected by the {} classes changed since the previous run.", candidates.size(), changedClasses.size());
+        return new Result(configurationHash, classHashes, previousDurations, candidates);
+    }
+
+    /**
+     * Records the outcome of the run the given result was computed for.
+     *
+     * <p>Unaffected test classes keep passing with the duration of their previous run, unless they ran and failed this time.</p>
+     *
+     * @param failedTestClasses the test classes which ran and failed.
+     * @param passedTestClassDurations the test classes which ran and passed, with how long they took.
+     */
+    public void storeResults(Result result, Set<String> failedTestClasses, Map<String, Long> passedTestClassDurations) {
+        if (result.configurationHash == null) {
+            invalidate();
+            return;
+        }
+        Map<String, Long> passingTestClassDurations = Maps.newHashMap();
+        for (String unaffectedTestClass : Sets.difference(result.getUnaffectedTestClasses(), failedTestClasses)) {
+            passingTestClassDurations.put(unaffectedTestClass, result.previousTestClassDurations.get(unaffectedTestClass));
+        }
+        passingTestClassDurations.putAll(passedTestClassDurations);
+        GFileUtils.mkdirs(stateFile.getParentFile());
+        new TestImpactState(result.configurationHash, result.classHashes, passingTestClassDurations).write(stateFile);
+    }
+
+    /**
+     * Forgets the last run, so that the next run executes all test classes.
+     */
+    public void invalidate() {
+        GFileUtils.deleteQuietly(stateFile);
+    }
+
+    private static Set<String> changedClasses(Map<String, HashCode> previous, Map<String, HashCode> current) {
+        Set<String> changed = Sets.newHashSet();
+        for (Map.Entry<String, HashCode> entry : current.entrySet()) {
+            if (!entry.getValue().equals(previous.get(entry.getKey()))) {
+                changed.add(entry.getKey());
+            }
+        }
+        for (String previousClass : previous.keySet()) {
+            if (!current.containsKey(previousClass)) {
+                changed.add(previousClass);
+            }
+        }
+        return changed;
+    }
+
+    private static Set<String> affectedClasses(Set<String> changedClasses, Iterable<ClassAnalysis> analyses) {
+        Map<String, Set<String>> dependents = Maps.newHashMap();
+        for (ClassAnalysis analysis : analyses) {
+            for (String dependency : analysis.getClassDependencies()) {
+                Set<String> classDependents = dependents.get(dependency);
+                if (classDependents == null) {
+                    classDependents = Sets.newHashSet();
+                    dependents.put(dependency, classDependents);
+                }
+                classDependents.add(analysis.getClassName());
+            }
+        }
+        Set<String> affected = Sets.newHashSet(changedClasses);
+        Deque<String> queue = new ArrayDeque<String>(changedClasses);
+        while (!queue.isEmpty()) {
+            Set<String> classDependents = dependents.get(queue.removeFirst());
+            if (classDependents != null) {
+                for (String dependent : classDependents) {
+                    if (affected.add(dependent)) {
+                        queue.addLast(dependent);
+                    }
+                }
+            }
+        }
+        return affected;
+    }
+
+    /**
+     * Hashes the input properties the same way as for the build cache key, or returns null when that is not possible for some value.
+     */
+    @Nullable
+    private HashCode hashInputProperties(Map<String, Object> inputProperties) {
+        DefaultBuildCacheHasher hasher = new DefaultBuildCacheHasher();
+        for (Map.Entry<String, Object> entry : new TreeMap<String, Object>(inputProperties).entrySet()) {
+            hasher.putString(entry.getKey());
+            valueSnapshotter.snapshot(entry.getValue()).appendToHasher(hasher);
+        }
+        return hasher.isValid() ? hasher.hash() : null;
+    }
+
+    private void visitClasspath(Iterable<File> classpath, ClasspathVisitor visitor) {
+        try {
+            for (File entry : classpath) {
+                visitor.visitEntry(entry);
+                if (entry.isDirectory()) {
+                    visitDirectory(entry, "", visitor);
+                } else if (entry.isFile()) {
+                    if (isInsideBuild(entry)) {
+                        visitJar(entry, visitor);
+                    } else {
+                        visitor.visitExternalJar(entry);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private boolean isInsideBuild(File file) {
+        return file.getAbsolutePath().startsWith(buildRootDir.getAbsolutePath() + File.separator);
+    }
+
+    private static void visitDirectory(File dir, String prefix, ClasspathVisitor visitor) throws IOException {
+        File[] children = dir.listFiles();
+        if (children == null) {
+            return;
+        }
+        Arrays.sort(children);
+        for (File child : children) {
+            String relativePath = prefix + child.getName();
+            if (child.isDirectory()) {
+                visitDirectory(child, relativePath + "/", visitor);
+            } else if (isClassFile(relativePath)) {
+                visitor.visitClassFile(toClassName(relativePath), child);
+            } else {
+                visitor.visitResource(relativePath, child);
+            }
+        }
+    }
+
+    private static void visitJar(File jar, ClasspathVisitor visitor) throws IOException {
+        ZipInputStream inputStream = new ZipInputStream(new FileInputStream(jar));
+        try {
+            ZipEntry entry;
+            while ((entry = inputStream.getNextEntry()) != null) {
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                String path = entry.getName();
+                byte[] content = ByteStreams.toByteArray(inputStream);
+                if (isClassFile(path)) {
+                    visitor.visitClassFile(toClassName(path), content);
+                } else {
+                    visitor.visitResource(path, content);
+                }
+            }
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    private static boolean isClassFile(String relativePath) {
+        // Multi-release class files are tracked as resources, so changing them runs all test classes
+        return relativePath.endsWith(CLASS_FILE_EXTENSION) && !relativePath.startsWith("META-INF/");
+    }
+
+    private static String toClassName(String relativePath) {
+        return relativePath.substring(0, relativePath.length() - CLASS_FILE_EXTENSION.length()).replace('/', '.');
+    }
+
+    public static class Result {
+        private final HashCode configurationHash;
+        private final Map<String, HashCode> classHashes;
+        private final Map<String, Long> previousTestClassDurations;
+        private final Set<String> unaffectedTestClasses;
+
+        private Result(@Nullable HashCode configurationHash, Map<String, HashCode> classHashes, Map<String, Long> previousTestClassDurations, Set<String> unaffectedTestClasses) {
+            this.configurationHash = configurationHash;
+            this.classHashes = classHashes;
+            this.previousTestClassDurations = ImmutableMap.copyOf(previousTestClassDurations);
+            this.unaffectedTestClasses = ImmutableSet.copyOf(unaffectedTestClasses);
+        }
+
+        /**
+         * How long each test class which passed in the previous run took the last time it actually ran.
+         */
+        public Map<String, Long> getPreviousTestClassDurations() {
+            return previousTestClassDurations;
+        }
+
+        /**
+         * The test classes which passed in a previous run and are not affected by the changes since.
+         */
+        public Set<String> getUnaffectedTestClasses() {
+            return unaffectedTestClasses;
+        }
+    }
+
+    private interface ClasspathVisitor {
+        void visitEntry(File entry);
+
+        void visitExternalJar(File jar);
+
+        void visitClassFile(String className, File classFile) throws IOException;
+
+        void visitClassFile(String className, byte[] content) throws IOException;
+
+        void visitResource(String relativePath, File file);
+
+        void visitResource(String relativePath, byte[] content);
+    }
+
+    /**
+     * Hashes each class file on its own and everything else into the configuration hash. The first class file with a given name wins, as it does when loading classes.
+     */
+    private class HashingVisitor implements ClasspathVisitor {
+        private final Hasher configurationHasher;
+        private final Map<String, HashCode> classHashes;
+
+        HashingVisitor(Hasher configurationHasher, Map<String, HashCode> classHashes) {
+            this.configurationHasher = configurationHasher;
+            this.classHashes = classHashes;
+        }
+
+        @Override
+        public void visitEntry(File entry) {
+            configurationHasher.putString(entry.getAbsolutePath());
+        }
+
+        @Override
+        public void visitExternalJar(File jar) {
+            configurationHasher.putHash(fileHasher.hash(jar));
+        }
+
+        @Override
+        public void visitClassFile(String className, File classFile) {
+            if (!classHashes.containsKey(className)) {
+                classHashes.put(className, fileHasher.hash(classFile));
+            }
+        }
+
+        @Override
+        public void visitClassFile(String className, byte[] content) {
+            if (!classHashes.containsKey(className)) {
+                classHashes.put(className, Hashing.md5().hashBytes(content));
+            }
+        }
+
+        @Override
+        public void visitResource(String relativePath, File file) {
+            configurationHasher.putString(relativePath);
+            configurationHasher.putHash(fileHasher.hash(file));
+        }
+
+        @Override
+        public void visitResource(String relativePath, byte[] content) {
+            configurationHasher.putString(relativePath);
+            configurationHasher.putHash(Hashing.md5().hashBytes(content));
+        }
+    }
+
+    private class AnalyzingVisitor implements ClasspathVisitor {
+        private final Map<String, ClassAnalysis> analyses;
+
+        AnalyzingVisitor(Map<String, ClassAnalysis> analyses) {
+            this.analyses = analyses;
+        }
+
+        @Override
+        public void visitEntry(File entry) {
+        }
+
+        @Override
+        public void visitExternalJar(File jar) {
+        }
+
+        @Override
+        public void visitClassFile(String className, File classFile) throws IOException {
+            if (!analyses.containsKey(className)) {
+                InputStream inputStream = new FileInputStream(classFile);
+                try {
+                    analyses.put(className, analyzer.getClassAnalysis(inputStream));
+                } finally {
+                    inputStream.close();
+                }
+            }
+        }
+
+        @Override
+        public void visitClassFile(String className, byte[] content) throws IOException {
+            if (!analyses.containsKey(className)) {
+                analyses.put(className, analyzer.getClassAnalysis(new ByteArrayInputStream(content)));
+            }
+        }
+
+        @Override
+        public void visitResource(String relativePath, File file) {
+        }
+
+        @Override
+        public void visitResource(String relativePath, byte[] content) {
+        }
+    }
+}
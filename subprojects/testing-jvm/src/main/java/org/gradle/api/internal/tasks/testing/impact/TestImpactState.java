@@ -0,0 +1,136 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.impact;
+
+import com.google.common.collect.ImmutableMap;
+import org.gradle.api.UncheckedIOException;
+import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.serialize.Decoder;
+import org.gradle.internal.serialize.Encoder;
+import org.gradle.internal.serialize.FlushableEncoder;
+import org.gradle.internal.serialize.HashCodeSerializer;
+import org.gradle.internal.serialize.kryo.KryoBackedDecoder;
+import org.gradle.internal.serialize.kryo.KryoBackedEncoder;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * What a test run saw: a hash of everything that is only tracked as a whole, the hash of each class that is tracked
+ * individually, and the test classes that are known to pass with those classes together with how long they took.
+ */
+class TestImpactState {
+    private static final int STATE_VERSION = 2;
+    private static final HashCodeSerializer HASH_CODE_SERIALIZER = new HashCodeSerializer();
+
+    private final HashCode configurationHash;
+    private final Map<String, HashCode> classHashes;
+    private final Map<String, Long> passingTestClassDurations;
+
+    TestImpactState(HashCode configurationHash, Map<String, HashCode> classHashes, Map<String, Long> passingTestClassDurations) {
+        this.configurationHash = configurationHash;
+        this.classHashes = ImmutableMap.copyOf(classHashes);
+        this.passingTestClassDurations = ImmutableMap.copyOf(passingTestClassDurations);
+    }
+
+    HashCode getConfigurationHash() {
+        return configurationHash;
+    }
+
+    Map<String, HashCode> getClassHashes() {
+        return classHashes;
+    }
+
+    Map<String, Long> getPassingTestClassDurations() {
+        return passingTestClassDurations;
+    }
+
+    void write(File stateFile) {
+        try {
+            OutputStream outputStream = new FileOutputStream(stateFile);
+            try {
+                FlushableEncoder encoder = new KryoBackedEncoder(outputStream);
+                encoder.writeSmallInt(STATE_VERSION);
+                write(encoder);
+                encoder.flush();
+            } finally {
+                outputStream.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void write(Encoder encoder) throws IOException {
+        HASH_CODE_SERIALIZER.write(encoder, configurationHash);
+        encoder.writeSmallInt(classHashes.size());
+        for (Map.Entry<String, HashCode> entry : classHashes.entrySet()) {
+            encoder.writeString(entry.getKey());
+            HASH_CODE_SERIALIZER.write(encoder, entry.getValue());
+        }
+        encoder.writeSmallInt(passingTestClassDurations.size());
+        for (Map.Entry<String, Long> entry : passingTestClassDurations.entrySet()) {
+            encoder.writeString(entry.getKey());
+            encoder.writeSmallLong(entry.getValue());
+        }
+    }
+
+    /**
+     * Returns the state stored in the given file, or null when there is none or it cannot be used.
+     */
+    @Nullable
+    static TestImpactState read(File stateFile) {
+        if (!stateFile.isFile()) {
+            return null;
+        }
+        try {
+            InputStream inputStream = new FileInputStream(stateFile);
+            try {
+                Decoder decoder = new KryoBackedDecoder(inputStream);
+                if (decoder.readSmallInt() != STATE_VERSION) {
+                    return null;
+                }
+                return read(decoder);
+            } finally {
+                inputStream.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static TestImpactState read(Decoder decoder) throws IOException {
+        HashCode configurationHash = HASH_CODE_SERIALIZER.read(decoder);
+        int classCount = decoder.readSmallInt();
+        ImmutableMap.Builder<String, HashCode> classHashes = ImmutableMap.builder();
+        for (int i = 0; i < classCount; i++) {
+            classHashes.put(decoder.readString(), HASH_CODE_SERIALIZER.read(decoder));
+        }
+        int testClassCount = decoder.readSmallInt();
+        ImmutableMap.Builder<String, Long> passingTestClassDurations = ImmutableMap.builder();
+        for (int i = 0; i < testClassCount; i++) {
+            passingTestClassDurations.put(decoder.readString(), decoder.readSmallLong());
+        }
+        return new TestImpactState(configurationHash, classHashes.build(), passingTestClassDurations.build());
+    }
+}
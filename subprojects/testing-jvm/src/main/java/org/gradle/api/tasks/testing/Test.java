@@ -23,10 +23,13 @@ import org.gradle.api.Action;
 import org.gradle.api.Incubating;
 import org.gradle.api.JavaVersion;
 import org.gradle.api.NonNullApi;
+import org.gradle.api.Task;
 import org.gradle.api.file.FileCollection;
 import org.gradle.api.file.FileTree;
 import org.gradle.api.file.FileTreeElement;
 import org.gradle.api.internal.DocumentationRegistry;
+import org.gradle.api.internal.cache.StringInterner;
+import org.gradle.api.internal.changedetection.state.ValueSnapshotter;
 import org.gradle.api.internal.classpath.ModuleRegistry;
 import org.gradle.api.internal.file.FileResolver;
 import org.gradle.api.internal.initialization.loadercache.ClassLoaderCache;
@@ -36,8 +39,10 @@ import org.gradle.api.internal.tasks.testing.TestExecuter;
 import org.gradle.api.internal.tasks.testing.TestFramework;
 import org.gradle.api.internal.tasks.testing.detection.DefaultTestExecuter;
 import org.gradle.api.internal.tasks.testing.filter.DefaultTestFilter;
+import org.gradle.api.internal.tasks.testing.impact.TestImpactAnalysis;
 import org.gradle.api.internal.tasks.testing.junit.JUnitTestFramework;
 import org.gradle.api.internal.tasks.testing.junit.result.TestClassResult;
+import org.gradle.api.internal.tasks.testing.junit.result.TestMethodResult;
 import org.gradle.api.internal.tasks.testing.junit.result.TestResultSerializer;
 import org.gradle.api.internal.tasks.testing.junitplatform.JUnitPlatformTestFramework;
 import org.gradle.api.internal.tasks.testing.testng.TestNGTestFramework;
@@ -58,6 +63,7 @@ import org.gradle.api.tasks.util.PatternFilterable;
 import org.gradle.internal.Actions;
 import org.gradle.internal.Cast;
 import org.gradle.internal.actor.ActorFactory;
+import org.gradle.internal.hash.FileHasher;
 import org.gradle.internal.jvm.UnsupportedJavaRuntimeException;
 import org.gradle.internal.jvm.inspection.JvmVersionDetector;
 import org.gradle.internal.operations.BuildOperationExecutor;
@@ -76,6 +82,7 @@ import javax.annotation.Nullable;
 import javax.inject.Inject;
 import java.io.File;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -149,6 +156,8 @@ public class Test extends AbstractTestTask implements JavaForkOptions, PatternFi
     private long forkEvery;
     private int maxParallelForks = 1;
     private TestExecuter<JvmTestExecutionSpec> testExecuter;
+    private boolean skipUnaffectedTestClasses;
+    private TestImpactAnalysis.Result testImpactAnalysisResult;
 
     public Test() {
         patternSet = getFileResolver().getPatternSetFactory().create();
@@ -167,6 +176,14 @@ public class Test extends AbstractTestTask implements JavaForkOptions, PatternFi
         } else {
             addTestListener(new NoMatchingTestsReporter("Could not find matching test for pattern: " + singleTest));
         }
+
+        // Which test classes run depends on the outcome of earlier runs of this task
+        getOutputs().doNotCacheIf("Skipping unaffected test classes is enabled", new Spec<Task>() {
+            @Override
+            public boolean isSatisfiedBy(Task task) {
+                return isSkipUnaffectedTestClasses();
+            }
+        });
     }
 
     @Inject
@@ -567,24 +584,79 @@ public class Test extends AbstractTestTask implements JavaForkOptions, PatternFi
     protected JvmTestExecutionSpec createTestExecutionSpec() {
         DefaultJavaForkOptions javaForkOptions = new DefaultJavaForkOptions(getFileResolver());
         copyTo(javaForkOptions);
-        return new JvmTestExecutionSpec(getTestFramework(), getClasspath(), getCandidateClassFiles(), isScanForTestClasses(), getTestClassesDirs(), getPath(), getIdentityPath(), getForkEvery(), javaForkOptions, getMaxParallelForks(), getPreviousFailedTestClasses());
+        Set<String> previousFailedTestClasses = new HashSet<String>();
+        Map<String, Long> previousTestClassDurations = new HashMap<String, Long>();
+        Map<String, List<String>> unaffectedTestClasses = new HashMap<String, List<String>>();
+        if (isSkipUnaffectedTestClasses()) {
+            testImpactAnalysisResult = createTestImpactAnalysis().analyze(getClasspath(), getInputs().getProperties());
+            readPreviousTestResults(previousFailedTestClasses, previousTestClassDurations, testImpactAnalysisResult.getUnaffectedTestClasses(), unaffectedTestClasses);
+            // Test classes which were skipped in the previous run have no duration in its results
+            previousTestClassDurations.putAll(testImpactAnalysisResult.getPreviousTestClassDurations());
+        } else {
+            readPreviousTestResults(previousFailedTestClasses, previousTestClassDurations, Collections.<String>emptySet(), unaffectedTestClasses);
+        }
+        return new JvmTestExecutionSpec(getTestFramework(), getClasspath(), getCandidateClassFiles(), isScanForTestClasses(), getTestClassesDirs(), getPath(), getIdentityPath(), getForkEvery(), javaForkOptions, getMaxParallelForks(), previousFailedTestClasses, previousTestClassDurations, unaffectedTestClasses);
+    }
+
+    private TestImpactAnalysis createTestImpactAnalysis() {
+        return new TestImpactAnalysis(new File(getTemporaryDir(), "test-impact.bin"), getProject().getRootDir(), getServices().get(FileHasher.class), getServices().get(ValueSnapshotter.class), getServices().get(StringInterner.class));
+    }
+
+    private void storeTestImpactAnalysisResults(final TestImpactAnalysis.Result result) {
+        TestImpactAnalysis testImpactAnalysis = createTestImpactAnalysis();
+        TestResultSerializer serializer = new TestResultSerializer(getBinResultsDir());
+        if (!serializer.isHasResults()) {
+            testImpactAnalysis.invalidate();
+            return;
+        }
+        final Map<String, Long> passedTestClassDurations = new HashMap<String, Long>();
+        final Set<String> failedTestClasses = new HashSet<String>();
+        serializer.read(new Action<TestClassResult>() {
+            @Override
+            public void execute(TestClassResult testClassResult) {
+                String className = testClassResult.getClassName();
+                if (testClassResult.getFailuresCount() > 0) {
+                    failedTestClasses.add(className);
+                } else if (!(result.getUnaffectedTestClasses().contains(className) && testClassResult.getSkippedCount() == testClassResult.getTestsCount())) {
+                    // Unaffected test classes which were only reported as skipped keep the duration of their previous run
+                    Long duration = passedTestClassDurations.get(className);
+                    passedTestClassDurations.put(className, duration == null ? testClassResult.getDuration() : duration + testClassResult.getDuration());
+                }
+            }
+        });
+        passedTestClassDurations.keySet().removeAll(failedTestClasses);
+        if (getFailFast() && !failedTestClasses.isEmpty()) {
+            // The run was stopped early, so the test classes that were running may not have completed
+            passedTestClassDurations.clear();
+        }
+        testImpactAnalysis.storeResults(result, failedTestClasses, passedTestClassDurations);
     }
 
-    private Set<String> getPreviousFailedTestClasses() {
+    private void readPreviousTestResults(final Set<String> previousFailedTestClasses, final Map<String, Long> previousTestClassDurations,
+                                         final Set<String> unaffectedTestClasses, final Map<String, List<String>> unaffectedTests) {
         TestResultSerializer serializer = new TestResultSerializer(getBinResultsDir());
         if (serializer.isHasResults()) {
-            final Set<String> previousFailedTestClasses = new HashSet<String>();
             serializer.read(new Action<TestClassResult>() {
                 @Override
                 public void execute(TestClassResult testClassResult) {
+                    String className = testClassResult.getClassName();
                     if (testClassResult.getFailuresCount() > 0) {
-                        previousFailedTestClasses.add(testClassResult.getClassName());
+                        previousFailedTestClasses.add(className);
+                    }
+                    Long duration = previousTestClassDurations.get(className);
+                    previousTestClassDurations.put(className, duration == null ? testClassResult.getDuration() : duration + testClassResult.getDuration());
+                    if (unaffectedTestClasses.contains(className)) {
+                        List<String> tests = unaffectedTests.get(className);
+                        if (tests == null) {
+                            tests = Lists.newArrayList();
+                            unaffectedTests.put(className, tests);
+                        }
+                        for (TestMethodResult methodResult : testClassResult.getResults()) {
+                            tests.add(methodResult.getName());
+                        }
                     }
                 }
             });
-            return previousFailedTestClasses;
-        } else {
-            return Collections.emptySet();
         }
     }
 
@@ -603,6 +675,10 @@ public class Test extends AbstractTestTask implements JavaForkOptions, PatternFi
             super.executeTests();
         } finally {
             testFramework = null;
+            if (testImpactAnalysisResult != null) {
+                storeTestImpactAnalysisResults(testImpactAnalysisResult);
+                testImpactAnalysisResult = null;
+            }
         }
     }
 
@@ -1002,6 +1078,34 @@ public class Test extends AbstractTestTask implements JavaForkOptions, PatternFi
         this.scanForTestClasses = scanForTestClasses;
     }
 
+    /**
+     * Returns whether test classes are skipped when they passed in a previous run of this task, and neither they nor any class they
+     * depend on changed since. Skipped test classes are reported with the tests of their previous run marked as skipped.
+     *
+     * <p>Dependencies between classes are taken from their byte code, so dependencies which only show up at runtime, like classes
+     * loaded by reflection or resources read by name, are not tracked. The outputs of this task are not cached while this is enabled.</p>
+     *
+     * <p>The default value is {@code false}.</p>
+     *
+     * @since 4.11
+     */
+    @Incubating
+    @Internal
+    public boolean isSkipUnaffectedTestClasses() {
+        return skipUnaffectedTestClasses;
+    }
+
+    /**
+     * Sets whether test classes which are not affected by the changes since their last successful run should be skipped.
+     *
+     * @see #isSkipUnaffectedTestClasses()
+     * @since 4.11
+     */
+    @Incubating
+    public void setSkipUnaffectedTestClasses(boolean skipUnaffectedTestClasses) {
+        this.skipUnaffectedTestClasses = skipUnaffectedTestClasses;
+    }
+
     /**
      * Returns the maximum number of test classes to execute in a forked test process. The forked test process will be restarted when this limit is reached. The default value is 0 (no maximum).
      *
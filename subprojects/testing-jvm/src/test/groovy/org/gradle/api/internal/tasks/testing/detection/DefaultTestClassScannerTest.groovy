@@ -22,7 +22,10 @@ import org.gradle.api.file.FileVisitDetails
 import org.gradle.api.file.FileVisitor
 import org.gradle.api.file.RelativePath
 import org.gradle.api.internal.file.DefaultFileVisitDetails
+import org.gradle.api.internal.tasks.testing.DefaultTestClassRunInfo
 import org.gradle.api.internal.tasks.testing.TestClassProcessor
+import org.gradle.api.internal.tasks.testing.TestClassRunInfo
+import org.gradle.internal.operations.TestBuildOperationExecutor
 import org.junit.Test
 import spock.lang.Specification
 
@@ -75,6 +78,37 @@ class DefaultTestClassScannerTest extends Specification {
         0 * _._
     }
 
+    def "detects test classes in batches and passes them on in the order of their class files"() {
+        def buildOperationExecutor = new TestBuildOperationExecutor()
+        DefaultTestClassScanner scanner = new DefaultTestClassScanner(files, detector, processor, buildOperationExecutor)
+        TestClassProcessor detected = null
+        def passedOn = []
+        def classNames = (1..600).collect { "Class$it".toString() }
+
+        when:
+        scanner.run()
+
+        then:
+        1 * files.visit(_) >> { args ->
+            FileVisitor visitor = args[0]
+            classNames.each { visitor.visitFile(mockFileVisitDetails(it)) }
+        }
+        1 * detector.startDetection(_) >> { args -> detected = args[0] }
+        600 * detector.processTestClass(_) >> { File file ->
+            def className = file.name - '.class'
+            if (className.endsWith('0')) {
+                detected.processTestClass(new DefaultTestClassRunInfo(className))
+            }
+            return true
+        }
+        buildOperationExecutor.operations.size() == 3
+
+        then:
+        60 * processor.processTestClass(_) >> { TestClassRunInfo testClass -> passedOn << testClass.testClassName }
+        0 * processor._
+        passedOn == classNames.findAll { it.endsWith('0') }
+    }
+
     FileVisitDetails mockFileVisitDetails(String className) {
         return new DefaultFileVisitDetails(new File("${className}.class"), new RelativePath(false, "${className}.class"), null, null, null)
     }
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.impact
+
+import org.gradle.api.internal.cache.StringInterner
+import org.gradle.internal.hash.FileHasher
+import org.gradle.internal.hash.Hashing
+import org.gradle.test.fixtures.file.TestFile
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.gradle.util.TestUtil
+import org.junit.Rule
+import org.objectweb.asm.ClassWriter
+import org.objectweb.asm.Opcodes
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class TestImpactAnalysisTest extends Specification {
+    @Rule TestNameTestDirectoryProvider tmp = new TestNameTestDirectoryProvider()
+
+    def fileHasher = Stub(FileHasher) {
+        hash(_ as File) >> { File file -> Hashing.md5().hashBytes(file.bytes) }
+    }
+    def buildRootDir = tmp.createDir('build')
+    def classesDir = buildRootDir.createDir('classes')
+    def externalJar = tmp.file('external.jar') << 'external'
+    def classpath = [classesDir, externalJar]
+    def analysis = new TestImpactAnalysis(tmp.file('state/test-impact.bin'), buildRootDir, fileHasher, TestUtil.valueSnapshotter(), new StringInterner())
+
+    def setup() {
+        writeClass('org/Base')
+        writeClass('org/Derived', 'org/Base')
+        writeClass('org/Other')
+        writeClass('org/BaseTest', 'org/Base')
+        writeClass('org/DerivedTest', 'org/Derived')
+        writeClass('org/OtherTest', 'org/Other')
+    }
+
+    def "runs all test classes when there is no previous run"() {
+        expect:
+        analysis.analyze(classpath, [:]).unaffectedTestClasses.empty
+    }
+
+    def "skips passed test classes when nothing changed"() {
+        given:
+        analysis.storeResults(analysis.analyze(classpath, [:]), [] as Set, passed('org.BaseTest', 'org.DerivedTest', 'org.OtherTest'))
+
+        expect:
+        analysis.analyze(classpath, [:]).unaffectedTestClasses == ['org.BaseTest', 'org.DerivedTest', 'org.OtherTest'] as Set
+    }
+
+    def "runs test classes which depend on a changed class"() {
+        given:
+        analysis.storeResults(analysis.analyze(classpath, [:]), [] as Set, passed('org.BaseTest', 'org.DerivedTest', 'org.OtherTest'))
+
+        when:
+        writeClass('org/Base', 'java/lang/Object', 'changed')
+
+        then:
+        analysis.analyze(classpath, [:]).unaffectedTestClasses == ['org.OtherTest'] as Set
+    }
+
+    def "runs changed and added test classes"() {
+        given:
+        analysis.storeResults(analysis.analyze(classpath, [:]), [] as Set, passed('org.BaseTest', 'org.DerivedTest', 'org.OtherTest'))
+
+        when:
+        writeClass('org/OtherTest', 'org/Other', 'changed')
+        writeClass('org/NewTest', 'org/Base')
+
+        then:
+        analysis.analyze(classpath, [:]).unaffectedTestClasses == ['org.BaseTest', 'org.DerivedTest'] as Set
+    }
+
+    def "runs test classes which did not pass in the previous run"() {
+        given:
+        def result = analysis.analyze(classpath, [:])
+        analysis.storeResults(result, [] as Set, passed('org.BaseTest'))
+
+        expect:
+        analysis.analyze(classpath, [:]).unaffectedTestClasses == ['org.BaseTest'] as Set
+    }
+
+    def "keeps skipped test classes when storing the results of a run"() {
+        given:
+        analysis.storeResults(analysis.analyze(classpath, [:]), [] as Set, passed('org.BaseTest', 'org.DerivedTest', 'org.OtherTest'))
+        writeClass('org/Other', 'java/lang/Object', 'changed')
+        def result = analysis.analyze(classpath, [:])
+
+        when:
+        analysis.storeResults(result, [] as Set, passed())
+
+        then:
+        analysis.analyze(classpath, [:]).unaffectedTestClasses == ['org.BaseTest', 'org.DerivedTest'] as Set
+    }
+
+    @Unroll
+    def "runs all test classes when #change changes"() {
+        given:
+        analysis.storeResults(analysis.analyze(classpath, [foo: 'bar']), [] as Set, passed('org.BaseTest', 'org.DerivedTest', 'org.OtherTest'))
+
+        when:
+        def properties = [foo: 'bar']
+        switch (change) {
+            case 'an external jar':
+                externalJar << 'changed'
+                break
+            case 'a resource':
+                classesDir.file('org/resource.txt') << 'changed'
+                break
+            case 'an input property':
+                properties.foo = 'changed'
+                break
+            case 'the classpath':
+                classpath = [tmp.file('other.jar') << 'other'] + classpath
+                break
+        }
+
+        then:
+        analysis.analyze(classpath, properties).unaffectedTestClasses.empty
+
+        where:
+        change << ['an external jar', 'a resource', 'an input property', 'the classpath']
+    }
+
+    def "runs all test classes after the state was invalidated"() {
+        given:
+        analysis.storeResults(analysis.analyze(classpath, [:]), [] as Set, passed('org.BaseTest', 'org.DerivedTest', 'org.OtherTest'))
+
+        when:
+        analysis.invalidate()
+
+        then:
+        analysis.analyze(classpath, [:]).unaffectedTestClasses.empty
+    }
+
+    def "keeps the duration of the last run for skipped test classes"() {
+        given:
+        analysis.storeResults(analysis.analyze(classpath, [:]), [] as Set, ['org.BaseTest': 10L, 'org.DerivedTest': 20L, 'org.OtherTest': 30L])
+        writeClass('org/Other', 'java/lang/Object', 'changed')
+        def result = analysis.analyze(classpath, [:])
+
+        when:
+        analysis.storeResults(result, [] as Set, ['org.OtherTest': 40L])
+
+        then:
+        analysis.analyze(classpath, [:]).previousTestClassDurations == ['org.BaseTest': 10L, 'org.DerivedTest': 20L, 'org.OtherTest': 40L]
+    }
+
+    def "runs unaffected test classes which ran and failed"() {
+        given:
+        analysis.storeResults(analysis.analyze(classpath, [:]), [] as Set, passed('org.BaseTest', 'org.DerivedTest', 'org.OtherTest'))
+        def result = analysis.analyze(classpath, [:])
+
+        when:
+        analysis.storeResults(result, ['org.BaseTest'] as Set, [:])
+
+        then:
+        analysis.analyze(classpath, [:]).unaffectedTestClasses == ['org.DerivedTest', 'org.OtherTest'] as Set
+    }
+
+    private static Map<String, Long> passed(String... testClasses) {
+        testClasses.collectEntries { [it, 1L] }
+    }
+
+    private void writeClass(String name, String superName = 'java/lang/Object', String field = null) {
+        ClassWriter cw = new ClassWriter(0)
+        cw.visit(Opcodes.V1_6, Opcodes.ACC_PUBLIC, name, null, superName, null)
+        if (field) {
+            cw.visitField(Opcodes.ACC_PUBLIC, field, 'I', null, null).visitEnd()
+        }
+        cw.visitEnd()
+        TestFile classFile = classesDir.file("${name}.class")
+        classFile.parentFile.mkdirs()
+        classFile.bytes = cw.toByteArray()
+    }
+}